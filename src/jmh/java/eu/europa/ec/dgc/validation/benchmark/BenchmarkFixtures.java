@@ -0,0 +1,266 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dgca.verifier.app.decoder.JsonSchemaKt;
+import dgca.verifier.app.engine.AffectedFieldsDataRetriever;
+import dgca.verifier.app.engine.CertLogicEngine;
+import dgca.verifier.app.engine.DefaultAffectedFieldsDataRetriever;
+import dgca.verifier.app.engine.DefaultCertLogicEngine;
+import dgca.verifier.app.engine.DefaultJsonLogicValidator;
+import dgca.verifier.app.engine.data.Rule;
+import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.service.BatchValidationExecutor;
+import eu.europa.ec.dgc.validation.service.CompiledJsonLogicValidator;
+import eu.europa.ec.dgc.validation.service.DccValidator;
+import eu.europa.ec.dgc.validation.service.DecodedDccCache;
+import eu.europa.ec.dgc.validation.service.ParsedRuleRegistry;
+import eu.europa.ec.dgc.validation.service.RuleResultCache;
+import eu.europa.ec.dgc.validation.service.SignatureVerificationCache;
+import eu.europa.ec.dgc.validation.service.SignerInformationService;
+import eu.europa.ec.dgc.validation.service.ValidationMessageTable;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
+import eu.europa.ec.dgc.validation.service.ValidationStageExecutor;
+import eu.europa.ec.dgc.validation.service.Mocks.BusinessRulesCacheMock;
+import eu.europa.ec.dgc.validation.service.Mocks.ValueSetCacheMock;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.NoSuchAlgorithmException;
+import java.security.Security;
+import java.security.cert.Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+/**
+ * Test fixtures shared by the benchmarks. Everything is read from src/test/resources, so benchmarks have to be
+ * started from the project root folder (which mvn -Pbenchmark verify does).
+ */
+public final class BenchmarkFixtures {
+
+    public static final Path TEST_RESOURCES = Path.of("src/test/resources");
+
+    public static final String KEY_STORE_PASSWORD = "dgca";
+
+    public static final String SIGN_KEY_NAME = "edgc_dev_ec";
+
+    /**
+     * Provider parameter value for the providers shipped with the JDK (SunEC, SunJCE, SunRsaSign).
+     */
+    public static final String JDK_PROVIDER = "JDK";
+
+    public static final String BOUNCY_CASTLE_PROVIDER = "BC";
+
+    /**
+     * Vaccination DCC signed with edgc_dev_ec of dcc-sign-test.jks, taken from DccValidatorTest.
+     */
+    public static final String DCC = "HC1:NCF970%90T9WTWGVLK879%EHLE7A1KW8HX*4.AB3XK3F3D86*743F3ZU5.FK1JC X8Y50.FK6ZK7"
+        + ":EDOLFVC*70B$D% D3IA4W5646646/96OA76KCN9E%961A69L6QW6B46XJCCWENF6OF63W5NW6-96WJCT3E6N8WJC0FD4:473DSDDF+AKG7"
+        + "RCBA69C6A41AZM8JNA5N8LN9VY91OASTA.H9MB8I6A946.JCP9EJY8L/5M/5546.96D46%JCKQE:+9 8D3KC.SC4KCD3DX47B46IL6646"
+        + "I*6..DX%DLPCG/D$2DMIALY8/B9ZJC3/DIUADLFE4F-PDI3D7WERB8YTAUIAI3D1 C5LE6%E$PC5$CUZCY$5Y$5JPCT3E5JDOA7"
+        + "3467463W5WA6:68 GTFHDZUTOZLO2FL7OU9AQUOAR0NXHY78%$8L65Q93Z81AA60$DUF6XF4EJVUXG4UTN*2YG51UM/.2PGO8P"
+        + "I*GS8%LXKBJW8:G6O5";
+
+    /**
+     * Shared by all rule engines and rule registries of the fixtures, so rules read by {@link #rule} are compiled
+     * for every engine.
+     */
+    private static final CompiledJsonLogicValidator JSON_LOGIC_VALIDATOR =
+        new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(), true);
+
+    private BenchmarkFixtures() {
+    }
+
+    public static ObjectMapper objectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    /**
+     * Creates a CertLogic engine like DccVerificationConfig does.
+     */
+    public static CertLogicEngine certLogicEngine(ObjectMapper objectMapper) throws IOException {
+        JsonNode schema = objectMapper.readTree(JsonSchemaKt.JSON_SCHEMA_V1);
+        AffectedFieldsDataRetriever affectedFieldsDataRetriever =
+            new DefaultAffectedFieldsDataRetriever(schema, objectMapper);
+        return new DefaultCertLogicEngine(affectedFieldsDataRetriever, JSON_LOGIC_VALIDATOR);
+    }
+
+    /**
+     * Creates a rule registry which compiles rules for the validator of {@link #certLogicEngine(ObjectMapper)}.
+     */
+    public static ParsedRuleRegistry parsedRuleRegistry(ObjectMapper objectMapper) {
+        return new ParsedRuleRegistry(objectMapper, JSON_LOGIC_VALIDATOR);
+    }
+
+    /**
+     * Makes BouncyCastle the most preferred provider if requested. The application only appends BouncyCastle, so
+     * without this the JDK providers are used. Every parameter combination runs in its own fork, so the
+     * provider order does not leak into other benchmarks.
+     *
+     * @param provider {@link #JDK_PROVIDER} or {@link #BOUNCY_CASTLE_PROVIDER}
+     */
+    public static void preferProvider(String provider) {
+        Security.removeProvider(BouncyCastleProvider.PROVIDER_NAME);
+        if (BOUNCY_CASTLE_PROVIDER.equals(provider)) {
+            Security.insertProviderAt(new BouncyCastleProvider(), 1);
+        } else {
+            Security.addProvider(new BouncyCastleProvider());
+        }
+    }
+
+    /**
+     * Generates a P-256 key pair, the curve used for DCC signatures and tokens.
+     */
+    public static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    public static KeyPair rsaKeyPair(int keySize) throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(keySize);
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * Creates random bytes of the given size.
+     */
+    public static byte[] payload(int size) {
+        byte[] payload = new byte[size];
+        new Random(size).nextBytes(payload);
+        return payload;
+    }
+
+    public static KeyStore keyStore() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream is = Files.newInputStream(TEST_RESOURCES.resolve("dcc-sign-test.jks"))) {
+            keyStore.load(is, KEY_STORE_PASSWORD.toCharArray());
+        }
+        return keyStore;
+    }
+
+    /**
+     * Signer information service returning the DCC signer certificate for every kid, without a database.
+     */
+    public static SignerInformationService signerInformationService() throws Exception {
+        List<Certificate> certificates = Collections.singletonList(keyStore().getCertificate(SIGN_KEY_NAME));
+        return new SignerInformationService(null) {
+            @Override
+            public List<Certificate> getCertificates(String kid) {
+                return certificates;
+            }
+        };
+    }
+
+    /**
+     * Reads the value sets in the format provided by the value set cache, i.e. value set id to value ids.
+     */
+    public static Map<String, List<String>> valueSets(ObjectMapper objectMapper) throws IOException {
+        Map<String, List<String>> valueSets = new HashMap<>();
+        File[] valueSetFiles = TEST_RESOURCES.resolve("valuesets").toFile().listFiles();
+        if (valueSetFiles == null) {
+            throw new IOException("value set fixtures not found");
+        }
+        for (File valueSetFile : valueSetFiles) {
+            if (!"valuesets.json".equals(valueSetFile.getName())) {
+                JsonNode valueSet = objectMapper.readTree(valueSetFile);
+                List<String> ids = new ArrayList<>();
+                for (Iterator<String> it = valueSet.get("valueSetValues").fieldNames(); it.hasNext(); ) {
+                    ids.add(it.next());
+                }
+                valueSets.put(valueSet.get("valueSetId").asText(), ids);
+            }
+        }
+        return valueSets;
+    }
+
+    public static Rule rule(ObjectMapper objectMapper, String fileName) throws IOException {
+        return rule(objectMapper, fileName, true);
+    }
+
+    /**
+     * Reads a rule.
+     *
+     * @param compiled whether the rule is registered and compiled, otherwise it is interpreted by the rule engine
+     */
+    public static Rule rule(ObjectMapper objectMapper, String fileName, boolean compiled) throws IOException {
+        String rawData = Files.readString(TEST_RESOURCES.resolve(fileName));
+        ParsedRuleRegistry parsedRuleRegistry = parsedRuleRegistry(objectMapper);
+        return compiled ? parsedRuleRegistry.getOrParse(fileName, rawData) : parsedRuleRegistry.parse(rawData);
+    }
+
+    public static String readResource(String fileName) throws IOException {
+        return Files.readString(TEST_RESOURCES.resolve(fileName), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Creates a DccValidator with mocked rule and value set caches.
+     *
+     * @param rules           rules returned for every country
+     * @param caches          whether decoded dccs, signature verifications and rule results are cached, otherwise
+     *                        every validation decodes the dcc, verifies its signature and evaluates the rules
+     */
+    public static DccValidator dccValidator(ObjectMapper objectMapper, List<Rule> rules, boolean caches)
+        throws Exception {
+        ResourceBundleMessageSource messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames("messages/dcc");
+        messageSource.setUseCodeAsDefaultMessage(true);
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getDecodedDccCache().setEnabled(caches);
+        dgcConfigProperties.getSignatureCache().setEnabled(caches);
+        dgcConfigProperties.getRuleResultCache().setEnabled(caches);
+        ValidationMetrics validationMetrics = new ValidationMetrics(new SimpleMeterRegistry());
+        DccValidator dccValidator = new DccValidator(signerInformationService(), certLogicEngine(objectMapper),
+            new CertificateUtils(), new ValueSetCacheMock(valueSets(objectMapper)), new BusinessRulesCacheMock(rules),
+            new ValidationMessageTable(messageSource, dgcConfigProperties), validationMetrics,
+            new DecodedDccCache(dgcConfigProperties, validationMetrics),
+            new SignatureVerificationCache(dgcConfigProperties, validationMetrics),
+            new ValidationStageExecutor(dgcConfigProperties, validationMetrics),
+            new BatchValidationExecutor(dgcConfigProperties, validationMetrics),
+            new RuleResultCache(dgcConfigProperties, validationMetrics));
+        dccValidator.initMapper();
+        return dccValidator;
+    }
+
+    /**
+     * Conditions matching the holder of {@link #DCC}, as used by DccValidatorTest.
+     */
+    public static AccessTokenConditions conditions() throws NoSuchAlgorithmException {
+        AccessTokenConditions accessTokenConditions = new AccessTokenConditions();
+        accessTokenConditions.setHash(new CertificateUtils().calculateHash(DCC.getBytes(StandardCharsets.UTF_8)));
+        accessTokenConditions.setLang("en-en");
+        accessTokenConditions.setFnt("TRZEWIK");
+        accessTokenConditions.setGnt("ARTUR");
+        accessTokenConditions.setDob("1990-01-01");
+        accessTokenConditions.setCoa("NL");
+        accessTokenConditions.setCod("DE");
+        accessTokenConditions.setRoa("AW");
+        accessTokenConditions.setRod("BW");
+        accessTokenConditions.setType(new String[]{"v", "t"});
+        accessTokenConditions.setValidationClock("2021-08-29T12:00:00+01:00");
+        accessTokenConditions.setValidFrom("2021-01-29T12:00:00+01:00");
+        accessTokenConditions.setValidTo("2021-01-30T12:00:00+01:00");
+        return accessTokenConditions;
+    }
+}
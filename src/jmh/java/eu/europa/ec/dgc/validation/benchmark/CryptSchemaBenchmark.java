@@ -0,0 +1,78 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import eu.europa.ec.dgc.validation.cryptschemas.CryptSchema;
+import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
+import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesCbc;
+import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesGcm;
+import java.security.KeyPair;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encryption and decryption of a DCC with the RSA-OAEP/AES schemas, per RSA key size, payload size and provider.
+ * Decryption is dominated by the RSA private key operation, so the key size matters most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CryptSchemaBenchmark {
+
+    private static final byte[] IV = new byte[16];
+
+    @Param({RsaOaepWithSha256AesCbc.ENC_SCHEMA, RsaOaepWithSha256AesGcm.ENC_SCHEMA})
+    private String encScheme;
+
+    @Param({"2048", "4096"})
+    private int keySize;
+
+    @Param({"512", "4096"})
+    private int payloadSize;
+
+    @Param({BenchmarkFixtures.JDK_PROVIDER, BenchmarkFixtures.BOUNCY_CASTLE_PROVIDER})
+    private String provider;
+
+    private CryptSchema cryptSchema;
+
+    private KeyPair keyPair;
+
+    private byte[] payload;
+
+    private EncryptedData encryptedData;
+
+    /**
+     * Creates the key pair and the data to decrypt.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkFixtures.preferProvider(provider);
+        cryptSchema = RsaOaepWithSha256AesCbc.ENC_SCHEMA.equals(encScheme)
+            ? new RsaOaepWithSha256AesCbc() : new RsaOaepWithSha256AesGcm();
+        keyPair = BenchmarkFixtures.rsaKeyPair(keySize);
+        payload = BenchmarkFixtures.payload(payloadSize);
+        encryptedData = cryptSchema.encryptData(payload, keyPair.getPublic(), IV);
+    }
+
+    @Benchmark
+    public EncryptedData encrypt() {
+        return cryptSchema.encryptData(payload, keyPair.getPublic(), IV);
+    }
+
+    @Benchmark
+    public byte[] decrypt() {
+        return cryptSchema.decryptData(encryptedData, keyPair.getPrivate(), IV);
+    }
+}
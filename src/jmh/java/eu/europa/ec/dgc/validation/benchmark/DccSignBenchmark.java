@@ -0,0 +1,66 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import eu.europa.ec.dgc.validation.service.DccSign;
+import java.security.KeyPair;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Signing and verification of the encrypted DCC with {@link DccSign#SIG_ALG} on a P-256 key, per payload size
+ * and provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DccSignBenchmark {
+
+    @Param({"512", "4096"})
+    private int payloadSize;
+
+    @Param({BenchmarkFixtures.JDK_PROVIDER, BenchmarkFixtures.BOUNCY_CASTLE_PROVIDER})
+    private String provider;
+
+    private final DccSign dccSign = new DccSign();
+
+    private KeyPair keyPair;
+
+    private byte[] payload;
+
+    private byte[] signature;
+
+    /**
+     * Creates the key pair and the signature to verify.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkFixtures.preferProvider(provider);
+        keyPair = BenchmarkFixtures.ecKeyPair();
+        payload = BenchmarkFixtures.payload(payloadSize);
+        signature = Base64.getDecoder().decode(dccSign.signDcc(payload, keyPair.getPrivate()));
+    }
+
+    @Benchmark
+    public String sign() {
+        return dccSign.signDcc(payload, keyPair.getPrivate());
+    }
+
+    @Benchmark
+    public boolean verify() {
+        return dccSign.verifySignature(payload, signature, keyPair.getPublic());
+    }
+}
@@ -0,0 +1,70 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import eu.europa.ec.dgc.validation.service.DccValidator;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link DccValidator#validate} for each access token type. Signer certificates, rules and
+ * value sets come from the test fixtures, so the numbers contain no database or gateway access. With caches
+ * the same dcc is validated again, so only the first validation decodes it, verifies its signature and
+ * evaluates the rules.
+ * Run with the gc profiler to see the allocation rate per validation:
+ * mvn -Pbenchmark verify -Djmh.includes=DccValidatorBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class DccValidatorBenchmark {
+
+    @Param({"Structure", "Cryptographic", "Full"})
+    private AccessTokenType accessTokenType;
+
+    @Param({"false", "true"})
+    private boolean caches;
+
+    private DccValidator dccValidator;
+
+    private AccessTokenConditions conditions;
+
+    /**
+     * Creates the validator with one business rule and all fixture value sets.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        dccValidator = BenchmarkFixtures.dccValidator(objectMapper,
+            Collections.singletonList(BenchmarkFixtures.rule(objectMapper, "testrule.json")), caches);
+        conditions = BenchmarkFixtures.conditions();
+
+        List<ValidationStatusResponse.Result> results = validate();
+        if (results.isEmpty()) {
+            throw new IllegalStateException("validation of the fixture returned no results");
+        }
+    }
+
+    @Benchmark
+    public List<ValidationStatusResponse.Result> validate() {
+        return dccValidator.validate(BenchmarkFixtures.DCC, conditions, accessTokenType, true);
+    }
+}
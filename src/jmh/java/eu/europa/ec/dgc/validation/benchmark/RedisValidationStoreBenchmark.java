@@ -0,0 +1,138 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import eu.europa.ec.dgc.validation.entity.KeyType;
+import eu.europa.ec.dgc.validation.entity.KeyUse;
+import eu.europa.ec.dgc.validation.entity.ValidationInquiry;
+import eu.europa.ec.dgc.validation.service.KeyProvider;
+import eu.europa.ec.dgc.validation.service.Mocks.RedisTemplateMock;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
+import eu.europa.ec.dgc.validation.service.impl.RedisValidationStoreService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.PrivateKey;
+import java.security.cert.Certificate;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization, key derivation and AES-GCM encryption of validation inquiries in
+ * {@link RedisValidationStoreService}. Redis is replaced by {@link RedisTemplateMock}, so only the payload path
+ * is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RedisValidationStoreBenchmark {
+
+    private static final String SUBJECT = "0d3bd79f-5cb6-4ab6-a1e4-6e0fbb0b5a27";
+
+    private static final String SIGN_KEY = "benchmark";
+
+    @Param({"1024", "8192"})
+    private int resultTokenSize;
+
+    @Param({BenchmarkFixtures.JDK_PROVIDER, BenchmarkFixtures.BOUNCY_CASTLE_PROVIDER})
+    private String provider;
+
+    private RedisValidationStoreService validationStoreService;
+
+    private ValidationInquiry validationInquiry;
+
+    /**
+     * Creates the store with a map backed template and stores the inquiry to receive.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkFixtures.preferProvider(provider);
+        PrivateKey privateKey = BenchmarkFixtures.ecKeyPair().getPrivate();
+        validationStoreService = new RedisValidationStoreService(new RedisTemplateMock(),
+            BenchmarkFixtures.objectMapper(), new SingleKeyProvider(privateKey),
+            new ValidationMetrics(new SimpleMeterRegistry()));
+
+        validationInquiry = new ValidationInquiry();
+        validationInquiry.setSubject(SUBJECT);
+        validationInquiry.setValidationStatus(ValidationInquiry.ValidationStatus.READY);
+        validationInquiry.setValidationResult(
+            Base64.getUrlEncoder().encodeToString(BenchmarkFixtures.payload(resultTokenSize * 3 / 4)));
+        validationInquiry.setPublicKey(
+            Base64.getEncoder().encodeToString(BenchmarkFixtures.ecKeyPair().getPublic().getEncoded()));
+        validationInquiry.setKeyType("ES256");
+        validationInquiry.setNonce(BenchmarkFixtures.payload(16));
+        validationInquiry.setExp(Instant.now().plusSeconds(3600).getEpochSecond());
+        validationStoreService.storeValidation(validationInquiry);
+    }
+
+    @Benchmark
+    public void store() {
+        validationStoreService.storeValidation(validationInquiry);
+    }
+
+    @Benchmark
+    public ValidationInquiry receive() {
+        return validationStoreService.receiveValidation(SUBJECT);
+    }
+
+    private static class SingleKeyProvider implements KeyProvider {
+
+        private final PrivateKey privateKey;
+
+        SingleKeyProvider(PrivateKey privateKey) {
+            this.privateKey = privateKey;
+        }
+
+        @Override
+        public Certificate[] receiveCertificate(String keyName) {
+            return new Certificate[0];
+        }
+
+        @Override
+        public PrivateKey receivePrivateKey(String keyName) {
+            return privateKey;
+        }
+
+        @Override
+        public String getKeyName(String kid) {
+            return SIGN_KEY;
+        }
+
+        @Override
+        public String[] getKeyNames(KeyType type) {
+            return new String[] {SIGN_KEY};
+        }
+
+        @Override
+        public String getKid(String keyName) {
+            return SIGN_KEY;
+        }
+
+        @Override
+        public String getAlg(String keyName) {
+            return "ES256";
+        }
+
+        @Override
+        public String getActiveSignKey() {
+            return SIGN_KEY;
+        }
+
+        @Override
+        public KeyUse getKeyUse(String keyName) {
+            return KeyUse.sig;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.engine.CertLogicEngine;
+import dgca.verifier.app.engine.ValidationResult;
+import dgca.verifier.app.engine.data.CertificateType;
+import dgca.verifier.app.engine.data.ExternalParameter;
+import dgca.verifier.app.engine.data.Rule;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the CertLogic engine alone with the hcert.json payload, i.e. the business rule part of a Full
+ * validation without decoding and signature verification. testrule.json can be compiled, rule.json compares dates
+ * and is always interpreted by the engine.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RuleEvaluationBenchmark {
+
+    @Param({"testrule.json", "rule.json"})
+    private String ruleFile;
+
+    @Param({"true", "false"})
+    private boolean compiled;
+
+    private CertLogicEngine certLogicEngine;
+
+    private List<Rule> rules;
+
+    private ExternalParameter externalParameter;
+
+    private String payload;
+
+    /**
+     * Reads the fixtures.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        certLogicEngine = BenchmarkFixtures.certLogicEngine(objectMapper);
+        rules = Collections.singletonList(BenchmarkFixtures.rule(objectMapper, ruleFile, compiled));
+        payload = BenchmarkFixtures.readResource("hcert.json");
+        Map<String, List<String>> valueSets = BenchmarkFixtures.valueSets(objectMapper);
+        ZonedDateTime validationClock = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+        externalParameter = new ExternalParameter(validationClock, valueSets, "DE", validationClock.plusYears(1),
+            validationClock.minusDays(30), "DE", "kid", "");
+    }
+
+    @Benchmark
+    public List<ValidationResult> evaluate() {
+        return certLogicEngine.validate(CertificateType.VACCINATION, "1.0.0", rules, externalParameter, payload);
+    }
+}
@@ -0,0 +1,118 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import dgca.verifier.app.engine.CertLogicEngine;
+import dgca.verifier.app.engine.ValidationResult;
+import dgca.verifier.app.engine.data.CertificateType;
+import dgca.verifier.app.engine.data.ExternalParameter;
+import dgca.verifier.app.engine.data.Rule;
+import eu.europa.ec.dgc.validation.service.ParsedRuleRegistry;
+import eu.europa.ec.dgc.validation.service.RuleSelector;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scalability of business rule handling with synthetic rule sets built from rule.json and testrule.json.
+ * The rule set is spread over countryCount countries with versionCount versions of every rule identifier and
+ * every tenth rule being an invalidation rule. select measures filtering and version de-duplication of the rules
+ * a rules cache provides for arrival country DE and issuing country AT, evaluate the CertLogic evaluation of the
+ * selected rules against hcert.json.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class RuleSelectionBenchmark {
+
+    private static final String[] COUNTRIES = {
+        "DE", "AT", "BE", "BG", "CY", "CZ", "DK", "EE", "ES", "FI", "FR", "GR", "HR", "HU", "IE", "IT", "LT", "LU",
+        "LV", "MT", "NL", "PL", "PT", "RO", "SE", "SI", "SK", "IS", "LI", "NO", "CH", "SM", "VA", "AD", "MC", "UA"};
+
+    private static final String COUNTRY_OF_ARRIVAL = "DE";
+
+    private static final String ISSUING_COUNTRY = "AT";
+
+    @Param({"10", "100", "1000", "10000"})
+    private int ruleCount;
+
+    @Param({"1", "36"})
+    private int countryCount;
+
+    @Param({"3"})
+    private int versionCount;
+
+    private CertLogicEngine certLogicEngine;
+
+    private List<Rule> providedRules;
+
+    private List<Rule> selectedRules;
+
+    private ExternalParameter externalParameter;
+
+    private ZonedDateTime validationClock;
+
+    private String payload;
+
+    /**
+     * Synthesizes the rule set and selects the rules for {@link #evaluate()}.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ObjectMapper objectMapper = BenchmarkFixtures.objectMapper();
+        certLogicEngine = BenchmarkFixtures.certLogicEngine(objectMapper);
+        payload = BenchmarkFixtures.readResource("hcert.json");
+        validationClock = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+        externalParameter = new ExternalParameter(validationClock, BenchmarkFixtures.valueSets(objectMapper),
+            COUNTRY_OF_ARRIVAL, validationClock.plusYears(1), validationClock.minusDays(30), ISSUING_COUNTRY, "kid",
+            "");
+
+        ParsedRuleRegistry parsedRuleRegistry = BenchmarkFixtures.parsedRuleRegistry(objectMapper);
+        ObjectNode[] templates = {
+            (ObjectNode) objectMapper.readTree(BenchmarkFixtures.readResource("rule.json")),
+            (ObjectNode) objectMapper.readTree(BenchmarkFixtures.readResource("testrule.json"))};
+        providedRules = new ArrayList<>();
+        for (int i = 0; i < ruleCount; i++) {
+            String country = COUNTRIES[i % countryCount];
+            int identifier = i / (countryCount * versionCount);
+            boolean invalidation = identifier % 10 == 9;
+            ObjectNode rule = templates[identifier % templates.length].deepCopy();
+            rule.put("Identifier", (invalidation ? "IR-" : "VR-") + country + "-" + identifier);
+            rule.put("Version", "1.0." + (i / countryCount) % versionCount);
+            rule.put("Country", country);
+            rule.put("Type", invalidation ? "Invalidation" : "Acceptance");
+            if (country.equals(COUNTRY_OF_ARRIVAL) || country.equals(ISSUING_COUNTRY)) {
+                providedRules.add(parsedRuleRegistry.parse(objectMapper.writeValueAsString(rule)));
+            }
+        }
+        selectedRules = select();
+    }
+
+    @Benchmark
+    public List<Rule> select() {
+        return RuleSelector.select(providedRules, "VACCINATION", validationClock, COUNTRY_OF_ARRIVAL, null,
+            ISSUING_COUNTRY);
+    }
+
+    @Benchmark
+    public List<ValidationResult> evaluate() {
+        return certLogicEngine.validate(CertificateType.VACCINATION, "1.0.0", selectedRules, externalParameter,
+            payload);
+    }
+}
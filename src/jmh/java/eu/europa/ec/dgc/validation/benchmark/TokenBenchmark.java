@@ -0,0 +1,121 @@
+package eu.europa.ec.dgc.validation.benchmark;
+
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import eu.europa.ec.dgc.validation.token.AccessTokenParser;
+import eu.europa.ec.dgc.validation.token.ResultTokenBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of access tokens and building of result tokens. Access tokens are accepted with ES256 and RS256, result
+ * tokens are always signed with ES256 by {@link ResultTokenBuilder}, so their cost only varies with the number of
+ * results and the provider.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenBenchmark {
+
+    @Param({"ES256", "RS256"})
+    private SignatureAlgorithm accessTokenAlgorithm;
+
+    @Param({"1", "10"})
+    private int resultCount;
+
+    @Param({BenchmarkFixtures.JDK_PROVIDER, BenchmarkFixtures.BOUNCY_CASTLE_PROVIDER})
+    private String provider;
+
+    private final AccessTokenParser accessTokenParser = new AccessTokenParser();
+
+    private KeyPair accessTokenKeyPair;
+
+    private String accessToken;
+
+    private KeyPair resultTokenKeyPair;
+
+    private List<ValidationStatusResponse.Result> results;
+
+    private Date expiration;
+
+    /**
+     * Creates the keys, the access token to parse and the results to put into result tokens.
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        BenchmarkFixtures.preferProvider(provider);
+        accessTokenKeyPair = accessTokenAlgorithm == SignatureAlgorithm.RS256
+            ? BenchmarkFixtures.rsaKeyPair(2048) : BenchmarkFixtures.ecKeyPair();
+        accessToken = Jwts.builder()
+            .setHeaderParam("typ", "JWT")
+            .setHeaderParam("kid", "benchmark")
+            .setClaims(BenchmarkFixtures.objectMapper().convertValue(accessTokenPayload(), Map.class))
+            .signWith(accessTokenAlgorithm, accessTokenKeyPair.getPrivate())
+            .compact();
+
+        resultTokenKeyPair = BenchmarkFixtures.ecKeyPair();
+        results = new ArrayList<>();
+        for (int i = 0; i < resultCount; i++) {
+            ValidationStatusResponse.Result result = new ValidationStatusResponse.Result();
+            result.setIdentifier("GR-EU-000" + i);
+            result.setType(ResultTypeIdentifier.DestinationAcceptance);
+            result.setResult(i % 2 == 0 ? ValidationStatusResponse.Result.ResultType.OK
+                : ValidationStatusResponse.Result.ResultType.NOK);
+            result.setDetails("Rule " + i + " failed");
+            results.add(result);
+        }
+        expiration = Date.from(Instant.now().plusSeconds(3600));
+    }
+
+    @Benchmark
+    public AccessTokenPayload parseAccessToken() {
+        return accessTokenParser.parseToken(accessToken, accessTokenKeyPair.getPublic());
+    }
+
+    @Benchmark
+    public String buildResultToken() {
+        return new ResultTokenBuilder().build(results, "subject", "https://validation.example",
+            new String[] {"Standard"}, expiration, resultTokenKeyPair.getPrivate(), "kid", false);
+    }
+
+    private AccessTokenPayload accessTokenPayload() throws Exception {
+        AccessTokenPayload accessTokenPayload = new AccessTokenPayload();
+        accessTokenPayload.setSub(UUID.randomUUID().toString());
+        accessTokenPayload.setIss("https://service.example");
+        accessTokenPayload.setType(AccessTokenType.Full.intValue());
+        accessTokenPayload.setVersion("1.0");
+        accessTokenPayload.setJti(UUID.randomUUID().toString());
+        accessTokenPayload.setIat(Instant.now().getEpochSecond());
+        accessTokenPayload.setExp(Instant.now().plusSeconds(3600).getEpochSecond());
+        accessTokenPayload.setAud("https://validation.example/validate/subject");
+        AccessTokenConditions conditions = BenchmarkFixtures.conditions();
+        accessTokenPayload.setConditions(conditions);
+        return accessTokenPayload;
+    }
+}
@@ -0,0 +1,118 @@
+package eu.europa.ec.dgc.validation.load;
+
+import com.upokecenter.cbor.CBORObject;
+import java.io.ByteArrayOutputStream;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.cert.X509Certificate;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Creates DCCs which are valid now, so the load does not stop at the expiry check like the fixed test DCCs do.
+ * The DCC is a COSE_Sign1 message signed with ES256, compressed with zlib, base45 encoded and prefixed with HC1.
+ */
+public class DccGenerator {
+
+    private static final String BASE45_CHARSET = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ $%*+-./:";
+
+    private static final int ES256 = -7;
+
+    private final PrivateKey signKey;
+
+    private final byte[] kid;
+
+    private final String issuingCountry;
+
+    /**
+     * Creates a generator.
+     *
+     * @param signKey        EC private key of the signer certificate
+     * @param certificate    signer certificate, the kid is derived from it
+     * @param issuingCountry issuing country
+     */
+    public DccGenerator(PrivateKey signKey, X509Certificate certificate, String issuingCountry)
+        throws GeneralSecurityException {
+        this.signKey = signKey;
+        this.kid = Arrays.copyOf(MessageDigest.getInstance("SHA-256").digest(certificate.getEncoded()), 8);
+        this.issuingCountry = issuingCountry;
+    }
+
+    public byte[] getKid() {
+        return kid.clone();
+    }
+
+    /**
+     * Creates a DCC with the given health certificate, issued yesterday and expiring in a year.
+     *
+     * @param hcertJson health certificate json
+     * @return DCC with HC1 prefix
+     */
+    public String generate(String hcertJson) throws GeneralSecurityException {
+        Instant now = Instant.now();
+        CBORObject claims = CBORObject.NewMap()
+            .Add(1, issuingCountry)
+            .Add(4, now.plus(365, ChronoUnit.DAYS).getEpochSecond())
+            .Add(6, now.minus(1, ChronoUnit.DAYS).getEpochSecond())
+            .Add(-260, CBORObject.NewMap().Add(1, CBORObject.FromJSONString(hcertJson)));
+        byte[] payload = claims.EncodeToBytes();
+
+        byte[] protectedHeader = CBORObject.NewMap()
+            .Add(1, ES256)
+            .Add(4, kid)
+            .EncodeToBytes();
+
+        byte[] sigStructure = CBORObject.NewArray()
+            .Add("Signature1")
+            .Add(protectedHeader)
+            .Add(new byte[0])
+            .Add(payload)
+            .EncodeToBytes();
+        Signature signature = Signature.getInstance("SHA256withECDSAinP1363Format");
+        signature.initSign(signKey);
+        signature.update(sigStructure);
+
+        byte[] cose = CBORObject.FromObjectAndTag(CBORObject.NewArray()
+            .Add(protectedHeader)
+            .Add(CBORObject.NewMap())
+            .Add(payload)
+            .Add(signature.sign()), 18)
+            .EncodeToBytes();
+
+        return "HC1:" + base45(deflate(cose));
+    }
+
+    private static byte[] deflate(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        deflater.setInput(data);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length);
+        byte[] buffer = new byte[1024];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    private static String base45(byte[] data) {
+        StringBuilder encoded = new StringBuilder(data.length * 3 / 2 + 2);
+        for (int i = 0; i < data.length; i += 2) {
+            if (i + 1 < data.length) {
+                int value = (data[i] & 0xff) * 256 + (data[i + 1] & 0xff);
+                encoded.append(BASE45_CHARSET.charAt(value % 45))
+                    .append(BASE45_CHARSET.charAt(value / 45 % 45))
+                    .append(BASE45_CHARSET.charAt(value / 2025));
+            } else {
+                int value = data[i] & 0xff;
+                encoded.append(BASE45_CHARSET.charAt(value % 45))
+                    .append(BASE45_CHARSET.charAt(value / 45));
+            }
+        }
+        return encoded.toString();
+    }
+}
@@ -0,0 +1,342 @@
+package eu.europa.ec.dgc.validation.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
+import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.DgcaValidationServiceApplication;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
+import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesCbc;
+import eu.europa.ec.dgc.validation.entity.KeyType;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.restapi.dto.DccValidationRequest;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationInitRequest;
+import eu.europa.ec.dgc.validation.service.DccCryptService;
+import eu.europa.ec.dgc.validation.service.DccSign;
+import eu.europa.ec.dgc.validation.service.KeyProvider;
+import eu.europa.ec.dgc.validation.service.Mocks.RedisTemplateMock;
+import eu.europa.ec.dgc.validation.service.SignerInformationService;
+import eu.europa.ec.dgc.validation.token.AccessTokenBuilder;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.cert.X509Certificate;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+/**
+ * Drives concurrent wallet sessions through /initialize, /validate and /status of a locally started service and
+ * reports latency percentiles and throughput per endpoint. Everything runs in one JVM without network access:
+ * the service uses the test configuration with the in-memory store, or with -Dload.store=redis the redis store
+ * on top of {@link RedisTemplateMock}. Signer certificate and DCCs are created from dcc-sign-test.jks.
+ *
+ * <p>Run with mvn -Pload verify, options are passed as system properties:
+ * load.sessions, load.warmupSessions, load.concurrency, load.tokenType, load.encScheme and load.store.</p>
+ */
+@Slf4j
+public class LoadHarness {
+
+    /**
+     * Key pair of dgc.accessKeys in src/test/resources/application.yml.
+     */
+    private static final String ACCESS_TOKEN_KID = "bS8D2/Wz5tY=";
+    private static final String ACCESS_TOKEN_PRIVATE_KEY = "MEECAQAwEwYHKoZIzj0CAQYIKoZIzj0DAQcEJzAlAgEBBCBSuPIbykwH24s"
+        + "jQsTneeN6EyjiA1NK5W7uca+HxmGmWw==";
+
+    private static final Path TEST_RESOURCES = Path.of("src/test/resources");
+    private static final String SIGN_KEY_NAME = "edgc_dev_ec";
+    private static final char[] SIGN_KEY_STORE_PASSWORD = "dgca".toCharArray();
+    private static final String X_VERSION = "1.0";
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(2);
+
+    private static final String INITIALIZE = "initialize";
+    private static final String VALIDATE = "validate";
+    private static final String STATUS = "status";
+
+    private final Settings settings;
+    private final String baseUrl;
+    private final String serviceUrl;
+    private final KeyProvider keyProvider;
+    private final DccCryptService dccCryptService;
+    private final DccSign dccSign;
+    private final ObjectMapper objectMapper;
+    private final DccGenerator dccGenerator;
+    private final String hcertJson;
+    private final PrivateKey accessTokenKey;
+    private final CertificateUtils certificateUtils = new CertificateUtils();
+    private final SecureRandom random = new SecureRandom();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .version(HttpClient.Version.HTTP_1_1)
+        .connectTimeout(Duration.ofSeconds(10))
+        .build();
+    private final Map<String, EndpointStats> endpointStats = new LinkedHashMap<>();
+
+    private LoadHarness(Settings settings, ConfigurableApplicationContext context) throws Exception {
+        this.settings = settings;
+        this.baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        this.serviceUrl = context.getBean(DgcConfigProperties.class).getServiceUrl();
+        this.keyProvider = context.getBean(KeyProvider.class);
+        this.dccCryptService = context.getBean(DccCryptService.class);
+        this.dccSign = context.getBean(DccSign.class);
+        this.objectMapper = context.getBean(ObjectMapper.class);
+        this.hcertJson = Files.readString(TEST_RESOURCES.resolve("hcert.json"));
+        this.accessTokenKey = KeyFactory.getInstance("EC")
+            .generatePrivate(new PKCS8EncodedKeySpec(Base64.getDecoder().decode(ACCESS_TOKEN_PRIVATE_KEY)));
+
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream is = Files.newInputStream(TEST_RESOURCES.resolve("dcc-sign-test.jks"))) {
+            keyStore.load(is, SIGN_KEY_STORE_PASSWORD);
+        }
+        X509Certificate signerCertificate = (X509Certificate) keyStore.getCertificate(SIGN_KEY_NAME);
+        this.dccGenerator = new DccGenerator(
+            (PrivateKey) keyStore.getKey(SIGN_KEY_NAME, SIGN_KEY_STORE_PASSWORD), signerCertificate, "DE");
+
+        TrustListItem trustListItem = new TrustListItem();
+        trustListItem.setKid(Base64.getEncoder().encodeToString(dccGenerator.getKid()));
+        trustListItem.setRawData(Base64.getEncoder().encodeToString(signerCertificate.getEncoded()));
+        trustListItem.setTimestamp(ZonedDateTime.now());
+        context.getBean(SignerInformationService.class).updateTrustedCertsList(
+            Collections.singletonList(trustListItem));
+
+        for (String endpoint : List.of(INITIALIZE, VALIDATE, STATUS)) {
+            endpointStats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    /**
+     * Starts the service and runs the load.
+     *
+     * @param args not used, see class comment for the options
+     */
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.fromSystemProperties();
+        SpringApplication application = new SpringApplication(DgcaValidationServiceApplication.class);
+        application.setDefaultProperties(Map.of("server.port", "0"));
+        if (settings.redis) {
+            application.setAdditionalProfiles("test", "redis");
+            application.addInitializers(context -> ((GenericApplicationContext) context).registerBean(
+                "loadRedisTemplate", StringRedisTemplate.class, RedisTemplateMock::new,
+                beanDefinition -> beanDefinition.setPrimary(true)));
+        } else {
+            application.setAdditionalProfiles("test");
+        }
+
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            new LoadHarness(settings, context).run();
+        }
+    }
+
+    private void run() throws Exception {
+        log.info("Load settings: {}", settings);
+        ExecutorService executor = Executors.newFixedThreadPool(settings.concurrency);
+        try {
+            runSessions(executor, settings.warmupSessions, false);
+            long start = System.nanoTime();
+            runSessions(executor, settings.sessions, true);
+            report(System.nanoTime() - start);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runSessions(ExecutorService executor, int sessions, boolean record) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            futures.add(executor.submit(() -> {
+                runSession(record);
+                return null;
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+
+    /**
+     * One wallet session: initialize with a fresh key pair, upload the encrypted and signed DCC, poll the status.
+     */
+    private void runSession(boolean record) throws Exception {
+        String subject = UUID.randomUUID().toString();
+        KeyPair walletKeyPair = ecKeyPair();
+        byte[] nonce = new byte[16];
+        random.nextBytes(nonce);
+        String dcc = dccGenerator.generate(hcertJson);
+
+        ValidationInitRequest validationInitRequest = new ValidationInitRequest();
+        validationInitRequest.setKeyType("EC");
+        validationInitRequest.setPubKey(Base64.getEncoder().encodeToString(walletKeyPair.getPublic().getEncoded()));
+        validationInitRequest.setNonce(Base64.getEncoder().encodeToString(nonce));
+        HttpResponse<String> initResponse = send(INITIALIZE, record, HttpRequest.newBuilder()
+            .uri(URI.create(baseUrl + "/initialize/" + subject))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + accessToken(subject, INITIALIZE, dcc))
+            .PUT(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(validationInitRequest))));
+        if (initResponse.statusCode() != 201) {
+            return;
+        }
+
+        String encKeyName = keyProvider.getKeyNames(KeyType.ValidationServiceEncKey)[0];
+        PublicKey encKey = keyProvider.receiveCertificate(encKeyName)[0].getPublicKey();
+        EncryptedData encryptedData = dccCryptService.encryptData(dcc.getBytes(StandardCharsets.UTF_8), encKey,
+            settings.encScheme, nonce);
+        DccValidationRequest dccValidationRequest = new DccValidationRequest();
+        dccValidationRequest.setKid(keyProvider.getKid(encKeyName));
+        dccValidationRequest.setDcc(Base64.getEncoder().encodeToString(encryptedData.getDataEncrypted()));
+        dccValidationRequest.setEncKey(Base64.getEncoder().encodeToString(encryptedData.getEncKey()));
+        dccValidationRequest.setEncScheme(settings.encScheme);
+        dccValidationRequest.setSigAlg(DccSign.SIG_ALG);
+        dccValidationRequest.setSig(dccSign.signDcc(encryptedData.getDataEncrypted(), walletKeyPair.getPrivate()));
+        HttpResponse<String> validateResponse = send(VALIDATE, record, HttpRequest.newBuilder()
+            .uri(URI.create(baseUrl + "/validate/" + subject))
+            .header("Content-Type", "application/json")
+            .header("Authorization", "Bearer " + accessToken(subject, VALIDATE, dcc))
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(dccValidationRequest))));
+        if (validateResponse.statusCode() != 200) {
+            return;
+        }
+
+        send(STATUS, record, HttpRequest.newBuilder()
+            .uri(URI.create(baseUrl + "/status/" + subject))
+            .header("Authorization", "Bearer " + accessToken(subject, STATUS, dcc))
+            .GET());
+    }
+
+    private HttpResponse<String> send(String endpoint, boolean record, HttpRequest.Builder request) throws Exception {
+        request.header("X-Version", X_VERSION).timeout(Duration.ofMinutes(1));
+        long start = System.nanoTime();
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        long duration = System.nanoTime() - start;
+        if (record) {
+            endpointStats.get(endpoint).record(duration, response.statusCode());
+        }
+        if (response.statusCode() >= 300) {
+            log.debug("{} failed with {}: {}", endpoint, response.statusCode(), response.body());
+        }
+        return response;
+    }
+
+    private String accessToken(String subject, String endpoint, String dcc) throws Exception {
+        AccessTokenConditions conditions = new AccessTokenConditions();
+        conditions.setHash(certificateUtils.calculateHash(dcc.getBytes(StandardCharsets.UTF_8)));
+        conditions.setLang("en-en");
+        conditions.setFnt("SARAPULOV");
+        conditions.setGnt("ALEX");
+        conditions.setDob("1990-01-17");
+        conditions.setCoa("DE");
+        conditions.setCod("DE");
+        conditions.setRoa("DE");
+        conditions.setRod("DE");
+        conditions.setType(new String[] {"v", "r", "t"});
+        conditions.setCategory(new String[] {"Standard"});
+        conditions.setValidationClock(ZonedDateTime.now().toOffsetDateTime().toString());
+        conditions.setValidFrom(ZonedDateTime.now().toOffsetDateTime().toString());
+        conditions.setValidTo(ZonedDateTime.now().plusDays(1).toOffsetDateTime().toString());
+
+        AccessTokenPayload accessTokenPayload = new AccessTokenPayload();
+        accessTokenPayload.setJti(UUID.randomUUID().toString());
+        accessTokenPayload.setIss("load-harness");
+        accessTokenPayload.setIat(Instant.now().getEpochSecond());
+        accessTokenPayload.setExp(Instant.now().plus(1, ChronoUnit.HOURS).getEpochSecond());
+        accessTokenPayload.setSub(subject);
+        accessTokenPayload.setAud(serviceUrl + "/" + endpoint + "/" + subject);
+        accessTokenPayload.setType(settings.tokenType.intValue());
+        accessTokenPayload.setVersion(X_VERSION);
+        accessTokenPayload.setConditions(conditions);
+        return new AccessTokenBuilder().payload(accessTokenPayload).build(accessTokenKey, ACCESS_TOKEN_KID);
+    }
+
+    private void report(long durationNanos) {
+        double seconds = durationNanos / 1e9;
+        log.info("{} sessions in {} s with {} concurrent sessions", settings.sessions,
+            String.format("%.1f", seconds), settings.concurrency);
+        for (Map.Entry<String, EndpointStats> entry : endpointStats.entrySet()) {
+            Histogram histogram = entry.getValue().latencies.copy();
+            log.info("{}: requests={} failed={} throughput={}/s p50={}ms p90={}ms p99={}ms p99.9={}ms max={}ms",
+                entry.getKey(), histogram.getTotalCount(), entry.getValue().failed.sum(),
+                String.format("%.1f", histogram.getTotalCount() / seconds),
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+        }
+    }
+
+    private static String millis(long nanos) {
+        return String.format("%.2f", nanos / 1e6);
+    }
+
+    private static KeyPair ecKeyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    private static class EndpointStats {
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_NANOS, 3);
+        private final LongAdder failed = new LongAdder();
+
+        void record(long nanos, int status) {
+            latencies.recordValue(Math.min(nanos, MAX_LATENCY_NANOS));
+            if (status >= 300) {
+                failed.increment();
+            }
+        }
+    }
+
+    private static class Settings {
+        private final int sessions = Integer.getInteger("load.sessions", 500);
+        private final int warmupSessions = Integer.getInteger("load.warmupSessions", 50);
+        private final int concurrency = Integer.getInteger("load.concurrency", 16);
+        private final AccessTokenType tokenType =
+            AccessTokenType.valueOf(System.getProperty("load.tokenType", AccessTokenType.Cryptographic.name()));
+        private final String encScheme = System.getProperty("load.encScheme", RsaOaepWithSha256AesCbc.ENC_SCHEMA);
+        private final boolean redis = "redis".equals(System.getProperty("load.store", "memory"));
+
+        static Settings fromSystemProperties() {
+            return new Settings();
+        }
+
+        @Override
+        public String toString() {
+            return "sessions=" + sessions + ", warmupSessions=" + warmupSessions + ", concurrency=" + concurrency
+                + ", tokenType=" + tokenType + ", encScheme=" + encScheme + ", store=" + (redis ? "redis" : "memory");
+        }
+    }
+}
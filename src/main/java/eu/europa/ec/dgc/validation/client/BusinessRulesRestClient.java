@@ -24,10 +24,12 @@ import eu.europa.ec.dgc.validation.client.dto.RulesResponseDto;
 import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @Profile("pse")
 @FeignClient(
@@ -39,10 +41,12 @@ public interface BusinessRulesRestClient {
     /**
      * Gets the business rules index from the business rule service.
      *
+     * @param ifNoneMatch ETag of the last downloaded index, may be null
      * @return List of business rule index
      */
     @GetMapping(value = "/rules", produces = MediaType.APPLICATION_JSON_VALUE)
-    ResponseEntity<List<RulesResponseDto>> getBusinessRulesList();
+    ResponseEntity<List<RulesResponseDto>> getBusinessRulesList(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Gets the raw data of a business rule from the business rule service.
@@ -24,6 +24,7 @@ import eu.europa.ec.dgc.validation.client.dto.ValueSetResponseDto;
 import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -40,10 +41,12 @@ public interface SignerCertificateRestClient {
     /**
      * Gets the kid list of all valid signer certificates.
      *
+     * @param ifNoneMatch ETag of the last downloaded kid list, may be null
      * @return List of kids
      */
     @GetMapping(value = "/signercertificateStatus", produces = MediaType.APPLICATION_JSON_VALUE)
-    ResponseEntity<List<String>> getKidList();
+    ResponseEntity<List<String>> getKidList(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Gets a signer certificate.
@@ -24,10 +24,12 @@ import eu.europa.ec.dgc.validation.client.dto.ValueSetResponseDto;
 import java.util.List;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 @Profile("pse")
 @FeignClient(
@@ -39,10 +41,12 @@ public interface ValueSetsRestClient {
     /**
      * Gets the value sets list from the business rule service.
      *
+     * @param ifNoneMatch ETag of the last downloaded list, may be null
      * @return List of trustListItems
      */
     @GetMapping(value = "/valuesets", produces = MediaType.APPLICATION_JSON_VALUE)
-    ResponseEntity<List<ValueSetResponseDto>> getValueSetsList();
+    ResponseEntity<List<ValueSetResponseDto>> getValueSetsList(
+        @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch);
 
     /**
      * Gets the raw data of a value set from the business rule service.
@@ -0,0 +1,33 @@
+package eu.europa.ec.dgc.validation.config;
+
+import eu.europa.ec.dgc.validation.service.AdmissionLimiter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class AdmissionConfig implements WebMvcConfigurer {
+
+    private final AdmissionLimiter admissionLimiter;
+
+    private final DgcConfigProperties dgcConfigProperties;
+
+    /**
+     * Puts the admission limiter in front of the initialize, validate and status endpoints.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!admissionLimiter.isEnabled()) {
+            return;
+        }
+        int retryAfterSeconds = dgcConfigProperties.getAdmission().getRetryAfterSeconds();
+        registry.addInterceptor(new AdmissionInterceptor(admissionLimiter, AdmissionLimiter.Endpoint.INITIALIZE,
+            retryAfterSeconds)).addPathPatterns("/initialize/**");
+        registry.addInterceptor(new AdmissionInterceptor(admissionLimiter, AdmissionLimiter.Endpoint.VALIDATE,
+            retryAfterSeconds)).addPathPatterns("/validate/**");
+        registry.addInterceptor(new AdmissionInterceptor(admissionLimiter, AdmissionLimiter.Endpoint.STATUS,
+            retryAfterSeconds)).addPathPatterns("/status/**");
+    }
+}
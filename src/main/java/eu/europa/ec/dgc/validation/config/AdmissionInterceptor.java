@@ -0,0 +1,52 @@
+package eu.europa.ec.dgc.validation.config;
+
+import eu.europa.ec.dgc.validation.service.AdmissionLimiter;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Admits requests of one endpoint through the {@link AdmissionLimiter}. Rejected requests get status 503 with a
+ * Retry-After header without reaching the controller. An admitted request is released when it completed, for
+ * asynchronous requests this is after the async dispatch, so the time on the validation executor is included.
+ */
+@RequiredArgsConstructor
+public class AdmissionInterceptor implements AsyncHandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = AdmissionInterceptor.class.getName() + ".start";
+
+    private final AdmissionLimiter admissionLimiter;
+
+    private final AdmissionLimiter.Endpoint endpoint;
+
+    private final int retryAfterSeconds;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.REQUEST) {
+            return true;
+        }
+        if (!admissionLimiter.tryAcquire(endpoint)) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Integer.toString(retryAfterSeconds));
+            return false;
+        }
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            request.removeAttribute(START_ATTRIBUTE);
+            admissionLimiter.release(System.nanoTime() - (Long) start,
+                response.getStatus() == HttpStatus.SERVICE_UNAVAILABLE.value());
+        }
+    }
+}
@@ -11,6 +11,7 @@ import dgca.verifier.app.engine.DefaultAffectedFieldsDataRetriever;
 import dgca.verifier.app.engine.DefaultCertLogicEngine;
 import dgca.verifier.app.engine.DefaultJsonLogicValidator;
 import dgca.verifier.app.engine.JsonLogicValidator;
+import eu.europa.ec.dgc.validation.service.CompiledJsonLogicValidator;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -33,8 +34,9 @@ public class DccVerificationConfig {
     }
 
     @Bean
-    JsonLogicValidator jsonLogicValidator() {
-        return new DefaultJsonLogicValidator();
+    CompiledJsonLogicValidator jsonLogicValidator(DgcConfigProperties dgcConfigProperties) {
+        return new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(),
+            dgcConfigProperties.getRuleCompilation().isEnabled());
     }
 
     @Bean
@@ -22,6 +22,8 @@ package eu.europa.ec.dgc.validation.config;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.beans.factory.annotation.Value;
@@ -41,6 +43,30 @@ public class DgcConfigProperties {
 
     private final GatewayDownload accessKeysRefresh = new GatewayDownload();
 
+    private final SlowValidation slowValidation = new SlowValidation();
+
+    private final DecodedDccCache decodedDccCache = new DecodedDccCache();
+
+    private final SignatureCache signatureCache = new SignatureCache();
+
+    private final ParallelValidation parallelValidation = new ParallelValidation();
+
+    private final AsyncValidation asyncValidation = new AsyncValidation();
+
+    private final Admission admission = new Admission();
+
+    private final RequestLimits requestLimits = new RequestLimits();
+
+    private final BatchValidation batchValidation = new BatchValidation();
+
+    private final BulkValidation bulkValidation = new BulkValidation();
+
+    private final ValidationMessages validationMessages = new ValidationMessages();
+
+    private final RuleCompilation ruleCompilation = new RuleCompilation();
+
+    private final RuleResultCache ruleResultCache = new RuleResultCache();
+
     @Getter
     @Setter
     public static class GatewayDownload {
@@ -48,6 +74,103 @@ public class DgcConfigProperties {
         private Integer lockLimit;
     }
 
+    @Getter
+    @Setter
+    public static class SlowValidation {
+        private long thresholdMs = 1000;
+        private int journalSize = 50;
+    }
+
+    @Getter
+    @Setter
+    public static class DecodedDccCache {
+        private boolean enabled = true;
+        private long ttlSeconds = 300;
+        private int maxEntries = 10000;
+        private long maxBytes = 32 * 1024 * 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class SignatureCache {
+        private boolean enabled = true;
+        private int maxEntries = 10000;
+    }
+
+    @Getter
+    @Setter
+    public static class ParallelValidation {
+        private boolean enabled = false;
+        private int threads = 0;
+        private int queueSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class AsyncValidation {
+        private boolean enabled = true;
+        private int threads = 0;
+        private int queueSize = 100;
+    }
+
+    @Getter
+    @Setter
+    public static class Admission {
+        private boolean enabled = true;
+        private int initialLimit = 100;
+        private int minLimit = 10;
+        private int maxLimit = 1000;
+        private long latencyThresholdMs = 2000;
+        private double backoffRatio = 0.9;
+        private double initializeShare = 0.5;
+        private int retryAfterSeconds = 1;
+    }
+
+    /**
+     * Maximum length of the base64 fields of a validation request.
+     */
+    @Getter
+    @Setter
+    public static class RequestLimits {
+        private int maxDccLength = 16384;
+        private int maxSigLength = 1024;
+        private int maxEncKeyLength = 1024;
+    }
+
+    @Getter
+    @Setter
+    public static class BatchValidation {
+        private int parallelism = 0;
+        private int maxItems = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class BulkValidation {
+        private String input;
+        private String output;
+        private String snapshotDir;
+    }
+
+    @Getter
+    @Setter
+    public static class ValidationMessages {
+        private List<String> languages = new ArrayList<>(List.of("en"));
+    }
+
+    @Getter
+    @Setter
+    public static class RuleCompilation {
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class RuleResultCache {
+        private boolean enabled = true;
+        private int maxEntries = 10000;
+    }
+
     private long validationExpire = 3600;
     private long confirmationExpire = 86400;
 
@@ -0,0 +1,23 @@
+package eu.europa.ec.dgc.validation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of the decryption of a dcc.
+ */
+@Name("eu.europa.ec.dgc.validation.DccDecrypt")
+@Label("DCC Decryption")
+@Category({"DGCA Validation"})
+@StackTrace(false)
+public class DccDecryptEvent extends Event {
+
+    @Label("Encryption Scheme")
+    public String scheme;
+
+    @Label("Encrypted Bytes")
+    public int encryptedBytes;
+}
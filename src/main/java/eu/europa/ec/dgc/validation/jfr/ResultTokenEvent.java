@@ -0,0 +1,26 @@
+package eu.europa.ec.dgc.validation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of building and signing a result token.
+ */
+@Name("eu.europa.ec.dgc.validation.ResultToken")
+@Label("Result Token")
+@Category({"DGCA Validation"})
+@StackTrace(false)
+public class ResultTokenEvent extends Event {
+
+    @Label("Result")
+    public String result;
+
+    @Label("Result Count")
+    public int resultCount;
+
+    @Label("Privacy")
+    public boolean privacy;
+}
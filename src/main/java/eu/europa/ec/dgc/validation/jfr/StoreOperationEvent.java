@@ -0,0 +1,23 @@
+package eu.europa.ec.dgc.validation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of an operation of the validation store or the token blacklist.
+ */
+@Name("eu.europa.ec.dgc.validation.StoreOperation")
+@Label("Store Operation")
+@Category({"DGCA Validation"})
+@StackTrace(false)
+public class StoreOperationEvent extends Event {
+
+    @Label("Store")
+    public String store;
+
+    @Label("Operation")
+    public String operation;
+}
@@ -0,0 +1,32 @@
+package eu.europa.ec.dgc.validation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one dcc validation of ValidationService, holds no data of the subject or the dcc.
+ */
+@Name("eu.europa.ec.dgc.validation.Validation")
+@Label("Validation")
+@Category({"DGCA Validation"})
+@StackTrace(false)
+public class ValidationEvent extends Event {
+
+    @Label("Access Token Type")
+    public String tokenType;
+
+    @Label("Result")
+    public String result;
+
+    @Label("Result Count")
+    public int resultCount;
+
+    @Label("Rule Count")
+    public int ruleCount;
+
+    @Label("Short Circuit Stage")
+    public String shortCircuitStage;
+}
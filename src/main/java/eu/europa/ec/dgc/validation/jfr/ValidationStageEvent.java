@@ -0,0 +1,23 @@
+package eu.europa.ec.dgc.validation.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event of one stage of DccValidator.
+ */
+@Name("eu.europa.ec.dgc.validation.ValidationStage")
+@Label("Validation Stage")
+@Category({"DGCA Validation"})
+@StackTrace(false)
+public class ValidationStageEvent extends Event {
+
+    @Label("Stage")
+    public String stage;
+
+    @Label("Rule Count")
+    public int ruleCount;
+}
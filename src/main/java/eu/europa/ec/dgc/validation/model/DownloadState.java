@@ -0,0 +1,17 @@
+package eu.europa.ec.dgc.validation.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class DownloadState {
+
+    private String etag;
+
+    private String lastModified;
+
+    private String contentHash;
+
+    private String storedContentHash;
+}
@@ -0,0 +1,33 @@
+package eu.europa.ec.dgc.validation.model;
+
+import java.time.Instant;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Cost breakdown of a validation which exceeded the slow validation threshold. It contains no data of the
+ * certificate holder, only durations, counts and rule identifiers.
+ */
+@Getter
+@Setter
+public class SlowValidationEntry {
+
+    private Instant timestamp;
+
+    private String tokenType;
+
+    private double totalMs;
+
+    private String shortCircuitStage;
+
+    private Map<String, Double> stagesMs;
+
+    private int ruleCount;
+
+    private Map<String, Double> slowestRulesMs;
+
+    private int certificatesTried;
+
+    private Map<String, Double> storeMs;
+}
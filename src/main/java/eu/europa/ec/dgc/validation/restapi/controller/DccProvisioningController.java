@@ -4,10 +4,12 @@ package eu.europa.ec.dgc.validation.restapi.controller;
 import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
 import eu.europa.ec.dgc.validation.restapi.dto.DccValidationRequest;
+import eu.europa.ec.dgc.validation.service.ValidationRequestExecutor;
 import eu.europa.ec.dgc.validation.service.ValidationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.util.concurrent.CompletableFuture;
 import javax.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -26,14 +28,15 @@ import org.springframework.web.bind.annotation.RestController;
 public class DccProvisioningController {
     private final ValidationService validationService;
     private final DgcConfigProperties dgcConfigProperties;
+    private final ValidationRequestExecutor validationRequestExecutor;
 
     /**
-     * init Validation.
+     * init Validation. The validation runs on the {@link ValidationRequestExecutor}, not on the servlet thread.
      * @param dccValidationRequest dccValidationRequest
      * @param accessToken accessToken
      * @param subject subject
      * @param version version
-     * @return ResponseEntity
+     * @return future of the ResponseEntity
      */
     @Operation(
         summary = "The provision endpoint is the public endpoint where DCCs can be provided for a subject. The "
@@ -47,14 +50,20 @@ public class DccProvisioningController {
         @ApiResponse(responseCode = "400", description = "Bad Request, content of the provide data is malformed"),
         @ApiResponse(responseCode = "410", description = "Gone, Subject does not exists any more"),
         @ApiResponse(responseCode = "422", description = "Unprocessable Entity. Wrong Signature of the Subject,"
-            + " Wrong Encryption or any other problem with the encoding")})
+            + " Wrong Encryption or any other problem with the encoding"),
+        @ApiResponse(responseCode = "503", description = "Service Unavailable, too many validations in progress")})
     @PostMapping(value = "/validate/{subject}", consumes = MediaType.APPLICATION_JSON_VALUE,
         produces = "application/jwt")
-    public ResponseEntity<String> validateDcc(
+    public CompletableFuture<ResponseEntity<String>> validateDcc(
         @Valid @RequestBody DccValidationRequest dccValidationRequest,
         @RequestHeader("Authorization") String accessToken,
         @PathVariable String subject,
         @RequestHeader("X-Version") String version) {
+        return validationRequestExecutor.submit(() -> validate(dccValidationRequest, accessToken, subject));
+    }
+
+    private ResponseEntity<String> validate(DccValidationRequest dccValidationRequest, String accessToken,
+                                            String subject) {
         ResponseEntity<String> result;
 
         AccessTokenPayload accessTokenPayload =
@@ -0,0 +1,25 @@
+package eu.europa.ec.dgc.validation.restapi.controller;
+
+import eu.europa.ec.dgc.validation.model.SlowValidationEntry;
+import eu.europa.ec.dgc.validation.service.SlowValidationJournal;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint listing the most recent slow validations.
+ */
+@Component
+@Endpoint(id = "slowvalidations")
+@RequiredArgsConstructor
+public class SlowValidationEndpoint {
+
+    private final SlowValidationJournal slowValidationJournal;
+
+    @ReadOperation
+    public List<SlowValidationEntry> slowValidations() {
+        return slowValidationJournal.getEntries();
+    }
+}
@@ -1,12 +1,17 @@
 package eu.europa.ec.dgc.validation.restapi.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
 import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchItem;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchResult;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationDevRequest;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
 import eu.europa.ec.dgc.validation.restapi.dto.ValueSetListItemDto;
 import eu.europa.ec.dgc.validation.service.BusinessRuleService;
 import eu.europa.ec.dgc.validation.service.DccValidator;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
+import eu.europa.ec.dgc.validation.service.ValidationStageRecorder;
 import eu.europa.ec.dgc.validation.service.ValueSetService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,7 +19,11 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.context.annotation.Profile;
@@ -24,6 +33,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -32,13 +42,18 @@ import org.springframework.web.bind.annotation.RestController;
 @Profile("devvalidate")
 public class ValidationDevTestController {
 
+    private static final String SERVER_TIMING_HEADER = "Server-Timing";
+
     private final DccValidator dccValidator;
     private final BusinessRuleService businessRuleService;
     private final ValueSetService valueSetService;
+    private final ValidationMetrics validationMetrics;
+    private final ObjectMapper objectMapper;
 
     /**
      * dev Validate.
      * @param validationDevRequest validationDevRequest
+     * @param timing attach the duration of the validation stages as Server-Timing header
      * @return ResponseEntity
      */
     @Operation(
@@ -57,10 +72,66 @@ public class ValidationDevTestController {
     @PostMapping(value = "/devvalidate", consumes = MediaType.APPLICATION_JSON_VALUE,
         produces = MediaType.APPLICATION_JSON_VALUE)
     public ResponseEntity<List<ValidationStatusResponse.Result>> devValidate(
-        @Valid @RequestBody ValidationDevRequest validationDevRequest) {
-        return ResponseEntity.ok(dccValidator.validate(validationDevRequest.getDcc(),
-            validationDevRequest.getAccessTokenPayload().getConditions(),
-            AccessTokenType.getTokenForInt(validationDevRequest.getAccessTokenPayload().getType()), false));
+        @Valid @RequestBody ValidationDevRequest validationDevRequest,
+        @RequestParam(value = "timing", defaultValue = "false") boolean timing) {
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        List<ValidationStatusResponse.Result> results;
+        try {
+            results = dccValidator.validate(validationDevRequest.getDcc(),
+                validationDevRequest.getAccessTokenPayload().getConditions(),
+                AccessTokenType.getTokenForInt(validationDevRequest.getAccessTokenPayload().getType()), false,
+                stageRecorder);
+        } finally {
+            validationMetrics.recordStages(stageRecorder);
+        }
+        if (timing) {
+            return ResponseEntity.ok()
+                .header(SERVER_TIMING_HEADER, stageRecorder.toServerTiming())
+                .body(results);
+        }
+        return ResponseEntity.ok(results);
+    }
+
+    /**
+     * dev Validate a batch of dccs. The items are validated in parallel and every result is written as one line
+     * of newline delimited json as soon as the item is validated.
+     * @param items items
+     * @param response response the results are streamed to
+     * @throws IOException if the response can not be written
+     */
+    @Operation(
+        summary = "Validates a batch of DCCs and streams the results.",
+        description = "Validates all DCCs of the batch in parallel against the same rules, value sets and trust list "
+            + "and returns one JSON object per line in completion order. The index of a result refers to the "
+            + "position of the item in the request."
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "OK"),
+        @ApiResponse(responseCode = "400", description = "Bad Request, the batch exceeds the maximum size")})
+    @PostMapping(value = "/devvalidate/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void devValidateBatch(@RequestBody List<ValidationBatchItem> items, HttpServletResponse response)
+        throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream outputStream = response.getOutputStream();
+        try {
+            dccValidator.validateBatch(items, result -> writeLine(outputStream, result));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        outputStream.flush();
+    }
+
+    private void writeLine(OutputStream outputStream, ValidationBatchResult result) {
+        try {
+            byte[] line = objectMapper.writeValueAsBytes(result);
+            synchronized (outputStream) {
+                outputStream.write(line);
+                outputStream.write('\n');
+                outputStream.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
 
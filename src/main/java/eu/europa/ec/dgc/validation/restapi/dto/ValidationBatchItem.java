@@ -0,0 +1,16 @@
+package eu.europa.ec.dgc.validation.restapi.dto;
+
+import lombok.Data;
+
+/**
+ * Item of a batch validation.
+ */
+@Data
+public class ValidationBatchItem {
+    /**
+     * Optional identifier chosen by the caller, returned with the result of the item.
+     */
+    private String id;
+    private String dcc;
+    private AccessTokenPayload accessTokenPayload;
+}
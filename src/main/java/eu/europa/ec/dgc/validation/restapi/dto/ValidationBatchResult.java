@@ -0,0 +1,26 @@
+package eu.europa.ec.dgc.validation.restapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.List;
+import lombok.Data;
+
+/**
+ * Result of one item of a batch validation. Results are returned in completion order, the index refers to the
+ * position of the item in the batch.
+ */
+@Data
+public class ValidationBatchResult {
+    private int index;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String id;
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private List<ValidationStatusResponse.Result> results;
+
+    /**
+     * Reason why the item could not be validated.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String error;
+}
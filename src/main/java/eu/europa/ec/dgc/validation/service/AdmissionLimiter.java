@@ -0,0 +1,122 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adaptive limit of the requests in flight on the validation endpoints. The limit follows AIMD: it is increased by
+ * one for every request completed within the latency threshold while at least half of the limit is in use, and
+ * multiplied with the backoff ratio when a request took longer or was rejected by an overloaded executor. The
+ * requests which were in flight when the limit was decreased were admitted under the old limit, so their slow or
+ * overloaded completions belong to the same congestion event and do not decrease the limit again.
+ *
+ * <p>Requests of new subjects on /initialize may only use a share of the limit, so subjects already initialized
+ * can still be validated and their status be queried when the service is overloaded.</p>
+ */
+@Component
+public class AdmissionLimiter {
+
+    private final ValidationMetrics validationMetrics;
+
+    private final DgcConfigProperties.Admission config;
+
+    private final long latencyThresholdNanos;
+
+    private double limit;
+
+    private int inFlight;
+
+    private int recoveryReleases;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public AdmissionLimiter(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+        this.config = dgcConfigProperties.getAdmission();
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(config.getLatencyThresholdMs());
+        this.limit = Math.max(config.getMinLimit(), Math.min(config.getMaxLimit(), config.getInitialLimit()));
+    }
+
+    /**
+     * Registers the limit and the requests in flight as gauges if admission control is enabled.
+     */
+    @PostConstruct
+    public void initMetrics() {
+        if (isEnabled()) {
+            validationMetrics.registerAdmissionGauge("limit", this, AdmissionLimiter::getLimit);
+            validationMetrics.registerAdmissionGauge("in_flight", this, AdmissionLimiter::getInFlight);
+        }
+    }
+
+    public boolean isEnabled() {
+        return config.isEnabled();
+    }
+
+    /**
+     * Admits a request if the requests in flight are below the share of the limit available to its endpoint.
+     *
+     * @param endpoint endpoint of the request
+     * @return true if the request is admitted, it has to be released by {@link #release(long, boolean)}
+     */
+    public boolean tryAcquire(Endpoint endpoint) {
+        boolean admitted;
+        synchronized (this) {
+            double share = endpoint == Endpoint.INITIALIZE ? config.getInitializeShare() : 1.0;
+            admitted = inFlight < limit * share;
+            if (admitted) {
+                inFlight++;
+            }
+        }
+        if (!admitted) {
+            validationMetrics.admissionRejected(endpoint);
+        }
+        return admitted;
+    }
+
+    /**
+     * Releases an admitted request and adapts the limit to its outcome.
+     *
+     * @param latencyNanos duration of the request
+     * @param overloaded   whether the request could not be processed because the service was overloaded
+     */
+    public synchronized void release(long latencyNanos, boolean overloaded) {
+        boolean congested = overloaded || latencyNanos > latencyThresholdNanos;
+        if (congested && recoveryReleases == 0) {
+            limit = Math.max(config.getMinLimit(), limit * config.getBackoffRatio());
+            recoveryReleases = inFlight - 1;
+        } else {
+            if (recoveryReleases > 0) {
+                recoveryReleases--;
+            }
+            if (!congested && inFlight * 2 >= limit) {
+                limit = Math.min(config.getMaxLimit(), limit + 1);
+            }
+        }
+        inFlight--;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public enum Endpoint {
+        INITIALIZE, VALIDATE, STATUS;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+
+        public String tag() {
+            return tag;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import org.apache.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fork join pool to validate the items of a batch in parallel. The pool is sized to the host unless configured
+ * otherwise and is separate from the common pool, so a large batch does not starve other users of the common pool.
+ */
+@Component
+public class BatchValidationExecutor {
+
+    private final ValidationMetrics validationMetrics;
+
+    private final ForkJoinPool pool;
+
+    @Getter
+    private final int maxItems;
+
+    /**
+     * Creates the pool.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public BatchValidationExecutor(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+        DgcConfigProperties.BatchValidation config = dgcConfigProperties.getBatchValidation();
+        int parallelism = config.getParallelism() > 0
+            ? config.getParallelism() : Runtime.getRuntime().availableProcessors();
+        pool = new ForkJoinPool(parallelism);
+        maxItems = config.getMaxItems();
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerExecutor("validation-batch", pool);
+    }
+
+    /**
+     * Checks that a batch does not exceed the configured number of items.
+     *
+     * @param items number of items of the batch
+     * @throws DccException with status 400 if the batch is too large
+     */
+    public void checkBatchSize(int items) {
+        if (items > maxItems) {
+            throw new DccException("Batch exceeds " + maxItems + " items", HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Runs all tasks of a batch and waits until every task is finished. As soon as a task fails, e.g. because its
+     * result can not be written to a disconnected client, the tasks which did not finish yet are cancelled.
+     *
+     * @param tasks tasks
+     * @throws DccException if a task failed, runtime exceptions of the task are rethrown as they are
+     */
+    public <T> void invokeAll(List<Callable<T>> tasks) {
+        CompletionService<T> completionService = new ExecutorCompletionService<>(pool);
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        try {
+            for (Callable<T> task : tasks) {
+                futures.add(completionService.submit(task));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                completionService.take().get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DccException("batch validation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DccException("batch validation failed", e.getCause());
+        } finally {
+            for (Future<T> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Stops the pool.
+     */
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+}
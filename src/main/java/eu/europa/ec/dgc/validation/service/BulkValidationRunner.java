@@ -0,0 +1,257 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.engine.data.Rule;
+import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
+import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchItem;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchResult;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Validates a file of DCCs without the web stack. Every line of the input file is a {@link ValidationBatchItem},
+ * every line of the output file a {@link ValidationBatchResult} whose index is the zero based line number of the
+ * item in the input file. The input is read in chunks of the batch size and each chunk is validated in parallel,
+ * so memory stays bounded independent of the size of the file.
+ *
+ * <p>Downloads are disabled in this mode. Rules, value sets and DSCs are captured once from the database and
+ * used for the whole file. A snapshot directory containing rules.json (array of rules), valuesets.json (object of
+ * value sets by id) and dsc.json (array of trust list items) replaces them with the content of the files. The
+ * files are only held in memory, the database is never written.</p>
+ */
+@Slf4j
+@Component
+@Profile("bulkvalidate")
+@RequiredArgsConstructor
+public class BulkValidationRunner implements CommandLineRunner {
+
+    private static final String RULES_FILE = "rules.json";
+    private static final String VALUE_SETS_FILE = "valuesets.json";
+    private static final String DSC_FILE = "dsc.json";
+
+    private final DgcConfigProperties dgcConfigProperties;
+    private final DccValidator dccValidator;
+    private final ObjectMapper objectMapper;
+    private final ParsedRuleRegistry parsedRuleRegistry;
+    private final RulesCache rulesCache;
+    private final ValueSetCache valueSetCache;
+    private final SignerInformationService signerInformationService;
+    private final CertificateUtils certificateUtils;
+
+    @Override
+    public void run(String... args) throws IOException, NoSuchAlgorithmException {
+        DgcConfigProperties.BulkValidation config = dgcConfigProperties.getBulkValidation();
+        if (!StringUtils.hasText(config.getInput()) || !StringUtils.hasText(config.getOutput())) {
+            throw new IllegalStateException("dgc.bulkValidation.input and dgc.bulkValidation.output are required");
+        }
+        ValidationSnapshot snapshot = StringUtils.hasText(config.getSnapshotDir())
+            ? loadSnapshot(Paths.get(config.getSnapshotDir())) : dccValidator.createSnapshot();
+
+        long start = System.nanoTime();
+        int records;
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(config.getInput()), StandardCharsets.UTF_8);
+             Writer writer = Files.newBufferedWriter(Paths.get(config.getOutput()), StandardCharsets.UTF_8)) {
+            records = validate(reader, writer, dgcConfigProperties.getBatchValidation().getMaxItems(), snapshot);
+        }
+        log.info("Validated {} records from {} in {} ms, results written to {}", records, config.getInput(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), config.getOutput());
+    }
+
+    /**
+     * Validates all items read from the reader and writes the results to the writer.
+     *
+     * @param reader    input, one item per line
+     * @param writer    output, one result per line
+     * @param chunkSize number of items validated together
+     * @param snapshot  rules, value sets and trust list to validate against
+     * @return number of records
+     * @throws IOException if reading or writing failed
+     */
+    int validate(BufferedReader reader, Writer writer, int chunkSize, ValidationSnapshot snapshot)
+        throws IOException {
+        List<ValidationBatchItem> chunk = new ArrayList<>(chunkSize);
+        List<Integer> chunkLines = new ArrayList<>(chunkSize);
+        int records = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            int currentLine = lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            records++;
+            try {
+                chunk.add(objectMapper.readValue(line, ValidationBatchItem.class));
+                chunkLines.add(currentLine);
+            } catch (JsonProcessingException e) {
+                ValidationBatchResult result = new ValidationBatchResult();
+                result.setIndex(currentLine);
+                result.setError("malformed record: " + e.getOriginalMessage());
+                writeLine(writer, result);
+                continue;
+            }
+            if (chunk.size() == chunkSize) {
+                validateChunk(chunk, chunkLines, writer, snapshot);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            validateChunk(chunk, chunkLines, writer, snapshot);
+        }
+        writer.flush();
+        return records;
+    }
+
+    private void validateChunk(List<ValidationBatchItem> chunk, List<Integer> chunkLines, Writer writer,
+                               ValidationSnapshot snapshot) throws IOException {
+        try {
+            dccValidator.validateBatch(chunk, snapshot, result -> {
+                result.setIndex(chunkLines.get(result.getIndex()));
+                writeLine(writer, result);
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        chunk.clear();
+        chunkLines.clear();
+    }
+
+    private void writeLine(Writer writer, ValidationBatchResult result) {
+        try {
+            String json = objectMapper.writeValueAsString(result);
+            synchronized (writer) {
+                writer.write(json);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Loads the snapshot files. Sources without file are captured from the database.
+     *
+     * @param snapshotDir snapshot directory
+     * @return snapshot
+     * @throws IOException              if a file can not be read
+     * @throws NoSuchAlgorithmException if the rule hash can not be calculated
+     */
+    ValidationSnapshot loadSnapshot(Path snapshotDir) throws IOException, NoSuchAlgorithmException {
+        RulesCache rules = rulesCache;
+        Path rulesFile = snapshotDir.resolve(RULES_FILE);
+        if (Files.exists(rulesFile)) {
+            List<Rule> loaded = new ArrayList<>();
+            for (JsonNode rule : objectMapper.readTree(rulesFile.toFile())) {
+                String rawData = objectMapper.writeValueAsString(rule);
+                String hash = certificateUtils.calculateHash(rawData.getBytes(StandardCharsets.UTF_8));
+                try {
+                    loaded.add(parsedRuleRegistry.getOrParse(hash, rawData));
+                } catch (DccException e) {
+                    log.warn("Skipped invalid business rule {} {}", rule.path("Identifier").asText(),
+                        rule.path("Version").asText());
+                }
+            }
+            rules = new SnapshotRules(loaded);
+            log.info("Loaded {} rules from {}", loaded.size(), rulesFile);
+        }
+
+        ValueSetCache valueSets = valueSetCache;
+        Path valueSetsFile = snapshotDir.resolve(VALUE_SETS_FILE);
+        if (Files.exists(valueSetsFile)) {
+            Map<String, List<String>> loaded = new HashMap<>();
+            Iterator<Map.Entry<String, JsonNode>> fields = objectMapper.readTree(valueSetsFile.toFile()).fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> valueSet = fields.next();
+                List<String> ids = new ArrayList<>();
+                valueSet.getValue().path("valueSetValues").fieldNames().forEachRemaining(ids::add);
+                loaded.put(valueSet.getKey(), ids);
+            }
+            valueSets = new SnapshotValueSets(loaded);
+            log.info("Loaded {} value sets from {}", loaded.size(), valueSetsFile);
+        }
+
+        Path dscFile = snapshotDir.resolve(DSC_FILE);
+        if (!Files.exists(dscFile)) {
+            return ValidationSnapshot.capture(rules, valueSets, signerInformationService);
+        }
+        List<TrustListItem> dscs = objectMapper.readValue(dscFile.toFile(),
+            new TypeReference<List<TrustListItem>>() {});
+        log.info("Loaded {} DSCs from {}", dscs.size(), dscFile);
+        return new ValidationSnapshot(rules, valueSets, signerInformationService,
+            signerInformationService.getTrustListVersion(), dscs.stream().collect(Collectors.groupingBy(
+                TrustListItem::getKid, Collectors.mapping(TrustListItem::getRawData, Collectors.toList()))));
+    }
+
+    /**
+     * Rules of the snapshot files, selected by country like the rules of the database.
+     */
+    private static final class SnapshotRules implements RulesCache {
+
+        private final List<Rule> rules;
+
+        private SnapshotRules(List<Rule> rules) {
+            this.rules = rules;
+        }
+
+        @Override
+        public List<Rule> provideRules(String countryOfArrival, String issuerCountry) {
+            return rules.stream()
+                .filter(rule -> rule.getCountryCode().equalsIgnoreCase(countryOfArrival)
+                    || rule.getCountryCode().equalsIgnoreCase(issuerCountry))
+                .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Value sets of the snapshot files.
+     */
+    private static final class SnapshotValueSets implements ValueSetCache {
+
+        private final VersionedValueSets valueSets;
+
+        private SnapshotValueSets(Map<String, List<String>> valueSets) {
+            this.valueSets = new VersionedValueSets(valueSets, 0);
+        }
+
+        @Override
+        public Map<String, List<String>> provideValueSets() {
+            return valueSets.getValueSets();
+        }
+
+        @Override
+        public Map<String, List<String>> getValueSets() {
+            return valueSets.getValueSets();
+        }
+
+        @Override
+        public VersionedValueSets provideVersionedValueSets() {
+            return valueSets;
+        }
+    }
+}
@@ -20,6 +20,7 @@
 
 package eu.europa.ec.dgc.validation.service;
 
+import dgca.verifier.app.engine.data.Rule;
 import eu.europa.ec.dgc.gateway.connector.model.ValidationRule;
 import eu.europa.ec.dgc.utils.CertificateUtils;
 import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
@@ -29,13 +30,18 @@ import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 
 @Slf4j
@@ -47,6 +53,8 @@ public class BusinessRuleService {
 
     private final CertificateUtils certificateUtils;
 
+    private final ParsedRuleRegistry parsedRuleRegistry;
+
     /**
      * Gets list of all business rules ids and hashes.
      */
@@ -80,14 +88,33 @@ public class BusinessRuleService {
     }
 
     /**
-     * Updates the list of business rules.
+     * Gets business rules by their hashes.
+     *
+     * @param hashes rule hashes
+     * @return rule entities
+     */
+    @Transactional
+    public List<BusinessRuleEntity> getBusinessRulesByHashes(Collection<String> hashes) {
+        return businessRuleRepository.findAllByHashIn(hashes);
+    }
+
+    /**
+     * Updates the list of business rules. Every rule is parsed into the {@link ParsedRuleRegistry},
+     * rules which can not be parsed are rejected and not stored. If none of the rules can be parsed, the stored
+     * rules are kept.
      *
      * @param businessRules list of actual value sets
      */
     @Transactional
     public void updateBusinessRules(List<BusinessRuleItem> businessRules) {
+        List<BusinessRuleItem> validRules = parseBusinessRules(businessRules);
+        if (validRules.isEmpty() && !businessRules.isEmpty()) {
+            log.error("None of the {} downloaded business rules can be parsed, keeping the stored rules.",
+                businessRules.size());
+            return;
+        }
         List<String> ruleHashes =
-            businessRules.stream().map(BusinessRuleItem::getHash).collect(Collectors.toList());
+            validRules.stream().map(BusinessRuleItem::getHash).collect(Collectors.toList());
         List<String> alreadyStoredRules = getBusinessRulesHashList();
 
         if (ruleHashes.isEmpty()) {
@@ -96,11 +123,12 @@ public class BusinessRuleService {
             businessRuleRepository.deleteByHashNotIn(ruleHashes);
         }
 
-        for (BusinessRuleItem rule : businessRules) {
+        for (BusinessRuleItem rule : validRules) {
             if (!alreadyStoredRules.contains(rule.getHash())) {
                 saveBusinessRule(rule);
             }
         }
+        retainParsedRulesAfterCommit(ruleHashes);
     }
 
     /**
@@ -147,12 +175,49 @@ public class BusinessRuleService {
     }
 
 
+    private List<BusinessRuleItem> parseBusinessRules(List<BusinessRuleItem> businessRules) {
+        Map<String, String> rawDataByHash = new HashMap<>();
+        for (BusinessRuleItem rule : businessRules) {
+            if (!parsedRuleRegistry.isRejected(rule.getHash())) {
+                rawDataByHash.put(rule.getHash(), rule.getRawData());
+            }
+        }
+        Map<String, Rule> parsedRules = parsedRuleRegistry.getOrParseAll(rawDataByHash);
+
+        List<BusinessRuleItem> validRules = new ArrayList<>(businessRules.size());
+        for (BusinessRuleItem rule : businessRules) {
+            if (parsedRules.containsKey(rule.getHash())) {
+                validRules.add(rule);
+            } else if (rawDataByHash.containsKey(rule.getHash())) {
+                log.warn("Rejected invalid business rule {} {} for country {}", rule.getIdentifier(),
+                    rule.getVersion(), rule.getCountry());
+            }
+        }
+        return validRules;
+    }
+
+    /**
+     * Removes rules which are no longer stored from the {@link ParsedRuleRegistry} once the update is committed.
+     */
+    private void retainParsedRulesAfterCommit(List<String> ruleHashes) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            parsedRuleRegistry.retain(ruleHashes);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                parsedRuleRegistry.retain(ruleHashes);
+            }
+        });
+    }
+
     /**
      * Gets a list of hash values of all stored business rules.
      *
      * @return List of hash values
      */
-    private List<String> getBusinessRulesHashList() {
+    public List<String> getBusinessRulesHashList() {
         return getBusinessRulesList().stream().map(BusinessRuleListItemDto::getHash).collect(Collectors.toList());
     }
 }
@@ -18,6 +18,7 @@ import eu.europa.ec.dgc.gateway.connector.model.ValidationRule;
 import eu.europa.ec.dgc.signing.SignedStringMessageParser;
 import eu.europa.ec.dgc.validation.model.BusinessRuleItem;
 import eu.europa.ec.dgc.validation.utils.btp.JsonNodeDeserializer;
+import io.micrometer.core.annotation.Timed;
 import java.io.IOException;
 import java.security.NoSuchAlgorithmException;
 import java.time.ZonedDateTime;
@@ -27,6 +28,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -34,7 +36,6 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.MDC;
 import org.springframework.context.annotation.Profile;
@@ -50,10 +51,20 @@ public class BusinessRulesDownloadServiceBtpImpl implements BusinessRulesDownloa
     private static final String DGCG_DESTINATION = "dgcg-destination";
     private static final String DCCG_BUSINESS_RULES_ENDPOINT = "/rules";
     private static final String DCCG_COUNTRY_LIST_ENDPOINT = "/countrylist";
+    private static final String CONTENT_KEY = "btp:rules";
 
     private final BusinessRuleService businessRuleService;
 
+    private final DownloadStateService downloadStateService;
+
+    private final ValidationMetrics validationMetrics;
+
+    private final Map<String, List<ValidationRule>> downloadedRules = new ConcurrentHashMap<>();
+
+    private List<String> downloadedCountryCodes = new ArrayList<>();
+
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_RULES})
     @Scheduled(fixedDelayString = "${dgc.businessRulesDownload.timeInterval}")
     @SchedulerLock(name = "GatewayDataDownloadService_downloadBusinessRules", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.businessRulesDownload.lockLimit}")
@@ -72,13 +83,23 @@ public class BusinessRulesDownloadServiceBtpImpl implements BusinessRulesDownloa
                 log.error("Could not create business rule item list: {}", e.getMessage(), e);
             }
 
-            if (!ruleItems.isEmpty()) {
-                businessRuleService.updateBusinessRules(ruleItems);
-            } else {
+            if (ruleItems.isEmpty()) {
                 log.warn("The download of the business rules seems to fail, as the download connector "
                     + "returns an empty list. No data will be changed.");
+                return;
+            }
+
+            validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_RULES, ruleItems.size());
+            String contentHash = downloadStateService.calculateContentHash(
+                ruleItems.stream().map(BusinessRuleItem::getHash));
+            if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash())) {
+                log.info("Business rules are unchanged since last download. No data will be changed.");
+                return;
             }
 
+            businessRuleService.updateBusinessRules(ruleItems);
+            downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+
             log.info("Business rules download finished.");
         } finally {
             cleanLogging();
@@ -92,14 +113,23 @@ public class BusinessRulesDownloadServiceBtpImpl implements BusinessRulesDownloa
         List<String> countryList = new ArrayList<>();
 
         try {
-            HttpResponse response = httpClient.execute(RequestBuilder.get(DCCG_COUNTRY_LIST_ENDPOINT).build());
+            HttpResponse response =
+                httpClient.execute(downloadStateService.conditionalGet(DCCG_COUNTRY_LIST_ENDPOINT));
+            if (downloadStateService.isNotModified(response)) {
+                log.debug("Country list not modified since last download.");
+                return downloadedCountryCodes;
+            }
+
             countryList = new ArrayList<>(gson().fromJson(toJsonString(response.getEntity()),
                 new TypeToken<List<String>>() {
                 }.getType()));
-        } catch (IOException e) {
+            downloadStateService.rememberValidators(DCCG_COUNTRY_LIST_ENDPOINT, response);
+        } catch (IOException | JsonSyntaxException e) {
             log.error("Could not fetch country list from gateway: {}", e.getMessage(), e);
+            downloadStateService.resetValidators(DCCG_COUNTRY_LIST_ENDPOINT);
         }
 
+        downloadedCountryCodes = countryList;
         return countryList;
     }
 
@@ -149,22 +179,37 @@ public class BusinessRulesDownloadServiceBtpImpl implements BusinessRulesDownloa
 
         for (String countryCode : countryCodes) {
             log.debug("Fetching rules for country '{}'...", countryCode);
+            String endpoint = DCCG_BUSINESS_RULES_ENDPOINT + "/" + countryCode;
             try {
-                HttpResponse response = httpClient
-                    .execute(RequestBuilder.get(DCCG_BUSINESS_RULES_ENDPOINT + "/" + countryCode).build());
+                if (!downloadedRules.containsKey(countryCode)) {
+                    downloadStateService.resetValidators(endpoint);
+                }
+                HttpResponse response = httpClient.execute(downloadStateService.conditionalGet(endpoint));
+                if (downloadStateService.isNotModified(response)) {
+                    log.debug("Rules for country '{}' not modified since last download.", countryCode);
+                    allRules.addAll(downloadedRules.get(countryCode));
+                    continue;
+                }
+
                 Map<String, ValidationRuleDto[]> fetchedForCountry = gson().fromJson(toJsonString(response.getEntity()),
                     new TypeToken<Map<String, ValidationRuleDto[]>>() {
                     }.getType());
 
                 log.debug("Fetched {} rule(s) for country '{}'. Parsing now...", fetchedForCountry.values().size(),
                     countryCode);
-                allRules.addAll(fetchedForCountry.values().stream().flatMap(Arrays::stream).map(this::mapRule)
-                    .filter(Objects::nonNull).collect(Collectors.toList()));
+                List<ValidationRule> countryRules = fetchedForCountry.values().stream().flatMap(Arrays::stream)
+                    .map(this::mapRule).filter(Objects::nonNull).collect(Collectors.toList());
+                downloadedRules.put(countryCode, countryRules);
+                downloadStateService.rememberValidators(endpoint, response);
+                allRules.addAll(countryRules);
             } catch (IOException | JsonSyntaxException e) {
                 log.warn("Could not fetch rules for country '{}': {}", countryCode, e.getMessage(), e);
+                downloadedRules.remove(countryCode);
+                downloadStateService.resetValidators(endpoint);
             }
         }
 
+        downloadedRules.keySet().retainAll(countryCodes);
         return allRules;
     }
 
@@ -190,4 +235,8 @@ public class BusinessRulesDownloadServiceBtpImpl implements BusinessRulesDownloa
         MDC.remove(CORRELATION_ID_LOG_VAR_NAME);
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(businessRuleService.getBusinessRulesHashList().stream());
+    }
+
 }
@@ -23,6 +23,7 @@ package eu.europa.ec.dgc.validation.service;
 
 import eu.europa.ec.dgc.gateway.connector.DgcGatewayValidationRuleDownloadConnector;
 import eu.europa.ec.dgc.validation.model.BusinessRuleItem;
+import io.micrometer.core.annotation.Timed;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -44,11 +45,18 @@ import org.springframework.stereotype.Component;
 @Profile("!btp")
 public class BusinessRulesDownloadServiceGatewayImpl implements BusinessRulesDownloadService {
 
+    private static final String CONTENT_KEY = "gateway:rules";
+
     private final DgcGatewayValidationRuleDownloadConnector dgcRuleConnector;
 
     private final BusinessRuleService businessRuleService;
 
+    private final DownloadStateService downloadStateService;
+
+    private final ValidationMetrics validationMetrics;
+
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_RULES})
     @Scheduled(fixedDelayString = "${dgc.businessRulesDownload.timeInterval}")
     @SchedulerLock(name = "GatewayDataDownloadService_downloadBusinessRules", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.businessRulesDownload.lockLimit}")
@@ -64,14 +72,28 @@ public class BusinessRulesDownloadServiceGatewayImpl implements BusinessRulesDow
             return;
         }
 
-        if (!ruleItems.isEmpty()) {
-            businessRuleService.updateBusinessRules(ruleItems);
-        } else {
+        if (ruleItems.isEmpty()) {
             log.warn("The download of the business rules seems to fail, as the download connector "
                 + "returns an empty business rules list.-> No data was changed.");
+            return;
+        }
+
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_RULES, ruleItems.size());
+        String contentHash = downloadStateService.calculateContentHash(
+            ruleItems.stream().map(BusinessRuleItem::getHash));
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash())) {
+            log.info("Business rules are unchanged since last download.-> No data was changed.");
+            return;
         }
 
+        businessRuleService.updateBusinessRules(ruleItems);
+        downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+
         log.info("Business rules finished");
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(businessRuleService.getBusinessRulesHashList().stream());
+    }
+
 }
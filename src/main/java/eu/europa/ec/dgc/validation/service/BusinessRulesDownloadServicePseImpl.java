@@ -24,6 +24,7 @@ import eu.europa.ec.dgc.validation.client.BusinessRulesRestClient;
 import eu.europa.ec.dgc.validation.client.dto.RulesResponseDto;
 import eu.europa.ec.dgc.validation.model.BusinessRuleItem;
 import feign.FeignException;
+import io.micrometer.core.annotation.Timed;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -41,10 +42,16 @@ import org.springframework.stereotype.Component;
 @Profile("pse")
 public class BusinessRulesDownloadServicePseImpl implements BusinessRulesDownloadService {
 
+    private static final String INDEX_ENDPOINT = "pse:/rules";
+    private static final String CONTENT_KEY = "pse:rules";
+
     private final BusinessRulesRestClient businessRulesRestClient;
     private final BusinessRuleService businessRuleService;
+    private final DownloadStateService downloadStateService;
+    private final ValidationMetrics validationMetrics;
 
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_RULES})
     @Scheduled(fixedDelayString = "${dgc.businessRulesDownload.timeInterval}")
     @SchedulerLock(name = "GatewayDataDownloadService_downloadBusinessRules", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.businessRulesDownload.lockLimit}")
@@ -52,9 +59,16 @@ public class BusinessRulesDownloadServicePseImpl implements BusinessRulesDownloa
 
         ResponseEntity<List<RulesResponseDto>> responseEntity;
 
+        String storedContentHash = storedContentHash();
+        downloadStateService.resetValidatorsIfStoredContentChanged(CONTENT_KEY, storedContentHash, INDEX_ENDPOINT);
         try {
-            responseEntity = businessRulesRestClient.getBusinessRulesList();
+            responseEntity = businessRulesRestClient.getBusinessRulesList(
+                downloadStateService.getState(INDEX_ENDPOINT).getEtag());
         } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                log.info("Business rules index not modified since last download. No data will be changed.");
+                return;
+            }
             log.error("Download of business rules failed with exception. Service responded with status code: {}",
                 e.status());
             return;
@@ -69,10 +83,23 @@ public class BusinessRulesDownloadServicePseImpl implements BusinessRulesDownloa
 
         log.info("Got Response from Service, Rule index contains rules: {}", rulesList.size());
 
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_RULES, rulesList.size());
+        String contentHash = downloadStateService.calculateContentHash(
+            rulesList.stream().map(RulesResponseDto::getHash));
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash)) {
+            log.info("Business rules index is unchanged since last download. No data will be changed.");
+            downloadStateService.rememberValidators(INDEX_ENDPOINT, responseEntity.getHeaders().getETag(), null);
+            return;
+        }
+
         List<BusinessRuleItem> ruleItems = getRuleItems(rulesList);
 
         if (!ruleItems.isEmpty()) {
             businessRuleService.updateBusinessRules(ruleItems);
+            if (ruleItems.size() == rulesList.size()) {
+                downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+                downloadStateService.rememberValidators(INDEX_ENDPOINT, responseEntity.getHeaders().getETag(), null);
+            }
         } else {
             log.warn("The download of the business rules seems to fail, as the download connector "
                 + "returns an empty list. No data will be changed.");
@@ -127,4 +154,8 @@ public class BusinessRulesDownloadServicePseImpl implements BusinessRulesDownloa
 
         return item;
     }
+
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(businessRuleService.getBusinessRulesHashList().stream());
+    }
 }
@@ -0,0 +1,115 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dgca.verifier.app.engine.JsonLogicValidator;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JsonLogic validator which evaluates rules with the {@link RuleProgram} compiled when the rule was loaded. Rules
+ * which are not compiled or which can not be decided by their program are evaluated by the delegate.
+ *
+ * <p>Programs are looked up by the identity of the logic node of the parsed rule, rules are parsed once in the
+ * {@link ParsedRuleRegistry}. The map is replaced on every change, so lookups during validation need no lock.</p>
+ *
+ * <p>If {@link RuleTimings} are bound to the evaluating thread, the evaluation time of each rule is recorded.</p>
+ */
+@Slf4j
+public class CompiledJsonLogicValidator implements JsonLogicValidator {
+
+    private final JsonLogicValidator delegate;
+    private final boolean enabled;
+
+    private volatile Map<JsonNode, RuleProgram> programs = Collections.emptyMap();
+
+    public CompiledJsonLogicValidator(JsonLogicValidator delegate, boolean enabled) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public Boolean isDataValid(JsonNode rule, JsonNode data) {
+        RuleTimings ruleTimings = RuleTimings.current();
+        if (ruleTimings == null) {
+            return evaluate(rule, data);
+        }
+        long start = System.nanoTime();
+        try {
+            return evaluate(rule, data);
+        } finally {
+            ruleTimings.record(rule, System.nanoTime() - start);
+        }
+    }
+
+    private Boolean evaluate(JsonNode rule, JsonNode data) {
+        RuleProgram program = programs.get(rule);
+        if (program != null) {
+            Boolean valid = program.evaluate(data);
+            if (valid != null) {
+                return valid;
+            }
+        }
+        return delegate.isDataValid(rule, data);
+    }
+
+    /**
+     * Compiles the logic of a rule. Logic which can not be compiled is evaluated by the delegate.
+     *
+     * @param logic rule logic
+     */
+    public void compile(JsonNode logic) {
+        compileAll(Collections.singletonList(logic));
+    }
+
+    /**
+     * Compiles the logic of several rules and publishes their programs at once, so registering many rules copies
+     * the map of programs only once. Logic which can not be compiled is evaluated by the delegate.
+     *
+     * @param logics rule logics
+     */
+    public synchronized void compileAll(Collection<JsonNode> logics) {
+        if (!enabled) {
+            return;
+        }
+        Map<JsonNode, RuleProgram> current = programs;
+        Map<JsonNode, RuleProgram> compiled = new IdentityHashMap<>();
+        for (JsonNode logic : logics) {
+            if (current.containsKey(logic) || compiled.containsKey(logic)) {
+                continue;
+            }
+            RuleProgram program = RuleProgram.compile(logic);
+            if (program == null) {
+                log.debug("rule logic not compiled, using rule engine: {}", logic);
+            } else {
+                compiled.put(logic, program);
+            }
+        }
+        if (!compiled.isEmpty()) {
+            compiled.putAll(current);
+            programs = compiled;
+        }
+    }
+
+    /**
+     * Removes the programs of all rules not contained in the given logic nodes.
+     *
+     * @param logics logic nodes of current rules
+     */
+    public synchronized void retain(Collection<JsonNode> logics) {
+        Map<JsonNode, RuleProgram> retained = new IdentityHashMap<>();
+        for (JsonNode logic : logics) {
+            RuleProgram program = programs.get(logic);
+            if (program != null) {
+                retained.put(logic, program);
+            }
+        }
+        programs = retained;
+    }
+
+    public int size() {
+        return programs.size();
+    }
+}
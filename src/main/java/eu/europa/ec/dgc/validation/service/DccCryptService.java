@@ -5,6 +5,7 @@ import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesCbc;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesGcm;
 import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.jfr.DccDecryptEvent;
 import java.security.PrivateKey;
 import java.security.PublicKey;
 import java.util.ArrayList;
@@ -66,7 +67,19 @@ public class DccCryptService {
     public byte[] decryptData(EncryptedData encryptedData, PrivateKey privateKey, String encSchema, byte[] iv) {
         CryptSchema cryptSchema = cryptSchemaMap.get(encSchema);
         if (cryptSchema != null) {
-            return cryptSchema.decryptData(encryptedData, privateKey, iv);
+            DccDecryptEvent event = new DccDecryptEvent();
+            event.begin();
+            try {
+                return cryptSchema.decryptData(encryptedData, privateKey, iv);
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.scheme = encSchema;
+                    event.encryptedBytes = encryptedData.getDataEncrypted() != null
+                        ? encryptedData.getDataEncrypted().length : 0;
+                    event.commit();
+                }
+            }
         } else {
             throw new DccException("encryption schema not supported " + encSchema);
         }
@@ -36,11 +36,14 @@ import eu.europa.ec.dgc.validation.restapi.dto.AcceptableType;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
 import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchItem;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchResult;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
 import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -50,17 +53,17 @@ import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Base64;
-import java.util.Hashtable;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
-import kotlin.Triple;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpStatus;
-import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -80,25 +83,17 @@ public class DccValidator {
     private final CertificateUtils certificateUtils;
     private final ValueSetCache valueSetCache;
     private final RulesCache rulesCache;
-    private final ResourceBundleMessageSource resourceBundleMessageSource;
+    private final ValidationMessageTable validationMessageTable;
+    private final ValidationMetrics validationMetrics;
+    private final DecodedDccCache decodedDccCache;
+    private final SignatureVerificationCache signatureVerificationCache;
+    private final ValidationStageExecutor validationStageExecutor;
+    private final BatchValidationExecutor batchValidationExecutor;
+    private final RuleResultCache ruleResultCache;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     private static final ZoneId UTC_ZONE_ID = ZoneId.ofOffset("", ZoneOffset.UTC).normalized();
 
-    /**
-     * Tries to convert String into a version based on pattern majorVersion.minorVersion.patchVersion.
-     */
-    private static Triple<Integer, Integer, Integer> toVersion(String s) {
-        try {
-            String[] versionPieces = s.split("\\.");
-            return new Triple<Integer,Integer,Integer>(Integer.valueOf(versionPieces[0]), 
-                                                       Integer.valueOf(versionPieces[1]), 
-                                                       Integer.valueOf(versionPieces[2]));
-        } catch (Exception e) {
-            return null;
-        }
-    }
-
     @PostConstruct
     public void initMapper() {
         objectMapper.registerModule(new JavaTimeModule());
@@ -115,88 +110,161 @@ public class DccValidator {
     public List<ValidationStatusResponse.Result> validate(String dcc,
                                                           AccessTokenConditions accessTokenConditions,
                                                           AccessTokenType accessTokenType, boolean ignoreExpire) {
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        try {
+            return validate(dcc, accessTokenConditions, accessTokenType, ignoreExpire, stageRecorder);
+        } finally {
+            validationMetrics.recordStages(stageRecorder);
+        }
+    }
+
+    /**
+     * validate dcc and record the duration of each validation stage. The caller owns the recorder and
+     * publishes the stage durations when the whole request is finished.
+     * @param dcc dcc
+     * @param accessTokenConditions accessTokenConditions
+     * @param accessTokenType accessTokenType
+     * @param ignoreExpire ignoreExpire
+     * @param stageRecorder recorder of the stage durations of this validation
+     * @return results
+     * @throws DccException with status 400 if the conditions are missing or malformed
+     */
+    public List<ValidationStatusResponse.Result> validate(String dcc,
+                                                          AccessTokenConditions accessTokenConditions,
+                                                          AccessTokenType accessTokenType, boolean ignoreExpire,
+                                                          ValidationStageRecorder stageRecorder) {
+        return validate(dcc, ValidationConditions.of(accessTokenConditions), accessTokenType, ignoreExpire,
+            stageRecorder);
+    }
+
+    /**
+     * validate dcc against conditions which are already parsed.
+     * @param dcc dcc
+     * @param conditions parsed conditions of the access token
+     * @param accessTokenType accessTokenType
+     * @param ignoreExpire ignoreExpire
+     * @param stageRecorder recorder of the stage durations of this validation
+     * @return results
+     */
+    public List<ValidationStatusResponse.Result> validate(String dcc, ValidationConditions conditions,
+                                                          AccessTokenType accessTokenType, boolean ignoreExpire,
+                                                          ValidationStageRecorder stageRecorder) {
+        return validate(dcc, conditions, accessTokenType, ignoreExpire, stageRecorder, null);
+    }
+
+    private List<ValidationStatusResponse.Result> validate(String dcc, ValidationConditions conditions,
+                                                           AccessTokenType accessTokenType, boolean ignoreExpire,
+                                                           ValidationStageRecorder stageRecorder,
+                                                           ValidationSnapshot snapshot) {
         List<ValidationStatusResponse.Result> results = new ArrayList<>();
         VerificationResult verificationResult = new VerificationResult();
-        String dccPlain = prefixValidationService.decode(dcc, verificationResult);
-        Locale locale;
-        if (accessTokenConditions.getLang() != null && accessTokenConditions.getLang().length() > 0) {
-            locale = Locale.forLanguageTag(accessTokenConditions.getLang());
-        } else {
-            locale = Locale.ENGLISH;
-        }
-        if (verificationResult.getContextPrefix() == null) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.PREFIX, locale);
-            return results;
-        }
-        byte[] compressedCose = base45Service.decode(dccPlain, verificationResult);
-        if (!verificationResult.getBase45Decoded()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.BASE45, locale);
-            return results;
-        }
-        byte[] cose = compressorService.decode(compressedCose, verificationResult);
-        if (cose == null || !verificationResult.getZlibDecoded()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.COMPRESSION, locale);
-            return results;
+        Locale locale = validationMessageTable.getLocale(conditions.getLang());
+        String cacheKey = decodedDccCache.key(dcc);
+        DecodedDccCache.DecodedDcc decodedDcc = decodedDccCache.get(cacheKey);
+        if (decodedDccCache.isEnabled()) {
+            stageRecorder.stop(ValidationStage.DECODE_CACHE);
         }
-        CoseData coseData = coseService.decode(cose, verificationResult);
-        if (coseData == null) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.COSE, locale);
-            return results;
-        }
-        if (coseData.getKid() == null) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.KID, locale);
-            return results;
-        }
-        schemaValidator.validate(coseData.getCbor(), verificationResult);
-        if (!verificationResult.isSchemaValid()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.SCHEMA, locale);
-            return results;
-        }
-        GreenCertificateData greenCertificateData = cborService.decodeData(coseData.getCbor(), verificationResult);
-        if (!verificationResult.getCborDecoded()) {
-            addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.CBOR, locale);
-            return results;
+        byte[] cose;
+        CoseData coseData;
+        GreenCertificateData greenCertificateData;
+        if (decodedDcc != null) {
+            cose = decodedDcc.getCose();
+            coseData = decodedDcc.getCoseData();
+            greenCertificateData = decodedDcc.getGreenCertificateData();
+        } else {
+            String dccPlain = prefixValidationService.decode(dcc, verificationResult);
+            stageRecorder.stop(ValidationStage.PREFIX);
+            if (verificationResult.getContextPrefix() == null) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.PREFIX, locale);
+                return results;
+            }
+            byte[] compressedCose = base45Service.decode(dccPlain, verificationResult);
+            stageRecorder.stop(ValidationStage.BASE45);
+            if (!verificationResult.getBase45Decoded()) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.BASE45, locale);
+                return results;
+            }
+            cose = compressorService.decode(compressedCose, verificationResult);
+            stageRecorder.stop(ValidationStage.DECOMPRESSION);
+            if (cose == null || !verificationResult.getZlibDecoded()) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.COMPRESSION, locale);
+                return results;
+            }
+            coseData = coseService.decode(cose, verificationResult);
+            stageRecorder.stop(ValidationStage.COSE);
+            if (coseData == null) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.COSE, locale);
+                return results;
+            }
+            if (coseData.getKid() == null) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.KID, locale);
+                return results;
+            }
+            schemaValidator.validate(coseData.getCbor(), verificationResult);
+            stageRecorder.stop(ValidationStage.SCHEMA);
+            if (!verificationResult.isSchemaValid()) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.SCHEMA, locale);
+                return results;
+            }
+            greenCertificateData = cborService.decodeData(coseData.getCbor(), verificationResult);
+            stageRecorder.stop(ValidationStage.CBOR);
+            if (!verificationResult.getCborDecoded()) {
+                stageRecorder.shortCircuit();
+                addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                    ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.CBOR, locale);
+                return results;
+            }
+            decodedDccCache.put(cacheKey, cose, coseData, greenCertificateData);
         }
 
         if (ZonedDateTime.now().isAfter(greenCertificateData.getExpirationTime()) && !ignoreExpire) {
+            stageRecorder.stop(ValidationStage.EXPIRY);
+            stageRecorder.shortCircuit();
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIRED, locale);
             return results;
         }
 
         if (ZonedDateTime.now().isBefore(greenCertificateData.getIssuedAt())) {
+            stageRecorder.stop(ValidationStage.EXPIRY);
+            stageRecorder.shortCircuit();
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.NOTVALIDYET, locale);
             return results;
         }
 
         if (!Arrays.asList(Locale.getISOCountries()).contains(greenCertificateData.getIssuingCountry())) {
+            stageRecorder.stop(ValidationStage.EXPIRY);
+            stageRecorder.shortCircuit();
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.UNKNOWNISSUERCOUNTRY, locale);
             return results;
         }
 
+        stageRecorder.stop(ValidationStage.EXPIRY);
+
         addResult(results, ValidationStatusResponse.Result.ResultType.OK,
             ResultTypeIdentifier.TechnicalVerification, "STRUCTURE", "OK");
-        if (accessTokenConditions == null) {
-            throw new DccException("Validation Conditions missing", HttpStatus.SC_BAD_REQUEST);
-        }
-
         if (accessTokenType == AccessTokenType.Structure) {
-            if (accessTokenConditions.getHash() == null || accessTokenConditions.getHash().length() == 0) {
+            if (conditions.getHash() == null || conditions.getHash().length() == 0) {
                 addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                     ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.HASH, locale);
             } else {
                 try {
                     if (!certificateUtils.calculateHash(dcc.getBytes(StandardCharsets.UTF_8))
-                        .equals(accessTokenConditions.getHash())) {
+                        .equals(conditions.getHash())) {
                         addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                             ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.HASH_NOT_MATCH, locale);
                     } else {
@@ -209,26 +277,128 @@ public class DccValidator {
             }
         }
 
-        checkExpirationDates(greenCertificateData, accessTokenConditions, results, locale);
-        checkAcceptableCertType(greenCertificateData, accessTokenConditions, results, locale);
+        checkExpirationDates(greenCertificateData, conditions, results, locale);
+        checkAcceptableCertType(greenCertificateData, conditions, results, locale);
+        stageRecorder.stop(ValidationStage.CONDITIONS);
         if (accessTokenType.intValue() > AccessTokenType.Structure.intValue()) {
-            validateGreenCertificateNameDob(greenCertificateData, accessTokenConditions, results, locale);
-            validateCryptographic(cose, coseData.getKid(), accessTokenConditions, verificationResult, results, locale);
-            if (accessTokenType == AccessTokenType.Full) {
-                validateRules(greenCertificateData, verificationResult, results, accessTokenConditions,
-                    coseData.getKid(), rulesCache, valueSetCache, locale);
+            RulesCache ruleSource = snapshot != null ? snapshot : rulesCache;
+            ValueSetCache valueSetSource = snapshot != null ? snapshot : valueSetCache;
+            List<ValidationStatusResponse.Result> ruleResults = new ArrayList<>();
+            Future<Integer> ruleCount = null;
+            AtomicLong ruleNanos = new AtomicLong();
+            if (accessTokenType == AccessTokenType.Full && validationStageExecutor.isEnabled()) {
+                // rules are evaluated concurrently to name and signature checks, their results are appended last
+                ruleCount = validationStageExecutor.submit(() -> {
+                    long ruleStart = System.nanoTime();
+                    try {
+                        return validateRules(greenCertificateData, verificationResult, ruleResults, conditions,
+                            coseData.getKid(), ruleSource, valueSetSource, locale, stageRecorder.getRuleTimings());
+                    } finally {
+                        ruleNanos.set(System.nanoTime() - ruleStart);
+                    }
+                });
+            }
+            boolean checked = false;
+            try {
+                validateGreenCertificateNameDob(greenCertificateData, conditions, results, locale);
+                stageRecorder.stop(ValidationStage.NAME_DOB);
+                validateCryptographic(cose, coseData.getKid(), conditions, verificationResult, results, locale,
+                    stageRecorder, snapshot);
+                stageRecorder.stop(ValidationStage.CRYPTOGRAPHIC);
+                checked = true;
+            } finally {
+                if (!checked && ruleCount != null) {
+                    // nobody awaits the rule results of a failed validation
+                    ruleCount.cancel(true);
+                }
+            }
+            if (ruleCount != null) {
+                stageRecorder.setRuleCount(validationStageExecutor.await(ruleCount));
+                results.addAll(ruleResults);
+                stageRecorder.record(ValidationStage.RULES, ruleNanos.get());
+            } else if (accessTokenType == AccessTokenType.Full) {
+                stageRecorder.setRuleCount(validateRules(greenCertificateData, verificationResult, results,
+                    conditions, coseData.getKid(), ruleSource, valueSetSource, locale,
+                    stageRecorder.getRuleTimings()));
+                stageRecorder.stop(ValidationStage.RULES);
             }
         }
 
         return results;
     }
 
+    /**
+     * validate a batch of dccs in parallel. All items share one snapshot of rules, value sets and trust list,
+     * the result of each item is handed to the consumer as soon as the item is validated, so the consumer is
+     * called concurrently and in completion order. An item which can not be validated is reported with an
+     * error and does not fail the batch. If the consumer throws, the items which are not validated yet are
+     * cancelled and the exception is rethrown.
+     * @param items items
+     * @param resultConsumer consumer of the item results
+     */
+    public void validateBatch(List<ValidationBatchItem> items, Consumer<ValidationBatchResult> resultConsumer) {
+        batchValidationExecutor.checkBatchSize(items.size());
+        validateBatch(items, createSnapshot(), resultConsumer);
+    }
+
+    /**
+     * validate a batch of dccs against the given snapshot, see {@link #validateBatch(List, Consumer)}. The size
+     * of the batch is not checked.
+     * @param items items
+     * @param snapshot rules, value sets and trust list to validate against
+     * @param resultConsumer consumer of the item results
+     */
+    void validateBatch(List<ValidationBatchItem> items, ValidationSnapshot snapshot,
+                       Consumer<ValidationBatchResult> resultConsumer) {
+        List<Callable<Void>> tasks = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            int index = i;
+            ValidationBatchItem item = items.get(i);
+            tasks.add(() -> {
+                resultConsumer.accept(validateBatchItem(index, item, snapshot));
+                return null;
+            });
+        }
+        batchValidationExecutor.invokeAll(tasks);
+    }
+
+    /**
+     * Captures the current rules, value sets and trust list of this instance.
+     * @return snapshot
+     */
+    ValidationSnapshot createSnapshot() {
+        return ValidationSnapshot.capture(rulesCache, valueSetCache, signerInformationService);
+    }
+
+    private ValidationBatchResult validateBatchItem(int index, ValidationBatchItem item,
+                                                    ValidationSnapshot snapshot) {
+        ValidationBatchResult batchResult = new ValidationBatchResult();
+        batchResult.setIndex(index);
+        batchResult.setId(item.getId());
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        try {
+            if (item.getDcc() == null || item.getAccessTokenPayload() == null) {
+                throw new DccException("dcc or validation conditions missing", HttpStatus.SC_BAD_REQUEST);
+            }
+            batchResult.setResults(validate(item.getDcc(),
+                ValidationConditions.of(item.getAccessTokenPayload().getConditions()),
+                AccessTokenType.getTokenForInt(item.getAccessTokenPayload().getType()), false, stageRecorder,
+                snapshot));
+        } catch (RuntimeException e) {
+            log.debug("Validation of batch item {} failed: {}", index, e.getMessage());
+            batchResult.setError(e.getMessage());
+        } finally {
+            validationMetrics.recordStages(stageRecorder);
+        }
+        return batchResult;
+    }
+
     private void checkExpirationDates(GreenCertificateData greenCertificateData,
-                                      AccessTokenConditions accessTokenConditions,
+                                      ValidationConditions conditions,
                                       List<ValidationStatusResponse.Result> results, Locale locale) {
-        ZonedDateTime validFrom = ZonedDateTime.parse(accessTokenConditions.getValidFrom());
-        ZonedDateTime validTo = ZonedDateTime.parse(accessTokenConditions.getValidTo());
-        if (!greenCertificateData.getExpirationTime().isAfter(validTo)) {
+        Instant validFrom = conditions.getValidFrom();
+        Instant validTo = conditions.getValidTo();
+        if (!greenCertificateData.getExpirationTime().toInstant().isAfter(validTo)) {
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONDATE_AFTER, locale);
         }
@@ -236,7 +406,7 @@ public class DccValidator {
             == dgca.verifier.app.decoder.model.CertificateType.TEST) {
             Test testStatement = greenCertificateData.getGreenCertificate().getTests().get(0);
             ZonedDateTime dateOfCollection = toZonedDateTimeOrUtcLocal(testStatement.getDateTimeOfCollection());
-            if (dateOfCollection != null && !dateOfCollection.isBefore(validFrom)) {
+            if (dateOfCollection != null && !dateOfCollection.toInstant().isBefore(validFrom)) {
                 addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                     ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.NOTYETVALIDONDATE_TEST, locale);
             }
@@ -246,12 +416,12 @@ public class DccValidator {
                 greenCertificateData.getGreenCertificate().getRecoveryStatements().get(0);
             ZonedDateTime certValidFrom = toZonedDateTimeOrUtcLocal(recoveryStatement.getCertificateValidFrom());
             ZonedDateTime certValidTo = toZonedDateTimeOrUtcLocal(recoveryStatement.getCertificateValidUntil());
-            if (certValidFrom != null && !certValidFrom.isBefore(validFrom)) {
+            if (certValidFrom != null && !certValidFrom.toInstant().isBefore(validFrom)) {
                 addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                     ResultTypeIdentifier.TechnicalVerification,
                         DccValidationMessage.NOTYETVALIDONDATE_RECOVERY, locale);
             }
-            if (certValidTo != null && !certValidTo.isAfter(validTo)) {
+            if (certValidTo != null && !certValidTo.toInstant().isAfter(validTo)) {
                 addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                     ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONDATE_RECOVERY, locale);
             }
@@ -285,125 +455,51 @@ public class DccValidator {
      * @param kid kid
      * @param rulesCache rulesCache
      * @param valueSetCache valueSetCache
+     * @return number of rules evaluated
      */
-    void validateRules(GreenCertificateData greenCertificateData,
+    int validateRules(GreenCertificateData greenCertificateData,
                                      VerificationResult verificationResult,
                                      List<ValidationStatusResponse.Result> results,
                                      AccessTokenConditions accessTokenConditions,
                                      byte[] kid,
                                      RulesCache rulesCache,
                                      ValueSetCache valueSetCache, Locale locale) {
+        return validateRules(greenCertificateData, verificationResult, results,
+            ValidationConditions.of(accessTokenConditions), kid,
+            rulesCache, valueSetCache, locale, null);
+    }
+
+    private int validateRules(GreenCertificateData greenCertificateData,
+                              VerificationResult verificationResult,
+                              List<ValidationStatusResponse.Result> results,
+                              ValidationConditions conditions,
+                              byte[] kid,
+                              RulesCache rulesCache,
+                              ValueSetCache valueSetCache, Locale locale,
+                              RuleTimings ruleTimings) {
         log.debug("Start BusinessRule Evaluation");
-        ZonedDateTime validationClock = ZonedDateTime.parse(accessTokenConditions.getValidationClock());
+        ZonedDateTime validationClock = conditions.getValidationClock();
 
-        String countryOfArrival = accessTokenConditions.getCoa();
-        String regionOfArrival = accessTokenConditions.getRoa().isEmpty() ? null : accessTokenConditions.getRoa();
+        String countryOfArrival = conditions.getCoa();
+        String regionOfArrival = conditions.getRoa();
         String certificateType = greenCertificateData.getGreenCertificate().getType().toString();
         List<Rule> rules = rulesCache.provideRules(countryOfArrival, greenCertificateData.getIssuingCountry());
         log.debug("Found Rules: " + rules.size());
-        rules = rules.stream()
-            .peek(t -> {
-                log.debug(String.format("Identifier: %s,Type: %s , Country: %s, CertType: %s",
-                    t.getIdentifier(), t.getType(), t.getCountryCode(), t.getRuleCertificateType()));
-                log.debug("General :"
-                    + String.valueOf(
-                        t.getRuleCertificateType().toString().toLowerCase().equals(certificateType.toLowerCase())
-                            || t.getRuleCertificateType().toString().equals("General")));
-                log.debug("Clock :" + String.valueOf((t.getValidFrom().isBefore(validationClock)
-                    || t.getValidFrom().isEqual(validationClock))));
-                log.debug("Type :" + String.valueOf(t.getType() == dgca.verifier.app.engine.data.Type.ACCEPTANCE));
-                log.debug("Country :" + String.valueOf(t.getCountryCode().equals(countryOfArrival)));
-                log.debug("Region :" + String.valueOf((t.getRegion() == null
-                    || t.getRegion().equals(regionOfArrival))));
-                log.debug("InvalidType :"
-                    + String.valueOf(t.getType() == dgca.verifier.app.engine.data.Type.INVALIDATION));
-                log.debug("IssuerCountry :"
-                    + String.valueOf(t.getCountryCode().equals(greenCertificateData.getIssuingCountry())));
-            })
-            .filter(t -> ((t.getRuleCertificateType().toString().toLowerCase().equals(certificateType.toLowerCase())
-                || t.getRuleCertificateType().toString().equals("General"))
-                    && (t.getValidFrom().isBefore(validationClock) || t.getValidFrom().isEqual(validationClock))
-                    && t.getType() == dgca.verifier.app.engine.data.Type.ACCEPTANCE)
-                    && t.getCountryCode().toLowerCase().equals(countryOfArrival.toLowerCase())
-                    && (t.getRegion() == null || t.getRegion().toLowerCase().equals(regionOfArrival.toLowerCase()))
-                    || (
-                        (t.getRuleCertificateType().toString().toLowerCase().equals(certificateType.toLowerCase())
-                            || t.getRuleCertificateType().toString().equals("General"))
-                            && (t.getValidFrom().isBefore(validationClock) || t.getValidFrom().isEqual(validationClock))
-                            && t.getType() == dgca.verifier.app.engine.data.Type.INVALIDATION
-                            && t.getCountryCode().toLowerCase()
-                                .equals(greenCertificateData.getIssuingCountry().toLowerCase())
-                    )
-            )
-            .map(t -> t)
-            .collect(Collectors.toList());
-        Hashtable<String,Triple<Integer,Integer,Integer>> identifierVersions = 
-                                                                new Hashtable<String,Triple<Integer,Integer,Integer>>();
-        Hashtable<String,Rule> ruleVersions = new Hashtable<String,Rule>();
-        ArrayList<Rule> rulesOut = new ArrayList<Rule>();
-        for (Rule rule : rules) {
-            if (!identifierVersions.containsKey(rule.getIdentifier())) {
-                identifierVersions.put(rule.getIdentifier(), toVersion(rule.getVersion()));
-                ruleVersions.put(rule.getIdentifier(), rule);
-            }
-            var currVersion = toVersion(rule.getVersion());
-            var prevVersion = identifierVersions.get(rule.getIdentifier());
-
-            if (currVersion != null && prevVersion != null) {
-                if (currVersion.component1() < prevVersion.component1()) {
-                    rulesOut.add(rule); 
-                    continue;   
-                }
-
-                if (currVersion.component1() > prevVersion.component1()) {
-                    rulesOut.add(ruleVersions.get(rule.getIdentifier()));
-                    ruleVersions.put(rule.getIdentifier(), rule);
-                    identifierVersions.put(rule.getIdentifier(), currVersion);
-                    continue;
-                }
-
-                if (currVersion.component1() == prevVersion.component1()) {
-                    if (currVersion.component2() < prevVersion.component2()) {
-                        rulesOut.add(rule);
-                        continue;   
-                    }
-
-                    if (currVersion.component2() > prevVersion.component2()) {
-                        rulesOut.add(ruleVersions.get(rule.getIdentifier()));
-                        ruleVersions.put(rule.getIdentifier(), rule);
-                        identifierVersions.put(rule.getIdentifier(), currVersion);
-                        continue;
-                    }
-
-                    if (currVersion.component2() == prevVersion.component2()) {
-                        if (currVersion.component3() < prevVersion.component3()) {
-                            rulesOut.add(rule);
-                            continue;   
-                        }
-
-                        if (currVersion.component3() > prevVersion.component3()) {
-                            rulesOut.add(ruleVersions.get(rule.getIdentifier()));
-                            ruleVersions.put(rule.getIdentifier(), rule);
-                            identifierVersions.put(rule.getIdentifier(), currVersion);
-                            continue;
-                        }
-                    }
-                }
-            }
-        }
+        rules = RuleSelector.select(rules, certificateType, validationClock, countryOfArrival, regionOfArrival,
+            greenCertificateData.getIssuingCountry());
 
-        rules.removeAll(rulesOut);
-            
         log.debug("Matching Rules: " + rules.size());
         if (rules != null && rules.size() > 0) {
             String kidBase64 = Base64.getEncoder().encodeToString(kid);
-            Map<String, List<String>> valueSets = valueSetCache.provideValueSets();
+            ValueSetCache.VersionedValueSets versionedValueSets = valueSetCache.provideVersionedValueSets();
+            long valueSetVersion = versionedValueSets.getVersion();
+            Map<String, List<String>> valueSets = versionedValueSets.getValueSets();
             ExternalParameter externalParameter = new ExternalParameter(validationClock, valueSets, countryOfArrival,
                 greenCertificateData.getExpirationTime(),
                 greenCertificateData.getIssuedAt(),
                 greenCertificateData.getIssuingCountry(),
                 kidBase64,
-                accessTokenConditions.getRoa()
+                regionOfArrival != null ? regionOfArrival : ""
             );
             String hcertJson = greenCertificateData.getHcertJson();
             dgca.verifier.app.engine.data.CertificateType certEngineType;
@@ -417,9 +513,24 @@ public class DccValidator {
                 default:
                     certEngineType = dgca.verifier.app.engine.data.CertificateType.TEST;
             }
-            List<ValidationResult> ruleValidationResults = certLogicEngine.validate(certEngineType,
-                greenCertificateData.getGreenCertificate().getSchemaVersion(),
-                rules, externalParameter, hcertJson);
+            String schemaVersion = greenCertificateData.getGreenCertificate().getSchemaVersion();
+            String cacheKey = ruleResultCache.key(rules, certEngineType, schemaVersion, externalParameter,
+                hcertJson);
+            List<ValidationResult> ruleValidationResults = ruleResultCache.get(cacheKey, valueSetVersion);
+            if (ruleValidationResults == null) {
+                if (ruleTimings != null) {
+                    ruleTimings.begin(rules);
+                }
+                try {
+                    ruleValidationResults = certLogicEngine.validate(certEngineType, schemaVersion, rules,
+                        externalParameter, hcertJson);
+                } finally {
+                    if (ruleTimings != null) {
+                        ruleTimings.end();
+                    }
+                }
+                ruleResultCache.put(cacheKey, valueSetVersion, ruleValidationResults);
+            }
 
             for (ValidationResult validationResult : ruleValidationResults) {
                 ValidationStatusResponse.Result.ResultType resultType;
@@ -463,30 +574,53 @@ public class DccValidator {
                 }
             }
         }
+        return rules.size();
     }
 
     private void validateCryptographic(byte[] cose, byte[] kid,
-                                       AccessTokenConditions accessTokenConditions,
+                                       ValidationConditions conditions,
                                        VerificationResult verificationResult,
-                                       List<ValidationStatusResponse.Result> results, Locale locale) {
-        ZonedDateTime validationClock = ZonedDateTime.parse(accessTokenConditions.getValidationClock());
+                                       List<ValidationStatusResponse.Result> results, Locale locale,
+                                       ValidationStageRecorder stageRecorder, ValidationSnapshot snapshot) {
+        ZonedDateTime validationClock = conditions.getValidationClock();
         String kidBase64 = Base64.getEncoder().encodeToString(kid);
-        List<Certificate> certificates = signerInformationService.getCertificates(kidBase64);
+        long trustListVersion;
+        List<Certificate> certificates;
+        if (snapshot != null) {
+            trustListVersion = snapshot.getTrustListVersion();
+            certificates = snapshot.getCertificates(kidBase64);
+        } else {
+            trustListVersion = signerInformationService.getTrustListVersion();
+            certificates = signerInformationService.getCertificates(kidBase64);
+        }
         if (certificates != null && certificates.size() > 0) {
-            boolean signValidated = false;
-            for (Certificate certificate : certificates) {
-                cryptoService.validate(cose, certificate, verificationResult);
-                if (verificationResult.getCoseVerified()) {
-                    ZonedDateTime expirationTime = (certificate instanceof X509Certificate)
-                        ? ((X509Certificate) certificate).getNotAfter()
-                            .toInstant().atZone(DateTimeKt.getUTC_ZONE_ID())
-                        : null;
-                    if (expirationTime != null && validationClock.isAfter(expirationTime)) {
-                        addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
-                            ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONCLOCK, locale);
+            Certificate verifiedCertificate = null;
+            String cacheKey = signatureVerificationCache.key(kidBase64, cose);
+            SignatureVerificationCache.Outcome outcome =
+                signatureVerificationCache.get(cacheKey, trustListVersion, certificates);
+            if (outcome != null) {
+                verifiedCertificate = outcome.getVerifiedCertificate();
+                verificationResult.setCoseVerified(outcome.isVerified());
+            } else {
+                for (Certificate certificate : certificates) {
+                    stageRecorder.incrementCertificatesTried();
+                    cryptoService.validate(cose, certificate, verificationResult);
+                    if (verificationResult.getCoseVerified()) {
+                        verifiedCertificate = certificate;
+                        break;
                     }
-                    signValidated = true;
-                    break;
+                }
+                signatureVerificationCache.put(cacheKey, trustListVersion, certificates, verifiedCertificate);
+            }
+            boolean signValidated = verifiedCertificate != null;
+            if (signValidated) {
+                ZonedDateTime expirationTime = (verifiedCertificate instanceof X509Certificate)
+                    ? ((X509Certificate) verifiedCertificate).getNotAfter()
+                        .toInstant().atZone(DateTimeKt.getUTC_ZONE_ID())
+                    : null;
+                if (expirationTime != null && validationClock.isAfter(expirationTime)) {
+                    addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
+                        ResultTypeIdentifier.TechnicalVerification, DccValidationMessage.EXPIREDONCLOCK, locale);
                 }
             }
             if (!signValidated) {
@@ -503,34 +637,33 @@ public class DccValidator {
     }
 
     private void validateGreenCertificateNameDob(GreenCertificateData greenCertificateData,
-                                                 AccessTokenConditions accessTokenConditions,
+                                                 ValidationConditions conditions,
                                                  List<ValidationStatusResponse.Result> results, Locale locale) {
         if (greenCertificateData.getGreenCertificate().getPerson().getStandardisedFamilyName() == null
             || !greenCertificateData.getGreenCertificate().getPerson()
-                .getStandardisedFamilyName().equals(accessTokenConditions.getFnt())) {
+                .getStandardisedFamilyName().equals(conditions.getFnt())) {
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification,  DccValidationMessage.FNTNOMATCH, locale);
         }
         if (greenCertificateData.getGreenCertificate().getPerson().getStandardisedGivenName() == null
             || !greenCertificateData.getGreenCertificate().getPerson()
-                .getStandardisedGivenName().equals(accessTokenConditions.getGnt())) {
+                .getStandardisedGivenName().equals(conditions.getGnt())) {
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification,  DccValidationMessage.GNTNOTMATCH, locale);
         }
         if (greenCertificateData.getGreenCertificate().getDateOfBirth() == null
-            ||  !greenCertificateData.getGreenCertificate().getDateOfBirth().equals(accessTokenConditions.getDob())) {
+            ||  !greenCertificateData.getGreenCertificate().getDateOfBirth().equals(conditions.getDob())) {
             addResult(results, ValidationStatusResponse.Result.ResultType.NOK,
                 ResultTypeIdentifier.TechnicalVerification,  DccValidationMessage.DOBNOMATCH, locale);
         }
     }
 
     private void checkAcceptableCertType(GreenCertificateData greenCertificateData,
-                                         AccessTokenConditions accessTokenConditions,
+                                         ValidationConditions conditions,
                                          List<ValidationStatusResponse.Result> results, Locale locale) {
-        if (accessTokenConditions.getType() != null) {
+        if (conditions.getAcceptableTypes() != null) {
             boolean accepted = false;
-            for (String acceptableTypeSymbol : accessTokenConditions.getType()) {
-                AcceptableType acceptableType = AcceptableType.getTokenForSymbol(acceptableTypeSymbol);
+            for (AcceptableType acceptableType : conditions.getAcceptableTypes()) {
                 switch (acceptableType) {
                     case Vaccination:
                         accepted = greenCertificateData.getGreenCertificate().getType()
@@ -597,12 +730,13 @@ public class DccValidator {
         result.setIdentifier(identifier);
         result.setDetails(details);
         results.add(result);
+        validationMetrics.countResult(type, resultType);
     }
 
     private void addResult(List<ValidationStatusResponse.Result> results,
                                   ValidationStatusResponse.Result.ResultType resultType,
                                   ResultTypeIdentifier type, DccValidationMessage dccValidationMessage, Locale locale) {
         addResult(results, resultType, type, dccValidationMessage.identifier(),
-                resourceBundleMessageSource.getMessage(dccValidationMessage.name(), null, locale));
+                validationMessageTable.getMessage(dccValidationMessage, locale));
     }
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.decoder.cbor.GreenCertificateData;
+import dgca.verifier.app.decoder.model.CoseData;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of decoded and schema validated dccs keyed by the SHA-256 digest of the dcc, so a dcc submitted again,
+ * e.g. for another booking or by a retrying wallet, is not decoded again. Only the checks depending on the
+ * access token conditions are run again.
+ *
+ * <p>The cache is bounded by number of entries and estimated size. Entries are dropped after the time to live,
+ * also when the cache is idle, so no certificate content is kept longer. It can be disabled with
+ * dgc.decodedDccCache.enabled=false.</p>
+ */
+@Slf4j
+@Component
+public class DecodedDccCache {
+
+    /**
+     * Estimated size of the decoded objects besides the raw cose and json.
+     */
+    private static final int ENTRY_OVERHEAD_BYTES = 2048;
+
+    private final ValidationMetrics validationMetrics;
+
+    private final boolean enabled;
+
+    private final long ttlMillis;
+
+    private final int maxEntries;
+
+    private final long maxBytes;
+
+    /**
+     * Entries in insertion order, which is also the order of expiry.
+     */
+    private final LinkedHashMap<String, DecodedDcc> entries = new LinkedHashMap<>();
+
+    private long bytes;
+
+    /**
+     * Creates the cache.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public DecodedDccCache(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        DgcConfigProperties.DecodedDccCache config = dgcConfigProperties.getDecodedDccCache();
+        this.validationMetrics = validationMetrics;
+        this.enabled = config.isEnabled();
+        this.ttlMillis = config.getTtlSeconds() * 1000;
+        this.maxEntries = config.getMaxEntries();
+        this.maxBytes = config.getMaxBytes();
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerCacheSize(ValidationMetrics.Cache.DECODED_DCC, this, DecodedDccCache::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Calculates the cache key of a dcc.
+     *
+     * @param dcc dcc as submitted
+     * @return key or null if the cache is disabled
+     */
+    public String key(String dcc) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(digest.digest(dcc.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DccException("hash calculation", e);
+        }
+    }
+
+    /**
+     * Gets a decoded dcc.
+     *
+     * @param key key of the dcc, may be null
+     * @return decoded dcc or null if not cached
+     */
+    public DecodedDcc get(String key) {
+        if (key == null) {
+            return null;
+        }
+        DecodedDcc decodedDcc;
+        synchronized (this) {
+            removeExpired(System.currentTimeMillis());
+            decodedDcc = entries.get(key);
+        }
+        if (decodedDcc == null) {
+            validationMetrics.cacheMiss(ValidationMetrics.Cache.DECODED_DCC);
+        } else {
+            validationMetrics.cacheHit(ValidationMetrics.Cache.DECODED_DCC);
+        }
+        return decodedDcc;
+    }
+
+    /**
+     * Caches a successfully decoded dcc.
+     *
+     * @param key                  key of the dcc, may be null
+     * @param cose                 decompressed cose
+     * @param coseData             decoded cose
+     * @param greenCertificateData decoded and schema validated certificate
+     */
+    public void put(String key, byte[] cose, CoseData coseData, GreenCertificateData greenCertificateData) {
+        if (key == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        DecodedDcc decodedDcc = new DecodedDcc(cose, coseData, greenCertificateData, now + ttlMillis);
+        if (decodedDcc.weight > maxBytes) {
+            return;
+        }
+        synchronized (this) {
+            removeExpired(now);
+            DecodedDcc replaced = entries.remove(key);
+            if (replaced != null) {
+                bytes -= replaced.weight;
+            }
+            entries.put(key, decodedDcc);
+            bytes += decodedDcc.weight;
+            Iterator<DecodedDcc> it = entries.values().iterator();
+            while (entries.size() > maxEntries || bytes > maxBytes) {
+                bytes -= it.next().weight;
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops expired entries, so certificate content is not kept beyond the time to live on an idle instance.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public synchronized void evictExpired() {
+        removeExpired(System.currentTimeMillis());
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void removeExpired(long now) {
+        Iterator<Map.Entry<String, DecodedDcc>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            DecodedDcc decodedDcc = it.next().getValue();
+            if (decodedDcc.expiresAt > now) {
+                return;
+            }
+            bytes -= decodedDcc.weight;
+            it.remove();
+        }
+    }
+
+    @Getter
+    public static final class DecodedDcc {
+        private final byte[] cose;
+        private final CoseData coseData;
+        private final GreenCertificateData greenCertificateData;
+        private final long expiresAt;
+        private final long weight;
+
+        private DecodedDcc(byte[] cose, CoseData coseData, GreenCertificateData greenCertificateData,
+                           long expiresAt) {
+            this.cose = cose;
+            this.coseData = coseData;
+            this.greenCertificateData = greenCertificateData;
+            this.expiresAt = expiresAt;
+            this.weight = ENTRY_OVERHEAD_BYTES + 2L * cose.length
+                + 2L * greenCertificateData.getHcertJson().length();
+        }
+    }
+}
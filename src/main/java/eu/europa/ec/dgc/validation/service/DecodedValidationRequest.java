@@ -0,0 +1,57 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.restapi.dto.DccValidationRequest;
+import java.util.Base64;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base64 fields of a {@link DccValidationRequest}, decoded once and shared by signature verification and
+ * decryption. The length of each field is checked before it is decoded, so oversized requests are rejected
+ * without decoding them.
+ */
+@Getter
+final class DecodedValidationRequest {
+
+    private final byte[] dcc;
+    private final byte[] sig;
+    private final byte[] encKey;
+
+    private DecodedValidationRequest(byte[] dcc, byte[] sig, byte[] encKey) {
+        this.dcc = dcc;
+        this.sig = sig;
+        this.encKey = encKey;
+    }
+
+    /**
+     * Decodes the base64 fields of a validation request.
+     *
+     * @param request validation request
+     * @param limits  maximum length of the base64 fields
+     * @return decoded fields
+     * @throws DccException with status 400 if a field is missing, too long or not valid base64
+     */
+    static DecodedValidationRequest of(DccValidationRequest request, DgcConfigProperties.RequestLimits limits) {
+        return new DecodedValidationRequest(
+            decode("dcc", request.getDcc(), limits.getMaxDccLength(), Base64.getDecoder()),
+            // the signature was decoded leniently before, line breaks in it are still accepted
+            decode("sig", request.getSig(), limits.getMaxSigLength(), Base64.getMimeDecoder()),
+            decode("encKey", request.getEncKey(), limits.getMaxEncKeyLength(), Base64.getDecoder()));
+    }
+
+    private static byte[] decode(String name, String value, int maxLength, Base64.Decoder decoder) {
+        if (value == null || value.isEmpty()) {
+            throw new DccException(name + " missing", HttpStatus.BAD_REQUEST.value());
+        }
+        if (value.length() > maxLength) {
+            throw new DccException(name + " exceeds " + maxLength + " characters", HttpStatus.BAD_REQUEST.value());
+        }
+        try {
+            return decoder.decode(value);
+        } catch (IllegalArgumentException e) {
+            throw new DccException(name + " malformed", e, HttpStatus.BAD_REQUEST.value());
+        }
+    }
+}
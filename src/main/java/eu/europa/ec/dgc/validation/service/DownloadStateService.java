@@ -0,0 +1,186 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.model.DownloadState;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.Header;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.apache.http.client.methods.RequestBuilder;
+import org.apache.http.util.EntityUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.springframework.stereotype.Service;
+
+/**
+ * Remembers the http validators (ETag, Last-Modified) per download endpoint and the content hash of the
+ * last persisted download per sync pipeline, so unchanged downloads can be skipped.
+ *
+ * <p>The state is kept per instance, while the database is shared and each sync run may be executed by another
+ * instance. Together with the content hash the hash of the stored data after persisting is remembered, a
+ * download is only skipped while the stored data is still the one this instance persisted.</p>
+ */
+@Slf4j
+@Service
+public class DownloadStateService {
+
+    private static final byte[] SEPARATOR = {'\n'};
+
+    private final Map<String, DownloadState> states = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the download state for an endpoint or pipeline.
+     *
+     * @param key endpoint or pipeline name
+     * @return download state, empty if nothing was downloaded yet
+     */
+    public DownloadState getState(String key) {
+        return states.computeIfAbsent(key, k -> new DownloadState());
+    }
+
+    /**
+     * Remembers the validators of a successful response.
+     *
+     * @param endpoint     endpoint
+     * @param etag         ETag header value, may be null
+     * @param lastModified Last-Modified header value, may be null
+     */
+    public void rememberValidators(String endpoint, String etag, String lastModified) {
+        DownloadState state = getState(endpoint);
+        state.setEtag(etag);
+        state.setLastModified(lastModified);
+    }
+
+    /**
+     * Remembers the ETag and Last-Modified headers of a successful response.
+     *
+     * @param endpoint endpoint
+     * @param response http response
+     */
+    public void rememberValidators(String endpoint, HttpResponse response) {
+        rememberValidators(endpoint, headerValue(response, HttpHeaders.ETAG),
+            headerValue(response, HttpHeaders.LAST_MODIFIED));
+    }
+
+    /**
+     * Forgets the validators of an endpoint, so the next request is sent unconditionally.
+     *
+     * @param endpoint endpoint
+     */
+    public void resetValidators(String endpoint) {
+        rememberValidators(endpoint, null, null);
+    }
+
+    /**
+     * Builds a GET request carrying If-None-Match and If-Modified-Since headers from the last download.
+     *
+     * @param endpoint endpoint
+     * @return request
+     */
+    public HttpUriRequest conditionalGet(String endpoint) {
+        DownloadState state = getState(endpoint);
+        RequestBuilder request = RequestBuilder.get(endpoint);
+        if (state.getEtag() != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, state.getEtag());
+        }
+        if (state.getLastModified() != null) {
+            request.addHeader(HttpHeaders.IF_MODIFIED_SINCE, state.getLastModified());
+        }
+        return request.build();
+    }
+
+    /**
+     * Checks if the response is a 304 Not Modified. The (empty) entity of such a response is consumed.
+     *
+     * @param response http response
+     * @return true if not modified
+     */
+    public boolean isNotModified(HttpResponse response) {
+        if (response.getStatusLine().getStatusCode() == HttpStatus.SC_NOT_MODIFIED) {
+            EntityUtils.consumeQuietly(response.getEntity());
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks if the content hash equals the hash of the last download persisted by this instance and the stored
+     * data was not changed since, e.g. by another instance.
+     *
+     * @param pipeline          pipeline name
+     * @param contentHash       content hash of the current download
+     * @param storedContentHash hash of the currently stored data
+     * @return true if the content was already persisted and is still stored
+     */
+    public boolean isContentUnchanged(String pipeline, String contentHash, String storedContentHash) {
+        DownloadState state = getState(pipeline);
+        return contentHash != null && contentHash.equals(state.getContentHash())
+            && isStoredContentUnchanged(state, storedContentHash);
+    }
+
+    /**
+     * Remembers the content hash after the download was persisted.
+     *
+     * @param pipeline          pipeline name
+     * @param contentHash       content hash
+     * @param storedContentHash hash of the stored data after persisting the download
+     */
+    public void rememberContentHash(String pipeline, String contentHash, String storedContentHash) {
+        DownloadState state = getState(pipeline);
+        state.setContentHash(contentHash);
+        state.setStoredContentHash(storedContentHash);
+    }
+
+    /**
+     * Forgets the validators of the endpoints if the stored data is not the one this instance persisted last. A
+     * 304 Not Modified only means the download equals the last download of this instance, which is not current
+     * anymore if another instance persisted a different download since.
+     *
+     * @param pipeline          pipeline name
+     * @param storedContentHash hash of the currently stored data
+     * @param endpoints         endpoints of the pipeline
+     */
+    public void resetValidatorsIfStoredContentChanged(String pipeline, String storedContentHash,
+                                                      String... endpoints) {
+        if (!isStoredContentUnchanged(getState(pipeline), storedContentHash)) {
+            for (String endpoint : endpoints) {
+                resetValidators(endpoint);
+            }
+        }
+    }
+
+    /**
+     * Calculates an order independent SHA-256 hash over the given content parts.
+     *
+     * @param parts content parts, e.g. item hashes
+     * @return hex encoded hash or null if it can not be calculated
+     */
+    public String calculateContentHash(Stream<String> parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            parts.sorted().forEach(part -> {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update(SEPARATOR);
+            });
+            return Hex.toHexString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            log.error("Failed to calculate download content hash.", e);
+            return null;
+        }
+    }
+
+    private boolean isStoredContentUnchanged(DownloadState state, String storedContentHash) {
+        return storedContentHash != null && storedContentHash.equals(state.getStoredContentHash());
+    }
+
+    private String headerValue(HttpResponse response, String name) {
+        Header header = response.getFirstHeader(name);
+        return header == null ? null : header.getValue();
+    }
+}
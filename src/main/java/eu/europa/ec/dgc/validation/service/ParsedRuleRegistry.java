@@ -0,0 +1,143 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.source.remote.rules.RuleRemote;
+import dgca.verifier.app.engine.data.source.remote.rules.RuleRemoteMapperKt;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Process wide registry of parsed business rules keyed by rule hash. Rules are parsed once when they are
+ * synchronized, so loading rules for a validation does not need to parse json again. The logic of a rule is
+ * compiled when the rule is registered. Hashes of rules which can not be parsed are remembered, so they are not
+ * parsed again until they are removed with {@link #retain(Collection)}.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ParsedRuleRegistry {
+
+    private final ObjectMapper objectMapper;
+
+    private final CompiledJsonLogicValidator compiledJsonLogicValidator;
+
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+
+    private final Set<String> rejected = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Parses the raw json of a business rule.
+     *
+     * @param rawData raw rule json
+     * @return parsed rule
+     * @throws DccException if the rule is invalid
+     */
+    public Rule parse(String rawData) {
+        try {
+            RuleRemote ruleRemote = objectMapper.readValue(rawData, RuleRemote.class);
+            return RuleRemoteMapperKt.toRule(ruleRemote);
+        } catch (JsonProcessingException | RuntimeException e) {
+            throw new DccException("can not parse rule", e);
+        }
+    }
+
+    /**
+     * Gets a parsed rule.
+     *
+     * @param hash rule hash
+     * @return rule or null if not registered
+     */
+    public Rule get(String hash) {
+        return rules.get(hash);
+    }
+
+    /**
+     * Checks whether a rule was rejected because it can not be parsed.
+     *
+     * @param hash rule hash
+     * @return true if the rule was rejected
+     */
+    public boolean isRejected(String hash) {
+        return rejected.contains(hash);
+    }
+
+    /**
+     * Gets a parsed rule and parses and registers it if not registered yet.
+     *
+     * @param hash    rule hash
+     * @param rawData raw rule json
+     * @return parsed rule
+     * @throws DccException if the rule is invalid
+     */
+    public Rule getOrParse(String hash, String rawData) {
+        Rule rule = rules.get(hash);
+        if (rule == null) {
+            try {
+                rule = parse(rawData);
+            } catch (DccException e) {
+                rejected.add(hash);
+                throw e;
+            }
+            compiledJsonLogicValidator.compile(rule.getLogic());
+            rules.put(hash, rule);
+        }
+        return rule;
+    }
+
+    /**
+     * Gets parsed rules and parses and registers the rules which are not registered yet. The logic of all new rules
+     * is compiled in one batch. Rules which can not be parsed are rejected and left out of the result.
+     *
+     * @param rawDataByHash raw rule json by rule hash
+     * @return parsed rules by rule hash
+     */
+    public Map<String, Rule> getOrParseAll(Map<String, String> rawDataByHash) {
+        Map<String, Rule> result = new HashMap<>();
+        Map<String, Rule> parsed = new HashMap<>();
+        for (Map.Entry<String, String> entry : rawDataByHash.entrySet()) {
+            Rule rule = rules.get(entry.getKey());
+            if (rule != null) {
+                result.put(entry.getKey(), rule);
+            } else if (!rejected.contains(entry.getKey())) {
+                try {
+                    parsed.put(entry.getKey(), parse(entry.getValue()));
+                } catch (DccException e) {
+                    log.debug("rule {} can not be parsed", entry.getKey(), e.getCause());
+                    rejected.add(entry.getKey());
+                }
+            }
+        }
+        compiledJsonLogicValidator.compileAll(
+            parsed.values().stream().map(Rule::getLogic).collect(Collectors.toList()));
+        rules.putAll(parsed);
+        result.putAll(parsed);
+        return result;
+    }
+
+    /**
+     * Removes all rules and rejected hashes not contained in the given hashes.
+     *
+     * @param hashes hashes of current rules
+     */
+    public void retain(Collection<String> hashes) {
+        Set<String> current = new HashSet<>(hashes);
+        rules.keySet().retainAll(current);
+        rejected.retainAll(current);
+        compiledJsonLogicValidator.retain(rules.values().stream().map(Rule::getLogic).collect(Collectors.toList()));
+    }
+
+    public int size() {
+        return rules.size();
+    }
+}
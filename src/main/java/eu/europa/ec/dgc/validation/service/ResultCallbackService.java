@@ -7,9 +7,10 @@ import java.net.URL;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +21,14 @@ import org.springframework.stereotype.Component;
 @Component
 public class ResultCallbackService {
     private final HttpClient client = HttpClient.newHttpClient();
-    private final ExecutorService executor = Executors.newFixedThreadPool(5);
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(5, 5, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>());
+    private final ValidationMetrics validationMetrics;
+
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerExecutor("callback", executor);
+    }
 
     /**
      * schedule callback.
@@ -0,0 +1,264 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.BooleanNode;
+import com.fasterxml.jackson.databind.node.IntNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import java.util.Map;
+
+/**
+ * Logic of a business rule compiled to a tree of expressions, so the JsonLogic tree is not interpreted again for
+ * every validation. Var paths are split and array indices are parsed at compile time.
+ *
+ * <p>Only the CertLogic operations var, if, and, !, ===, in, + and the integer comparisons are compiled. Rules
+ * using other operations (date operations, reduce, extractFromUVCI) can not be compiled and stay with the CertLogic
+ * engine. A compiled rule only decides if the evaluation ends with a boolean on the well defined path of these
+ * operations, every other case (operands of unexpected type, values neither truthy nor falsy) is left undecided and
+ * evaluated by the CertLogic engine, so errors are reported the same way as without compilation.</p>
+ */
+final class RuleProgram {
+
+    private static final UndecidedException UNDECIDED = new UndecidedException();
+
+    private final Expression expression;
+
+    private RuleProgram(Expression expression) {
+        this.expression = expression;
+    }
+
+    /**
+     * Compiles the logic of a rule.
+     *
+     * @param logic rule logic
+     * @return compiled program or null if the logic uses operations which are not compiled
+     */
+    static RuleProgram compile(JsonNode logic) {
+        try {
+            return new RuleProgram(compileExpression(logic));
+        } catch (NotCompilableException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates the program.
+     *
+     * @param data rule data (payload and external parameters)
+     * @return result of the rule or null if the program can not decide
+     */
+    Boolean evaluate(JsonNode data) {
+        try {
+            JsonNode result = expression.evaluate(data);
+            return result.isBoolean() ? result.booleanValue() : null;
+        } catch (UndecidedException e) {
+            return null;
+        }
+    }
+
+    private static Expression compileExpression(JsonNode node) throws NotCompilableException {
+        if (node.isObject()) {
+            if (node.size() != 1) {
+                throw new NotCompilableException();
+            }
+            Map.Entry<String, JsonNode> operation = node.fields().next();
+            return compileOperation(operation.getKey(), operation.getValue());
+        } else if (node.isArray()) {
+            Expression[] elements = compileOperands(node, 0, Integer.MAX_VALUE);
+            return data -> {
+                ArrayNode array = JsonNodeFactory.instance.arrayNode(elements.length);
+                for (Expression element : elements) {
+                    array.add(element.evaluate(data));
+                }
+                return array;
+            };
+        } else if (node.isTextual() || node.isBoolean() || node.isNull() || node.isInt()) {
+            return data -> node;
+        }
+        throw new NotCompilableException();
+    }
+
+    private static Expression compileOperation(String operator, JsonNode operands) throws NotCompilableException {
+        switch (operator) {
+            case "var":
+                return compileVar(operands);
+            case "if":
+                return compileIf(compileOperands(operands, 3, 3));
+            case "and":
+                return compileAnd(compileOperands(operands, 2, Integer.MAX_VALUE));
+            case "!":
+                return compileNot(compileOperands(operands, 1, 1));
+            case "===":
+                return compileEquals(compileOperands(operands, 2, 2));
+            case "in":
+                return compileIn(compileOperands(operands, 2, 2));
+            case "+":
+                return compilePlus(compileOperands(operands, 2, 2));
+            case "<":
+                return compileComparison(compileOperands(operands, 2, 3), false, false);
+            case "<=":
+                return compileComparison(compileOperands(operands, 2, 3), false, true);
+            case ">":
+                return compileComparison(compileOperands(operands, 2, 3), true, false);
+            case ">=":
+                return compileComparison(compileOperands(operands, 2, 3), true, true);
+            default:
+                throw new NotCompilableException();
+        }
+    }
+
+    private static Expression[] compileOperands(JsonNode operands, int min, int max) throws NotCompilableException {
+        if (!operands.isArray() || operands.size() < min || operands.size() > max) {
+            throw new NotCompilableException();
+        }
+        Expression[] expressions = new Expression[operands.size()];
+        for (int i = 0; i < expressions.length; i++) {
+            expressions[i] = compileExpression(operands.get(i));
+        }
+        return expressions;
+    }
+
+    private static Expression compileVar(JsonNode path) throws NotCompilableException {
+        if (!path.isTextual()) {
+            throw new NotCompilableException();
+        }
+        if (path.textValue().isEmpty()) {
+            return data -> data;
+        }
+        String[] fragments = path.textValue().split("\\.", -1);
+        int[] indices = new int[fragments.length];
+        for (int i = 0; i < fragments.length; i++) {
+            try {
+                indices[i] = Integer.parseInt(fragments[i], 10);
+            } catch (NumberFormatException e) {
+                indices[i] = -1;
+            }
+        }
+        return data -> {
+            JsonNode current = data;
+            for (int i = 0; i < fragments.length && !current.isNull(); i++) {
+                JsonNode next;
+                if (indices[i] >= 0) {
+                    next = current.isArray() ? current.get(indices[i]) : null;
+                } else {
+                    next = current.get(fragments[i]);
+                }
+                current = next != null ? next : NullNode.getInstance();
+            }
+            return current;
+        };
+    }
+
+    private static Expression compileIf(Expression[] operands) {
+        return data -> truthy(operands[0].evaluate(data))
+            ? operands[1].evaluate(data) : operands[2].evaluate(data);
+    }
+
+    private static Expression compileAnd(Expression[] operands) {
+        return data -> {
+            JsonNode value = null;
+            for (Expression operand : operands) {
+                value = operand.evaluate(data);
+                if (!truthy(value)) {
+                    return value;
+                }
+            }
+            return value;
+        };
+    }
+
+    private static Expression compileNot(Expression[] operands) {
+        return data -> BooleanNode.valueOf(!truthy(operands[0].evaluate(data)));
+    }
+
+    private static Expression compileEquals(Expression[] operands) {
+        return data -> BooleanNode.valueOf(
+            scalar(operands[0].evaluate(data)).equals(scalar(operands[1].evaluate(data))));
+    }
+
+    private static Expression compilePlus(Expression[] operands) {
+        return data -> IntNode.valueOf(integer(operands[0].evaluate(data)) + integer(operands[1].evaluate(data)));
+    }
+
+    private static Expression compileIn(Expression[] operands) {
+        return data -> {
+            JsonNode value = scalar(operands[0].evaluate(data));
+            JsonNode array = operands[1].evaluate(data);
+            if (!array.isArray()) {
+                throw UNDECIDED;
+            }
+            for (JsonNode element : array) {
+                if (value.equals(element)) {
+                    return BooleanNode.TRUE;
+                }
+            }
+            return BooleanNode.FALSE;
+        };
+    }
+
+    private static Expression compileComparison(Expression[] operands, boolean greater, boolean orEqual) {
+        return data -> {
+            // CertLogic evaluates and type checks every operand before comparing, so a later operand which is not
+            // an integer makes the rule undecided even if an earlier pair already fails
+            int[] values = new int[operands.length];
+            for (int i = 0; i < operands.length; i++) {
+                values[i] = integer(operands[i].evaluate(data));
+            }
+            for (int i = 1; i < values.length; i++) {
+                int comparison = Integer.compare(values[i - 1], values[i]);
+                boolean result = greater ? comparison > 0 : comparison < 0;
+                if (!result && !(orEqual && comparison == 0)) {
+                    return BooleanNode.FALSE;
+                }
+            }
+            return BooleanNode.TRUE;
+        };
+    }
+
+    /**
+     * Truthiness as defined by CertLogic: values which are neither truthy nor falsy are left to the engine.
+     */
+    private static boolean truthy(JsonNode value) {
+        if (value.isBoolean()) {
+            return value.booleanValue();
+        } else if (value.isNull()) {
+            return false;
+        } else if (value.isTextual()) {
+            return !value.textValue().isEmpty();
+        } else if (value.isInt()) {
+            return value.intValue() != 0;
+        } else if (value.isArray() || value.isObject()) {
+            return value.size() > 0;
+        }
+        throw UNDECIDED;
+    }
+
+    private static JsonNode scalar(JsonNode value) {
+        if (value.isTextual() || value.isInt() || value.isBoolean() || value.isNull()) {
+            return value;
+        }
+        throw UNDECIDED;
+    }
+
+    private static int integer(JsonNode value) {
+        if (value.isInt()) {
+            return value.intValue();
+        }
+        throw UNDECIDED;
+    }
+
+    @FunctionalInterface
+    private interface Expression {
+        JsonNode evaluate(JsonNode data);
+    }
+
+    private static class NotCompilableException extends Exception {
+    }
+
+    private static class UndecidedException extends RuntimeException {
+        UndecidedException() {
+            super("rule can not be decided by the compiled program", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dgca.verifier.app.engine.ValidationResult;
+import dgca.verifier.app.engine.data.CertificateType;
+import dgca.verifier.app.engine.data.ExternalParameter;
+import dgca.verifier.app.engine.data.Rule;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of rule engine results. The result of the rule engine only depends on the rules, the hcert and the
+ * external parameters, so a dcc validated again for the same destination does not need another rule evaluation.
+ * Results are keyed by the selected rules, the value set version, a digest of the hcert json and the external
+ * parameters. The cache is cleared when the value set version changes.
+ *
+ * <p>A provider may publish changed logic under an unchanged rule version, so a rule is not identified by its
+ * version but by the parsed {@link Rule} instance: the {@link ParsedRuleRegistry} parses every rule hash once, so
+ * changed logic is another instance and gets another id. Ids are never reused.</p>
+ *
+ * <p>The validation clock is only part of the key if one of the rules reads it. It is not truncated: dates of the
+ * hcert like the sample collection of a test have a time, so any precision of the clock can change the result.</p>
+ */
+@Component
+public class RuleResultCache {
+
+    private static final String VALIDATION_CLOCK = "external.validationClock";
+
+    private static final int MAX_RULE_SETS = 1000;
+
+    private static final int MAX_RULES = 10000;
+
+    private final ValidationMetrics validationMetrics;
+
+    private final boolean enabled;
+
+    private final Map<String, List<ValidationResult>> results;
+
+    /**
+     * Whether the rules of a rule set key read the validation clock.
+     */
+    private final Map<String, Boolean> clockReferences = new ConcurrentHashMap<>();
+
+    /**
+     * Id of each rule instance seen in a key, guarded by itself.
+     */
+    private final Map<Rule, Long> ruleIds = new IdentityHashMap<>();
+
+    private long nextRuleId;
+
+    private long valueSetVersion;
+
+    /**
+     * Creates the cache.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public RuleResultCache(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+        this.enabled = dgcConfigProperties.getRuleResultCache().isEnabled();
+        int maxEntries = dgcConfigProperties.getRuleResultCache().getMaxEntries();
+        this.results = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<ValidationResult>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerCacheSize(ValidationMetrics.Cache.RULE_RESULTS, this, RuleResultCache::size);
+    }
+
+    /**
+     * Calculates the cache key of a rule evaluation.
+     *
+     * @param rules             selected rules
+     * @param certificateType   certificate type
+     * @param schemaVersion     schema version of the hcert
+     * @param externalParameter external parameters
+     * @param hcertJson         hcert json
+     * @return key or null if the cache is disabled
+     */
+    public String key(List<Rule> rules, CertificateType certificateType, String schemaVersion,
+                      ExternalParameter externalParameter, String hcertJson) {
+        if (!enabled) {
+            return null;
+        }
+        StringBuilder ruleSetKey = new StringBuilder();
+        synchronized (ruleIds) {
+            if (ruleIds.size() + rules.size() > MAX_RULES) {
+                ruleIds.clear();
+            }
+            for (Rule rule : rules) {
+                ruleSetKey.append(rule.getIdentifier()).append('#')
+                    .append(ruleIds.computeIfAbsent(rule, r -> nextRuleId++)).append(',');
+            }
+        }
+        StringBuilder key = new StringBuilder(ruleSetKey);
+        key.append('|').append(certificateType).append('|').append(schemaVersion)
+            .append('|').append(externalParameter.getCountryCode())
+            .append('|').append(externalParameter.getRegion())
+            .append('|').append(externalParameter.getIssuerCountryCode())
+            .append('|').append(externalParameter.getKid())
+            .append('|').append(externalParameter.getExp())
+            .append('|').append(externalParameter.getIat());
+        if (referencesClock(ruleSetKey.toString(), rules)) {
+            key.append('|').append(externalParameter.getValidationClock());
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            key.append('|').append(Base64.getEncoder()
+                .encodeToString(digest.digest(hcertJson.getBytes(StandardCharsets.UTF_8))));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DccException("hash calculation", e);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Gets the results of a previous evaluation.
+     *
+     * @param key             key of the evaluation, may be null
+     * @param valueSetVersion version of the value sets the rules are evaluated with
+     * @return results or null if not cached
+     */
+    public List<ValidationResult> get(String key, long valueSetVersion) {
+        if (key == null) {
+            return null;
+        }
+        List<ValidationResult> cached;
+        synchronized (this) {
+            checkValueSetVersion(valueSetVersion);
+            cached = valueSetVersion == this.valueSetVersion ? results.get(key) : null;
+        }
+        if (cached == null) {
+            validationMetrics.cacheMiss(ValidationMetrics.Cache.RULE_RESULTS);
+        } else {
+            validationMetrics.cacheHit(ValidationMetrics.Cache.RULE_RESULTS);
+        }
+        return cached;
+    }
+
+    /**
+     * Caches the results of an evaluation.
+     *
+     * @param key             key of the evaluation, may be null
+     * @param valueSetVersion version of the value sets the rules were evaluated with
+     * @param ruleResults     results of the rule engine
+     */
+    public void put(String key, long valueSetVersion, List<ValidationResult> ruleResults) {
+        if (key == null) {
+            return;
+        }
+        synchronized (this) {
+            checkValueSetVersion(valueSetVersion);
+            if (valueSetVersion == this.valueSetVersion) {
+                results.put(key, List.copyOf(ruleResults));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    private void checkValueSetVersion(long valueSetVersion) {
+        if (valueSetVersion > this.valueSetVersion) {
+            results.clear();
+            this.valueSetVersion = valueSetVersion;
+        }
+    }
+
+    private boolean referencesClock(String ruleSetKey, List<Rule> rules) {
+        Boolean referenced = clockReferences.get(ruleSetKey);
+        if (referenced == null) {
+            referenced = rules.stream().anyMatch(rule -> referencesClock(rule.getLogic()));
+            if (clockReferences.size() >= MAX_RULE_SETS) {
+                clockReferences.clear();
+            }
+            clockReferences.put(ruleSetKey, referenced);
+        }
+        return referenced;
+    }
+
+    /**
+     * Checks if the logic reads the validation clock. A var whose path is computed may read anything.
+     */
+    private static boolean referencesClock(JsonNode logic) {
+        if (logic.isObject()) {
+            JsonNode path = logic.get("var");
+            if (path != null) {
+                if (!path.isTextual()) {
+                    return true;
+                }
+                String text = path.textValue();
+                return text.isEmpty() || text.equals("external") || text.startsWith(VALIDATION_CLOCK);
+            }
+        }
+        for (Iterator<JsonNode> it = logic.elements(); it.hasNext(); ) {
+            if (referencesClock(it.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
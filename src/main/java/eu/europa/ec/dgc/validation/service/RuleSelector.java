@@ -0,0 +1,111 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.Type;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import kotlin.Triple;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Selects the business rules to evaluate for a certificate: acceptance rules of the country of arrival and
+ * invalidation rules of the issuing country, which match the certificate type and are valid at the validation
+ * clock. Of several versions of a rule only the latest one is kept.
+ */
+@Slf4j
+public final class RuleSelector {
+
+    private RuleSelector() {
+    }
+
+    /**
+     * Selects the rules to evaluate.
+     *
+     * @param rules            rules provided for country of arrival and issuing country
+     * @param certificateType  certificate type of the dcc
+     * @param validationClock  validation clock
+     * @param countryOfArrival country of arrival
+     * @param regionOfArrival  region of arrival or null
+     * @param issuingCountry   issuing country of the dcc
+     * @return matching rules in the order provided
+     */
+    public static List<Rule> select(List<Rule> rules, String certificateType, ZonedDateTime validationClock,
+                                    String countryOfArrival, String regionOfArrival, String issuingCountry) {
+        List<Rule> selected = new ArrayList<>();
+        for (Rule rule : rules) {
+            if (log.isDebugEnabled()) {
+                log.debug(String.format("Identifier: %s,Type: %s , Country: %s, CertType: %s",
+                    rule.getIdentifier(), rule.getType(), rule.getCountryCode(), rule.getRuleCertificateType()));
+            }
+            if (matches(rule, certificateType, validationClock, countryOfArrival, regionOfArrival, issuingCountry)) {
+                selected.add(rule);
+            }
+        }
+
+        Map<String, Triple<Integer, Integer, Integer>> identifierVersions = new HashMap<>();
+        Map<String, Rule> ruleVersions = new HashMap<>();
+        List<Rule> outdated = new ArrayList<>();
+        for (Rule rule : selected) {
+            Triple<Integer, Integer, Integer> currVersion = toVersion(rule.getVersion());
+            Triple<Integer, Integer, Integer> prevVersion = identifierVersions.get(rule.getIdentifier());
+            if (prevVersion == null) {
+                identifierVersions.put(rule.getIdentifier(), currVersion);
+                ruleVersions.put(rule.getIdentifier(), rule);
+            } else if (currVersion != null) {
+                int compared = compareVersions(currVersion, prevVersion);
+                if (compared < 0) {
+                    outdated.add(rule);
+                } else if (compared > 0) {
+                    outdated.add(ruleVersions.put(rule.getIdentifier(), rule));
+                    identifierVersions.put(rule.getIdentifier(), currVersion);
+                }
+            }
+        }
+
+        selected.removeAll(outdated);
+        return selected;
+    }
+
+    private static boolean matches(Rule rule, String certificateType, ZonedDateTime validationClock,
+                                   String countryOfArrival, String regionOfArrival, String issuingCountry) {
+        boolean typeAndClock = (rule.getRuleCertificateType().toString().equalsIgnoreCase(certificateType)
+            || rule.getRuleCertificateType().toString().equals("General"))
+            && !rule.getValidFrom().isAfter(validationClock);
+        if (!typeAndClock) {
+            return false;
+        }
+        if (rule.getType() == Type.ACCEPTANCE) {
+            return rule.getCountryCode().equalsIgnoreCase(countryOfArrival)
+                && (rule.getRegion() == null || rule.getRegion().equalsIgnoreCase(regionOfArrival));
+        }
+        return rule.getType() == Type.INVALIDATION && rule.getCountryCode().equalsIgnoreCase(issuingCountry);
+    }
+
+    private static int compareVersions(Triple<Integer, Integer, Integer> version,
+                                       Triple<Integer, Integer, Integer> other) {
+        int compared = version.component1().compareTo(other.component1());
+        if (compared == 0) {
+            compared = version.component2().compareTo(other.component2());
+        }
+        if (compared == 0) {
+            compared = version.component3().compareTo(other.component3());
+        }
+        return compared;
+    }
+
+    /**
+     * Tries to convert String into a version based on pattern majorVersion.minorVersion.patchVersion.
+     */
+    private static Triple<Integer, Integer, Integer> toVersion(String s) {
+        try {
+            String[] versionPieces = s.split("\\.");
+            return new Triple<>(Integer.valueOf(versionPieces[0]), Integer.valueOf(versionPieces[1]),
+                Integer.valueOf(versionPieces[2]));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import dgca.verifier.app.engine.data.Rule;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Evaluation time of the business rules of one validation. The time is taken around each
+ * {@link CompiledJsonLogicValidator#isDataValid(JsonNode, JsonNode)} call while the timings are bound to the
+ * evaluating thread, so rules are evaluated exactly as without timing. Only the logic node and the duration are
+ * kept per rule, the rule identifiers are resolved when the timings are read for a slow validation.
+ *
+ * <p>An instance is written by the single thread evaluating the rules and read after the evaluation finished.</p>
+ */
+final class RuleTimings {
+
+    private static final ThreadLocal<RuleTimings> CURRENT = new ThreadLocal<>();
+
+    private static final JsonNode[] NO_LOGICS = new JsonNode[0];
+
+    private static final long[] NO_NANOS = new long[0];
+
+    private List<Rule> rules = Collections.emptyList();
+
+    private JsonNode[] logics = NO_LOGICS;
+
+    private long[] nanos = NO_NANOS;
+
+    private int size;
+
+    /**
+     * Gets the timings bound to the current thread.
+     *
+     * @return timings or null if rules evaluated by the current thread are not timed
+     */
+    static RuleTimings current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the timings to the current thread until {@link #end()} is called.
+     *
+     * @param rules rules which are evaluated
+     */
+    void begin(List<Rule> rules) {
+        this.rules = rules;
+        CURRENT.set(this);
+    }
+
+    void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Records the evaluation time of a rule logic.
+     *
+     * @param logic logic node of the rule
+     * @param nanos evaluation time in nanoseconds
+     */
+    void record(JsonNode logic, long nanos) {
+        if (size == logics.length) {
+            int capacity = Math.max(8, size * 2);
+            logics = Arrays.copyOf(logics, capacity);
+            this.nanos = Arrays.copyOf(this.nanos, capacity);
+        }
+        logics[size] = logic;
+        this.nanos[size] = nanos;
+        size++;
+    }
+
+    /**
+     * Sums the recorded evaluation times per rule identifier.
+     *
+     * @return evaluation time in nanoseconds by rule identifier, in evaluation order
+     */
+    Map<String, Long> getNanosByIdentifier() {
+        Map<JsonNode, String> identifiers = new IdentityHashMap<>();
+        for (Rule rule : rules) {
+            identifiers.put(rule.getLogic(), rule.getIdentifier());
+        }
+        Map<String, Long> nanosByIdentifier = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String identifier = identifiers.get(logics[i]);
+            if (identifier != null) {
+                nanosByIdentifier.merge(identifier, nanos[i], Long::sum);
+            }
+        }
+        return nanosByIdentifier;
+    }
+}
@@ -0,0 +1,152 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.cert.Certificate;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.PostConstruct;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache of cose signature verification outcomes keyed by kid, digest of the cose and trust list version, so a
+ * dcc verified again does not need another ECDSA or RSA verification. The cache is cleared when the trust list
+ * version changes. As the trust list may also be updated by another instance, an outcome is only used if the
+ * certificates found for the kid are still the ones it was verified against.
+ *
+ * <p>Only the outcome is cached, checks of the certificate against the validation clock are done by the
+ * caller for every request.</p>
+ */
+@Component
+public class SignatureVerificationCache {
+
+    private final ValidationMetrics validationMetrics;
+
+    private final boolean enabled;
+
+    private final Map<String, Outcome> outcomes;
+
+    private long trustListVersion;
+
+    /**
+     * Creates the cache.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public SignatureVerificationCache(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+        this.enabled = dgcConfigProperties.getSignatureCache().isEnabled();
+        int maxEntries = dgcConfigProperties.getSignatureCache().getMaxEntries();
+        this.outcomes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Outcome> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerCacheSize(ValidationMetrics.Cache.SIGNATURE, this, SignatureVerificationCache::size);
+    }
+
+    /**
+     * Calculates the cache key of a signature verification.
+     *
+     * @param kid  kid of the dcc, base64 encoded
+     * @param cose cose of the dcc
+     * @return key or null if the cache is disabled
+     */
+    public String key(String kid, byte[] cose) {
+        if (!enabled) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return kid + ':' + Base64.getEncoder().encodeToString(digest.digest(cose));
+        } catch (NoSuchAlgorithmException e) {
+            throw new DccException("hash calculation", e);
+        }
+    }
+
+    /**
+     * Gets the outcome of a previous verification.
+     *
+     * @param key              key of the verification, may be null
+     * @param trustListVersion current trust list version
+     * @param certificates     certificates currently registered for the kid
+     * @return outcome or null if not cached or verified against other certificates
+     */
+    public Outcome get(String key, long trustListVersion, List<Certificate> certificates) {
+        if (key == null) {
+            return null;
+        }
+        Outcome outcome;
+        synchronized (this) {
+            checkTrustListVersion(trustListVersion);
+            outcome = outcomes.get(key);
+        }
+        if (outcome == null || !outcome.certificates.equals(certificates)) {
+            validationMetrics.cacheMiss(ValidationMetrics.Cache.SIGNATURE);
+            return null;
+        }
+        validationMetrics.cacheHit(ValidationMetrics.Cache.SIGNATURE);
+        return outcome;
+    }
+
+    /**
+     * Caches the outcome of a verification.
+     *
+     * @param key                 key of the verification, may be null
+     * @param trustListVersion    trust list version the certificates were read with
+     * @param certificates        certificates registered for the kid
+     * @param verifiedCertificate certificate which verified the signature or null if none did
+     */
+    public void put(String key, long trustListVersion, List<Certificate> certificates,
+                    Certificate verifiedCertificate) {
+        if (key == null) {
+            return;
+        }
+        synchronized (this) {
+            checkTrustListVersion(trustListVersion);
+            if (trustListVersion == this.trustListVersion) {
+                outcomes.put(key, new Outcome(List.copyOf(certificates), verifiedCertificate));
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return outcomes.size();
+    }
+
+    private void checkTrustListVersion(long trustListVersion) {
+        if (trustListVersion > this.trustListVersion) {
+            outcomes.clear();
+            this.trustListVersion = trustListVersion;
+        }
+    }
+
+    @Getter
+    public static final class Outcome {
+        private final List<Certificate> certificates;
+        /**
+         * Certificate which verified the signature, null if the signature is invalid.
+         */
+        private final Certificate verifiedCertificate;
+
+        private Outcome(List<Certificate> certificates, Certificate verifiedCertificate) {
+            this.certificates = certificates;
+            this.verifiedCertificate = verifiedCertificate;
+        }
+
+        public boolean isVerified() {
+            return verifiedCertificate != null;
+        }
+    }
+}
@@ -23,7 +23,6 @@ package eu.europa.ec.dgc.validation.service;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.TypeAdapter;
-import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
 import com.google.gson.stream.JsonWriter;
 import com.sap.cloud.sdk.cloudplatform.connectivity.DestinationAccessor;
@@ -31,15 +30,18 @@ import com.sap.cloud.sdk.cloudplatform.connectivity.HttpClientAccessor;
 import com.sap.cloud.sdk.cloudplatform.connectivity.HttpDestination;
 import eu.europa.ec.dgc.gateway.connector.dto.TrustListItemDto;
 import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
+import io.micrometer.core.annotation.Timed;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.security.Security;
 import java.security.cert.CertificateException;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.List;
-import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,7 +49,6 @@ import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
 import org.bouncycastle.cert.CertException;
 import org.bouncycastle.cert.X509CertificateHolder;
@@ -75,15 +76,38 @@ public class SignerCertificateDownloadServiceBtpImpl implements SignerCertificat
     private static final String DGCG_DESTINATION = "dgcg-destination";
     private static final String DGCG_TRUST_LIST_CSCA_ENDPOINT = "/trustList/CSCA";
     private static final String DGCG_TRUST_LIST_DSC_ENDPOINT = "/trustList/DSC";
+    private static final String CONTENT_KEY = "btp:certificates";
+
+    private static final Gson GSON = new GsonBuilder()
+        .registerTypeAdapter(ZonedDateTime.class, new TypeAdapter<ZonedDateTime>() {
+            @Override
+            public void write(JsonWriter out, ZonedDateTime value) throws IOException {
+                out.value(value.toString());
+            }
+
+            @Override
+            public ZonedDateTime read(JsonReader in) throws IOException {
+                return ZonedDateTime.parse(in.nextString());
+            }
+        })
+        .enableComplexMapKeySerialization()
+        .create();
 
     private final SignerInformationService signerInformationService;
 
+    private final DownloadStateService downloadStateService;
+
+    private final ValidationMetrics validationMetrics;
+
+    private List<X509CertificateHolder> cscas = Collections.emptyList();
+
     @PostConstruct
     private void init() {
         Security.addProvider(new BouncyCastleProvider());
     }
 
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_CERTIFICATES})
     @Scheduled(fixedDelayString = "${dgc.certificatesDownloader.timeInterval}")
     @SchedulerLock(name = "SignerCertificateDownloadService_downloadCertificates", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.certificatesDownloader.lockLimit}")
@@ -91,71 +115,133 @@ public class SignerCertificateDownloadServiceBtpImpl implements SignerCertificat
         HttpDestination httpDestination = DestinationAccessor.getDestination(DGCG_DESTINATION).asHttp();
         HttpClient httpClient = HttpClientAccessor.getHttpClient(httpDestination);
 
-        List<X509CertificateHolder> cscas = downloadCsca(httpClient);
-        List<TrustListItem> dscs = downloadDsc(httpClient, cscas);
+        // a not modified DSC list is only skipped while the stored trust list is the one this instance persisted
+        downloadStateService.resetValidatorsIfStoredContentChanged(CONTENT_KEY, storedContentHash(),
+            DGCG_TRUST_LIST_DSC_ENDPOINT);
+        boolean cscaModified = downloadCsca(httpClient);
+        List<TrustListItem> dscs = downloadDsc(httpClient, cscaModified);
 
-        signerInformationService.updateTrustedCertsList(dscs);
+        if (dscs == null) {
+            log.info("Trust list not modified since last download. No data will be changed.");
+            return;
+        }
+
+        if (dscs.isEmpty()) {
+            log.warn("The download of the certificates seems to fail, as the download returns an empty list. "
+                + "No data will be changed.");
+            downloadStateService.resetValidators(DGCG_TRUST_LIST_DSC_ENDPOINT);
+            return;
+        }
+
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_CERTIFICATES, dscs.size());
+        String contentHash = downloadStateService.calculateContentHash(
+            dscs.stream().map(dsc -> dsc.getKid() + ":" + dsc.getRawData()));
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash())) {
+            log.info("Trust list content is unchanged since last download. No data will be changed.");
+            return;
+        }
+
+        try {
+            signerInformationService.updateTrustedCertsList(dscs);
+        } catch (RuntimeException e) {
+            downloadStateService.resetValidators(DGCG_TRUST_LIST_CSCA_ENDPOINT);
+            downloadStateService.resetValidators(DGCG_TRUST_LIST_DSC_ENDPOINT);
+            throw e;
+        }
+        downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
     }
 
-    private List<X509CertificateHolder> downloadCsca(HttpClient httpClient) {
+    /**
+     * Downloads the CSCAs, the previous list is kept if the gateway responds with 304.
+     *
+     * @return true if the CSCA list was (re)loaded
+     */
+    private boolean downloadCsca(HttpClient httpClient) {
         List<X509CertificateHolder> listOfCsca = new ArrayList<>();
 
         try {
-            log.debug("DSC Certificate download started.");
-            HttpResponse response = httpClient.execute(RequestBuilder.get(DGCG_TRUST_LIST_CSCA_ENDPOINT).build());
-            List<TrustListItemDto> trustListItems = gson().fromJson(toJsonString(response.getEntity()),
-                new TypeToken<List<TrustListItemDto>>() {
-                }.getType());
-
-            listOfCsca = trustListItems.stream().map(this::getCertificateFromTrustListItem)
-                .filter(Objects::nonNull).collect(Collectors.toList());
-            log.debug("Downloaded " + listOfCsca.size() + " DSCs");
-        } catch (IOException e) {
+            log.debug("CSCA Certificate download started.");
+            HttpResponse response = httpClient.execute(
+                downloadStateService.conditionalGet(DGCG_TRUST_LIST_CSCA_ENDPOINT));
+            if (downloadStateService.isNotModified(response)) {
+                log.debug("CSCAs not modified since last download.");
+                return false;
+            }
+
+            readTrustList(response.getEntity(), trustListItem -> {
+                X509CertificateHolder csca = getCertificateFromTrustListItem(trustListItem);
+                if (csca != null) {
+                    listOfCsca.add(csca);
+                }
+            });
+            log.debug("Downloaded " + listOfCsca.size() + " CSCAs");
+            downloadStateService.rememberValidators(DGCG_TRUST_LIST_CSCA_ENDPOINT, response);
+        } catch (IOException | RuntimeException e) {
             log.error("Fetching signer information from gateway failed: {}", e.getMessage(), e);
+            listOfCsca.clear();
+            downloadStateService.resetValidators(DGCG_TRUST_LIST_CSCA_ENDPOINT);
         }
 
-        return listOfCsca;
+        cscas = listOfCsca;
+        return true;
     }
 
-    private List<TrustListItem> downloadDsc(HttpClient httpClient, List<X509CertificateHolder> cscas) {
+    /**
+     * Downloads the DSCs and keeps those signed by one of the CSCAs. The request is only sent conditionally
+     * if the CSCAs did not change, because otherwise the DSCs have to be verified again.
+     *
+     * @return list of DSCs or null if the DSC list was not modified
+     */
+    private List<TrustListItem> downloadDsc(HttpClient httpClient, boolean cscaModified) {
         List<TrustListItem> listOfDsc = new ArrayList<>();
 
         try {
             log.debug("DSC Certificate download started.");
-            HttpResponse response = httpClient.execute(RequestBuilder.get(DGCG_TRUST_LIST_DSC_ENDPOINT).build());
-            List<TrustListItemDto> trustListItems = gson().fromJson(toJsonString(response.getEntity()),
-                new TypeToken<List<TrustListItemDto>>() {
-                }.getType());
-
-            listOfDsc = trustListItems.stream().filter(dsc -> cscas.stream().anyMatch(
-                ca -> trustListItemSignedByCa(dsc, ca))).map(this::map).filter(Objects::nonNull)
-                .collect(Collectors.toList());
+            if (cscaModified) {
+                downloadStateService.resetValidators(DGCG_TRUST_LIST_DSC_ENDPOINT);
+            }
+            HttpResponse response = httpClient.execute(
+                downloadStateService.conditionalGet(DGCG_TRUST_LIST_DSC_ENDPOINT));
+            if (downloadStateService.isNotModified(response)) {
+                return null;
+            }
+
+            readTrustList(response.getEntity(), dsc -> {
+                if (cscas.stream().anyMatch(ca -> trustListItemSignedByCa(dsc, ca))) {
+                    listOfDsc.add(map(dsc));
+                }
+            });
             log.debug("Downloaded " + listOfDsc.size() + " DSCs");
-        } catch (IOException e) {
+            downloadStateService.rememberValidators(DGCG_TRUST_LIST_DSC_ENDPOINT, response);
+        } catch (IOException | RuntimeException e) {
             log.error("Fetching signer information from gateway failed: {}", e.getMessage(), e);
+            listOfDsc.clear();
         }
 
         return listOfDsc;
     }
 
-    private String toJsonString(HttpEntity entity) throws IOException {
-        return EntityUtils.toString(entity);
-    }
-
-    private Gson gson() {
-        return new GsonBuilder().registerTypeAdapter(ZonedDateTime.class, new TypeAdapter<ZonedDateTime>() {
-            @Override
-            public void write(JsonWriter out, ZonedDateTime value) throws IOException {
-                out.value(value.toString());
-            }
+    /**
+     * Reads a trust list json array directly from the response stream and hands over every item
+     * as soon as it is parsed, so the whole list is never held as string or dto list in memory.
+     */
+    private void readTrustList(HttpEntity entity, Consumer<TrustListItemDto> itemConsumer) throws IOException {
+        if (entity == null) {
+            throw new IOException("Trust list response has no content");
+        }
 
-            @Override
-            public ZonedDateTime read(JsonReader in) throws IOException {
-                return ZonedDateTime.parse(in.nextString());
+        try (JsonReader reader = new JsonReader(new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                TrustListItemDto trustListItem = GSON.fromJson(reader, TrustListItemDto.class);
+                if (trustListItem != null) {
+                    itemConsumer.accept(trustListItem);
+                }
             }
-        })
-            .enableComplexMapKeySerialization()
-            .create();
+            reader.endArray();
+        } finally {
+            EntityUtils.consumeQuietly(entity);
+        }
     }
 
     private X509CertificateHolder getCertificateFromTrustListItem(TrustListItemDto trustListItem) {
@@ -209,4 +295,8 @@ public class SignerCertificateDownloadServiceBtpImpl implements SignerCertificat
         }
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(signerInformationService.getListOfValidKids().stream());
+    }
+
 }
@@ -22,6 +22,7 @@ package eu.europa.ec.dgc.validation.service;
 
 import eu.europa.ec.dgc.gateway.connector.DgcGatewayDownloadConnector;
 import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -41,10 +42,15 @@ import org.springframework.stereotype.Component;
 @Profile("!btp")
 public class SignerCertificateDownloadServiceGatewayImpl implements SignerCertificateDownloadService {
 
+    private static final String CONTENT_KEY = "gateway:certificates";
+
     private final DgcGatewayDownloadConnector dgcGatewayConnector;
     private final SignerInformationService signerInformationService;
+    private final DownloadStateService downloadStateService;
+    private final ValidationMetrics validationMetrics;
 
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_CERTIFICATES})
     @Scheduled(fixedDelayString = "${dgc.certificatesDownloader.timeInterval}")
     @SchedulerLock(name = "SignerCertificateDownloadService_downloadCertificates", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.certificatesDownloader.lockLimit}")
@@ -53,16 +59,28 @@ public class SignerCertificateDownloadServiceGatewayImpl implements SignerCertif
 
         List<TrustListItem> trustedCerts = dgcGatewayConnector.getTrustedCertificates();
 
-        if (!trustedCerts.isEmpty()) {
-            signerInformationService.updateTrustedCertsList(trustedCerts);
-        } else {
+        if (trustedCerts.isEmpty()) {
             log.warn("The download of the Certificates seems to fail, as the download connector "
                 + "returns an empty list.-> No data was changed.");
+            return;
+        }
+
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_CERTIFICATES, trustedCerts.size());
+        String contentHash = downloadStateService.calculateContentHash(
+            trustedCerts.stream().map(cert -> cert.getKid() + ":" + cert.getRawData()));
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash())) {
+            log.info("Certificates are unchanged since last download.-> No data was changed.");
+            return;
         }
 
         signerInformationService.updateTrustedCertsList(trustedCerts);
+        downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
 
         log.info("Certificates download finished");
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(signerInformationService.getListOfValidKids().stream());
+    }
+
 }
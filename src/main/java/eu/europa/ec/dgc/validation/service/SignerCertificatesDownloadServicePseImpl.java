@@ -23,6 +23,7 @@ package eu.europa.ec.dgc.validation.service;
 import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
 import eu.europa.ec.dgc.validation.client.SignerCertificateRestClient;
 import feign.FeignException;
+import io.micrometer.core.annotation.Timed;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -41,10 +42,16 @@ import org.springframework.stereotype.Component;
 @Profile("pse")
 public class SignerCertificatesDownloadServicePseImpl implements SignerCertificateDownloadService {
 
+    private static final String INDEX_ENDPOINT = "pse:/signercertificateStatus";
+    private static final String CONTENT_KEY = "pse:certificates";
+
     private final SignerCertificateRestClient signerCertificateRestClient;
     private final SignerInformationService signerInformationService;
+    private final DownloadStateService downloadStateService;
+    private final ValidationMetrics validationMetrics;
 
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_CERTIFICATES})
     @Scheduled(fixedDelayString = "${dgc.certificatesDownloader.timeInterval}")
     @SchedulerLock(name = "SignerCertificateDownloadService_downloadCertificates", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.certificatesDownloader.lockLimit}")
@@ -52,9 +59,16 @@ public class SignerCertificatesDownloadServicePseImpl implements SignerCertifica
 
         ResponseEntity<List<String>> responseEntity;
 
+        String storedContentHash = storedContentHash();
+        downloadStateService.resetValidatorsIfStoredContentChanged(CONTENT_KEY, storedContentHash, INDEX_ENDPOINT);
         try {
-            responseEntity = signerCertificateRestClient.getKidList();
+            responseEntity = signerCertificateRestClient.getKidList(
+                downloadStateService.getState(INDEX_ENDPOINT).getEtag());
         } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                log.info("Kid list not modified since last download. No data will be changed.");
+                return;
+            }
             log.error("Download of kid list failed with exception. Service responded with status code: {}",
                 e.status());
             return;
@@ -69,10 +83,22 @@ public class SignerCertificatesDownloadServicePseImpl implements SignerCertifica
 
         log.info("Got Response from Service, List contains kids: {}", kidList.size());
 
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_CERTIFICATES, kidList.size());
+        String contentHash = downloadStateService.calculateContentHash(kidList.stream());
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash)) {
+            log.info("Kid list is unchanged since last download. No data will be changed.");
+            downloadStateService.rememberValidators(INDEX_ENDPOINT, responseEntity.getHeaders().getETag(), null);
+            return;
+        }
+
         List<TrustListItem> items = getTrustListItems(kidList);
 
         if (!items.isEmpty()) {
             signerInformationService.updateTrustedCertsList(items);
+            if (items.size() == kidList.size()) {
+                downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+                downloadStateService.rememberValidators(INDEX_ENDPOINT, responseEntity.getHeaders().getETag(), null);
+            }
         } else {
             log.warn("The download of the certificates seems to fail, as the download connector "
                 + "returns an empty list. No data will be changed.");
@@ -121,4 +147,8 @@ public class SignerCertificatesDownloadServicePseImpl implements SignerCertifica
         return items;
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(signerInformationService.getListOfValidKids().stream());
+    }
+
 }
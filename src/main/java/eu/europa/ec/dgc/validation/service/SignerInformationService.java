@@ -31,7 +31,9 @@ import java.security.cert.X509Certificate;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
@@ -47,6 +49,8 @@ public class SignerInformationService {
 
     private final SignerInformationRepository signerInformationRepository;
 
+    private final AtomicLong trustListVersion = new AtomicLong();
+
     @PostConstruct
     private void init() {
         X509CertUtils.setProvider(new BouncyCastleProvider());
@@ -78,22 +82,51 @@ public class SignerInformationService {
         for (SignerInformationEntity signerInformationEntity : signerInformationRepository.findAllByKid(kid)) {
             log.debug("Found certificates:" + signerInformationEntity.getKid());
 
-            X509Certificate certificate = X509CertUtils.parse(X509CertUtils.PEM_BEGIN_MARKER
-                + signerInformationEntity.getRawData()
-                + X509CertUtils.PEM_END_MARKER);
-
-            if (signerInformationEntity.getRawData().contains(X509CertUtils.PEM_BEGIN_MARKER)) {
-                certificate = X509CertUtils.parse(signerInformationEntity.getRawData());
+            X509Certificate certificate = parseCertificate(signerInformationEntity.getRawData());
+            if (certificate != null) {
+                certificates.add(certificate);
             }
+        }
+        log.debug("Found certificates:" + certificates.size());
+        return certificates;
+    }
+
+    /**
+     * Loads the raw data of all certificates with one query, so a batch can be validated against one state of
+     * the trust list.
+     *
+     * @return raw certificate data by kid
+     */
+    public Map<String, List<String>> getRawCertificatesByKid() {
+        return signerInformationRepository.findAll().stream().collect(Collectors.groupingBy(
+            SignerInformationEntity::getKid,
+            Collectors.mapping(SignerInformationEntity::getRawData, Collectors.toList())));
+    }
 
+    /**
+     * Parses raw certificate data as loaded by {@link #getRawCertificatesByKid()}.
+     *
+     * @param rawData raw certificate data
+     * @return certificates which can be parsed
+     */
+    public List<Certificate> parseCertificates(List<String> rawData) {
+        List<Certificate> certificates = new ArrayList<>(rawData.size());
+        for (String raw : rawData) {
+            X509Certificate certificate = parseCertificate(raw);
             if (certificate != null) {
                 certificates.add(certificate);
             }
         }
-        log.debug("Found certificates:" + certificates.size());
         return certificates;
     }
 
+    private X509Certificate parseCertificate(String rawData) {
+        if (rawData.contains(X509CertUtils.PEM_BEGIN_MARKER)) {
+            return X509CertUtils.parse(rawData);
+        }
+        return X509CertUtils.parse(X509CertUtils.PEM_BEGIN_MARKER + rawData + X509CertUtils.PEM_END_MARKER);
+    }
+
 
     /**
      * Method to query the db for a list of kid from all certificates.
@@ -138,6 +171,16 @@ public class SignerInformationService {
                 log.debug("Kid saved: " + cert.getKid());
             }
         }
+        trustListVersion.incrementAndGet();
+    }
+
+    /**
+     * Version of the trust list, which is incremented whenever this instance updates the trust list.
+     *
+     * @return trust list version
+     */
+    public long getTrustListVersion() {
+        return trustListVersion.get();
     }
 
     /**
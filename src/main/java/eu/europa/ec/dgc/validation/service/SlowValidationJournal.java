@@ -0,0 +1,124 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.model.SlowValidationEntry;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the stage breakdown of the most recent validations which took longer than
+ * dgc.slowValidation.thresholdMs. Every slow validation is also logged as one structured json line.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlowValidationJournal {
+
+    private static final int SLOWEST_RULES = 5;
+
+    private final DgcConfigProperties dgcConfigProperties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Deque<SlowValidationEntry> entries = new ArrayDeque<>();
+
+    /**
+     * Adds the validation to the journal if it exceeded the threshold.
+     *
+     * @param stageRecorder stages of the finished validation
+     * @param tokenType     access token type
+     * @param totalNanos    duration of the whole validation in nanoseconds
+     */
+    public void record(ValidationStageRecorder stageRecorder, String tokenType, long totalNanos) {
+        DgcConfigProperties.SlowValidation slowValidation = dgcConfigProperties.getSlowValidation();
+        if (totalNanos < TimeUnit.MILLISECONDS.toNanos(slowValidation.getThresholdMs())) {
+            return;
+        }
+
+        SlowValidationEntry entry = createEntry(stageRecorder, tokenType, totalNanos);
+        synchronized (entries) {
+            while (!entries.isEmpty() && entries.size() >= slowValidation.getJournalSize()) {
+                entries.removeFirst();
+            }
+            if (slowValidation.getJournalSize() > 0) {
+                entries.addLast(entry);
+            }
+        }
+
+        try {
+            log.warn("Slow validation: {}", objectMapper.writeValueAsString(entry));
+        } catch (JsonProcessingException e) {
+            log.warn("Slow validation of {} ms, entry could not be serialized", entry.getTotalMs());
+        }
+    }
+
+    /**
+     * Gets the journal.
+     *
+     * @return slow validations, newest first
+     */
+    public List<SlowValidationEntry> getEntries() {
+        synchronized (entries) {
+            List<SlowValidationEntry> result = new ArrayList<>(entries.size());
+            Iterator<SlowValidationEntry> iterator = entries.descendingIterator();
+            while (iterator.hasNext()) {
+                result.add(iterator.next());
+            }
+            return result;
+        }
+    }
+
+    private SlowValidationEntry createEntry(ValidationStageRecorder stageRecorder, String tokenType,
+                                            long totalNanos) {
+        SlowValidationEntry entry = new SlowValidationEntry();
+        entry.setTimestamp(Instant.now());
+        entry.setTokenType(tokenType);
+        entry.setTotalMs(toMillis(totalNanos));
+        entry.setShortCircuitStage(stageRecorder.getShortCircuitStage() != null
+            ? stageRecorder.getShortCircuitStage().tag() : null);
+        entry.setRuleCount(stageRecorder.getRuleCount());
+        entry.setCertificatesTried(stageRecorder.getCertificatesTried());
+
+        Map<String, Double> stagesMs = new LinkedHashMap<>();
+        for (ValidationStage stage : ValidationStage.values()) {
+            if (stageRecorder.isRecorded(stage)) {
+                stagesMs.put(stage.tag(), toMillis(stageRecorder.getDurationNanos(stage)));
+            }
+        }
+        entry.setStagesMs(stagesMs);
+
+        Map<String, Double> storeMs = new LinkedHashMap<>();
+        for (ValidationMetrics.StoreOperation operation : ValidationMetrics.StoreOperation.values()) {
+            long nanos = stageRecorder.getStoreNanos(operation);
+            if (nanos > 0) {
+                storeMs.put(operation.name().toLowerCase(Locale.ROOT), toMillis(nanos));
+            }
+        }
+        entry.setStoreMs(storeMs);
+
+        Map<String, Double> slowestRulesMs = new LinkedHashMap<>();
+        stageRecorder.getRuleTimings().getNanosByIdentifier().entrySet().stream()
+            .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+            .limit(SLOWEST_RULES)
+            .forEach(rule -> slowestRulesMs.put(rule.getKey(), toMillis(rule.getValue())));
+        entry.setSlowestRulesMs(slowestRulesMs);
+        return entry;
+    }
+
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 1_000.0) / 1_000.0;
+    }
+}
@@ -0,0 +1,101 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.restapi.dto.AcceptableType;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import lombok.Getter;
+import org.apache.http.HttpStatus;
+
+/**
+ * Validation conditions of an access token, parsed and normalized once before the validation starts. Dates are
+ * parsed, countries and regions are upper case and the acceptable types are resolved to {@link AcceptableType}s.
+ * Conditions which are not set in the access token are null.
+ */
+@Getter
+public final class ValidationConditions {
+
+    private final String hash;
+    private final String lang;
+    private final String fnt;
+    private final String gnt;
+    private final String dob;
+    private final String coa;
+    private final String roa;
+    /**
+     * Null if the access token does not restrict the type of the DCC.
+     */
+    private final Set<AcceptableType> acceptableTypes;
+    /**
+     * The offset of the access token is kept, it is passed to the rule engine.
+     */
+    private final ZonedDateTime validationClock;
+    private final Instant validFrom;
+    private final Instant validTo;
+
+    private ValidationConditions(AccessTokenConditions conditions) {
+        hash = conditions.getHash();
+        lang = conditions.getLang();
+        fnt = conditions.getFnt();
+        gnt = conditions.getGnt();
+        dob = conditions.getDob();
+        coa = upperCaseOrNull(conditions.getCoa());
+        roa = upperCaseOrNull(conditions.getRoa());
+        acceptableTypes = conditions.getType() != null ? parseAcceptableTypes(conditions.getType()) : null;
+        validationClock = conditions.getValidationClock() != null
+            ? parseDateTime("validationClock", conditions.getValidationClock()) : null;
+        validFrom = parseDateTime("validFrom", required("validFrom", conditions.getValidFrom())).toInstant();
+        validTo = parseDateTime("validTo", required("validTo", conditions.getValidTo())).toInstant();
+    }
+
+    /**
+     * Parses the conditions of an access token.
+     *
+     * @param conditions conditions of the access token
+     * @return parsed conditions
+     * @throws DccException with status 400 if the conditions are missing or malformed
+     */
+    public static ValidationConditions of(AccessTokenConditions conditions) {
+        if (conditions == null) {
+            throw new DccException("Validation Conditions missing", HttpStatus.SC_BAD_REQUEST);
+        }
+        return new ValidationConditions(conditions);
+    }
+
+    private static String upperCaseOrNull(String value) {
+        return value == null || value.isEmpty() ? null : value.toUpperCase(Locale.ROOT);
+    }
+
+    private static String required(String name, String value) {
+        if (value == null) {
+            throw new DccException("Validation Condition " + name + " missing", HttpStatus.SC_BAD_REQUEST);
+        }
+        return value;
+    }
+
+    private static ZonedDateTime parseDateTime(String name, String value) {
+        try {
+            return ZonedDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new DccException("Validation Condition " + name + " malformed", e, HttpStatus.SC_BAD_REQUEST);
+        }
+    }
+
+    private static Set<AcceptableType> parseAcceptableTypes(String[] typeSymbols) {
+        Set<AcceptableType> types = EnumSet.noneOf(AcceptableType.class);
+        for (String typeSymbol : typeSymbols) {
+            try {
+                types.add(AcceptableType.getTokenForSymbol(typeSymbol));
+            } catch (IllegalArgumentException e) {
+                throw new DccException("Validation Condition type malformed", e, HttpStatus.SC_BAD_REQUEST);
+            }
+        }
+        return Collections.unmodifiableSet(types);
+    }
+}
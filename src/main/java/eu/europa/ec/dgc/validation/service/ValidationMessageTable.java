@@ -0,0 +1,86 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.context.MessageSource;
+import org.springframework.stereotype.Component;
+
+/**
+ * Texts of all {@link DccValidationMessage}s per language, resolved from the message bundles once at startup, so
+ * adding a result is a map lookup instead of a bundle lookup. Languages which are not configured get the english
+ * texts.
+ */
+@Component
+public class ValidationMessageTable {
+
+    private static final int MAX_INTERNED_LOCALES = 256;
+
+    private final Map<String, Map<DccValidationMessage, String>> messagesByLanguage;
+
+    private final Map<DccValidationMessage, String> englishMessages;
+
+    private final Map<String, Locale> locales = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the messages of the configured languages.
+     *
+     * @param messageSource       message bundles
+     * @param dgcConfigProperties configuration
+     */
+    public ValidationMessageTable(MessageSource messageSource, DgcConfigProperties dgcConfigProperties) {
+        englishMessages = resolve(messageSource, Locale.ENGLISH);
+        Map<String, Map<DccValidationMessage, String>> tables = new HashMap<>();
+        tables.put(Locale.ENGLISH.getLanguage(), englishMessages);
+        for (String language : dgcConfigProperties.getValidationMessages().getLanguages()) {
+            Locale locale = Locale.forLanguageTag(language);
+            tables.computeIfAbsent(locale.getLanguage(), key -> resolve(messageSource, locale));
+        }
+        messagesByLanguage = Map.copyOf(tables);
+    }
+
+    private static Map<DccValidationMessage, String> resolve(MessageSource messageSource, Locale locale) {
+        Map<DccValidationMessage, String> messages = new EnumMap<>(DccValidationMessage.class);
+        for (DccValidationMessage message : DccValidationMessage.values()) {
+            messages.put(message, messageSource.getMessage(message.name(), null, locale));
+        }
+        return Collections.unmodifiableMap(messages);
+    }
+
+    /**
+     * Gets the text of a message.
+     *
+     * @param message message
+     * @param locale  locale of the caller
+     * @return text in the language of the locale or in english if the language is not configured
+     */
+    public String getMessage(DccValidationMessage message, Locale locale) {
+        Map<DccValidationMessage, String> messages = messagesByLanguage.get(locale.getLanguage());
+        return (messages != null ? messages : englishMessages).get(message);
+    }
+
+    /**
+     * Gets the locale of a language tag. Locales are reused for repeated tags, the number of reused locales is
+     * limited because the tag is supplied by the caller.
+     *
+     * @param languageTag language tag, english is used if empty
+     * @return locale
+     */
+    public Locale getLocale(String languageTag) {
+        if (languageTag == null || languageTag.isEmpty()) {
+            return Locale.ENGLISH;
+        }
+        Locale locale = locales.get(languageTag);
+        if (locale == null) {
+            locale = Locale.forLanguageTag(languageTag);
+            if (locales.size() < MAX_INTERNED_LOCALES) {
+                locales.putIfAbsent(languageTag, locale);
+            }
+        }
+        return locale;
+    }
+}
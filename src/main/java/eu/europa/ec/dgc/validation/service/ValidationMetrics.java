@@ -0,0 +1,279 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.jfr.StoreOperationEvent;
+import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import jdk.jfr.EventType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Micrometer meters of the validation service. All meters used per request are created up front, so the hot
+ * path only increments a {@link LongAdder} or records into an already registered timer.
+ */
+@Component
+public class ValidationMetrics {
+
+    public static final String DOWNLOAD_TIMER = "dgc.download";
+    public static final String DOWNLOAD_CERTIFICATES = "certificates";
+    public static final String DOWNLOAD_RULES = "rules";
+    public static final String DOWNLOAD_VALUE_SETS = "valuesets";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<ResultTypeIdentifier, Map<ValidationStatusResponse.Result.ResultType, LongAdder>> results =
+        new EnumMap<>(ResultTypeIdentifier.class);
+
+    private final Map<Cache, LongAdder> cacheHits = new EnumMap<>(Cache.class);
+
+    private final Map<Cache, LongAdder> cacheMisses = new EnumMap<>(Cache.class);
+
+    private final Map<StoreOperation, Timer> storeTimers = new EnumMap<>(StoreOperation.class);
+
+    private final Map<ValidationStage, Timer> stageTimers = new EnumMap<>(ValidationStage.class);
+
+    private final Map<ValidationStage, Timer> shortCircuitStageTimers = new EnumMap<>(ValidationStage.class);
+
+    private final Map<AdmissionLimiter.Endpoint, LongAdder> admissionRejections =
+        new EnumMap<>(AdmissionLimiter.Endpoint.class);
+
+    private final Map<String, DistributionSummary> downloadedItems = new HashMap<>();
+
+    private final Map<String, Timer> queueWaitTimers = new ConcurrentHashMap<>();
+
+    /**
+     * Registers the request scoped meters.
+     *
+     * @param meterRegistry meter registry
+     */
+    public ValidationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        for (ResultTypeIdentifier type : ResultTypeIdentifier.values()) {
+            Map<ValidationStatusResponse.Result.ResultType, LongAdder> counters =
+                new EnumMap<>(ValidationStatusResponse.Result.ResultType.class);
+            for (ValidationStatusResponse.Result.ResultType resultType
+                : ValidationStatusResponse.Result.ResultType.values()) {
+                counters.put(resultType, counter("dgc.validation.results",
+                    Tags.of("type", type.name(), "result", resultType.name())));
+            }
+            results.put(type, counters);
+        }
+
+        for (Cache cache : Cache.values()) {
+            cacheHits.put(cache, counter("dgc.cache.requests", Tags.of("cache", cache.tag, "result", "hit")));
+            cacheMisses.put(cache, counter("dgc.cache.requests", Tags.of("cache", cache.tag, "result", "miss")));
+        }
+
+        for (StoreOperation operation : StoreOperation.values()) {
+            storeTimers.put(operation, Timer.builder("dgc.store.operation")
+                .tag("store", operation.store)
+                .tag("operation", operation.operation)
+                .register(meterRegistry));
+        }
+
+        for (ValidationStage stage : ValidationStage.values()) {
+            stageTimers.put(stage, stageTimer(stage, "passed"));
+            shortCircuitStageTimers.put(stage, stageTimer(stage, "short_circuit"));
+        }
+
+        for (AdmissionLimiter.Endpoint endpoint : AdmissionLimiter.Endpoint.values()) {
+            admissionRejections.put(endpoint, counter("dgc.admission.rejected", Tags.of("endpoint", endpoint.tag())));
+        }
+
+        for (String type : new String[] {DOWNLOAD_CERTIFICATES, DOWNLOAD_RULES, DOWNLOAD_VALUE_SETS}) {
+            downloadedItems.put(type, DistributionSummary.builder(DOWNLOAD_TIMER + ".items")
+                .tag("type", type)
+                .register(meterRegistry));
+        }
+    }
+
+    private Timer stageTimer(ValidationStage stage, String outcome) {
+        return Timer.builder("dgc.validation.stage")
+            .tag("stage", stage.tag())
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private LongAdder counter(String name, Tags tags) {
+        LongAdder adder = new LongAdder();
+        FunctionCounter.builder(name, adder, LongAdder::sum)
+            .tags(tags)
+            .register(meterRegistry);
+        return adder;
+    }
+
+    public void countResult(ResultTypeIdentifier type, ValidationStatusResponse.Result.ResultType resultType) {
+        results.get(type).get(resultType).increment();
+    }
+
+    public void cacheHit(Cache cache) {
+        cacheHits.get(cache).increment();
+    }
+
+    public void cacheMiss(Cache cache) {
+        cacheMisses.get(cache).increment();
+    }
+
+    public void admissionRejected(AdmissionLimiter.Endpoint endpoint) {
+        admissionRejections.get(endpoint).increment();
+    }
+
+    /**
+     * Registers a gauge of the admission limiter.
+     *
+     * @param name          gauge name below dgc.admission
+     * @param obj           limiter instance
+     * @param valueFunction function to get the value from the instance
+     */
+    public <T> void registerAdmissionGauge(String name, T obj, ToDoubleFunction<T> valueFunction) {
+        Gauge.builder("dgc.admission." + name, obj, valueFunction)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Records the duration of all stages run by a validation. The stage which ended the validation early is
+     * recorded with outcome short_circuit.
+     *
+     * @param stageRecorder stages of a finished validation
+     */
+    public void recordStages(ValidationStageRecorder stageRecorder) {
+        for (ValidationStage stage : ValidationStage.values()) {
+            if (stageRecorder.isRecorded(stage)) {
+                Timer timer = stage == stageRecorder.getShortCircuitStage()
+                    ? shortCircuitStageTimers.get(stage) : stageTimers.get(stage);
+                timer.record(stageRecorder.getDurationNanos(stage), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Registers a gauge of the number of entries in a cache.
+     *
+     * @param cache        cache
+     * @param obj          cache instance
+     * @param sizeFunction function to get the size from the instance
+     */
+    public <T> void registerCacheSize(Cache cache, T obj, ToDoubleFunction<T> sizeFunction) {
+        Gauge.builder("dgc.cache.size", obj, sizeFunction)
+            .tag("cache", cache.tag)
+            .register(meterRegistry);
+    }
+
+    /**
+     * Starts timing a store operation, the operation is also emitted as {@link StoreOperationEvent}.
+     *
+     * @param operation operation
+     * @return sample to be stopped when the operation finished
+     */
+    public StoreOperationSample startStoreOperation(StoreOperation operation) {
+        return new StoreOperationSample(operation, storeTimers.get(operation));
+    }
+
+    /**
+     * Records the number of items received by a download.
+     *
+     * @param type  download type
+     * @param items number of items
+     */
+    public void recordDownloadedItems(String type, int items) {
+        downloadedItems.get(type).record(items);
+    }
+
+    /**
+     * Records how long a task waited in the queue of an executor before it was started.
+     *
+     * @param name  executor name, the executor has to be registered with {@link #registerExecutor}
+     * @param nanos waiting time
+     */
+    public void recordQueueWait(String name, long nanos) {
+        queueWaitTimers.get(name).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Binds queue depth, active threads and task counts of an executor and registers the timer of the time its
+     * tasks wait in the queue.
+     *
+     * @param name     executor name
+     * @param executor executor
+     */
+    public void registerExecutor(String name, ExecutorService executor) {
+        new ExecutorServiceMetrics(executor, name, Tags.empty()).bindTo(meterRegistry);
+        queueWaitTimers.put(name, Timer.builder("dgc.executor.queue.wait")
+            .tag("name", name)
+            .register(meterRegistry));
+    }
+
+    public enum Cache {
+        RULES, VALUE_SETS, DECODED_DCC, SIGNATURE, RULE_RESULTS;
+
+        private final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public static final class StoreOperationSample {
+        private static final EventType EVENT_TYPE = EventType.getEventType(StoreOperationEvent.class);
+
+        private final StoreOperation operation;
+        private final Timer timer;
+        private final StoreOperationEvent event;
+        private final long start;
+
+        private StoreOperationSample(StoreOperation operation, Timer timer) {
+            this.operation = operation;
+            this.timer = timer;
+            // the event is only created while it is enabled in the flight recorder
+            event = EVENT_TYPE.isEnabled() ? new StoreOperationEvent() : null;
+            if (event != null) {
+                event.begin();
+            }
+            start = System.nanoTime();
+        }
+
+        /**
+         * Records the duration of the operation.
+         *
+         * @return duration in nanoseconds
+         */
+        public long stop() {
+            long duration = System.nanoTime() - start;
+            timer.record(duration, TimeUnit.NANOSECONDS);
+            if (event != null) {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.store = operation.store;
+                    event.operation = operation.operation;
+                    event.commit();
+                }
+            }
+            return duration;
+        }
+    }
+
+    public enum StoreOperation {
+        STORE("validation", "store"), RECEIVE("validation", "receive"), UPDATE("validation", "update"),
+        CHECK_PUT_BLACKLIST("blacklist", "check_put");
+
+        private final String store;
+        private final String operation;
+
+        StoreOperation(String store, String operation) {
+            this.store = store;
+            this.operation = operation;
+        }
+    }
+}
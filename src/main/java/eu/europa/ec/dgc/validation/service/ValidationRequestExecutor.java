@@ -0,0 +1,98 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.HttpStatus;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor running dcc validation requests outside of the servlet container threads, so decryption,
+ * validation and signing of a burst of validations does not block status and identity requests. If all threads
+ * are busy and the queue is full, requests are rejected with status 503 instead of queueing without limit.
+ */
+@Slf4j
+@Component
+public class ValidationRequestExecutor {
+
+    private static final String NAME = "validation-request";
+
+    private final ValidationMetrics validationMetrics;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates the executor if asynchronous validation is enabled.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public ValidationRequestExecutor(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+        DgcConfigProperties.AsyncValidation config = dgcConfigProperties.getAsyncValidation();
+        if (config.isEnabled()) {
+            int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueSize()), new CustomizableThreadFactory(NAME + "-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Registers the executor metrics if asynchronous validation is enabled.
+     */
+    @PostConstruct
+    public void initMetrics() {
+        if (executor != null) {
+            validationMetrics.registerExecutor(NAME, executor);
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Runs a validation request on the executor, or on the calling thread if asynchronous validation is disabled.
+     *
+     * @param request validation request
+     * @return future of the response
+     * @throws DccException with status 503 if the executor is saturated
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> request) {
+        if (executor == null) {
+            return CompletableFuture.completedFuture(request.get());
+        }
+        long submitted = System.nanoTime();
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                validationMetrics.recordQueueWait(NAME, System.nanoTime() - submitted);
+                return request.get();
+            }, executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("validation request rejected, {} requests queued", executor.getQueue().size());
+            throw new DccException("validation capacity exhausted", e, HttpStatus.SC_SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Stops the executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -5,6 +5,7 @@ import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
 import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
 import eu.europa.ec.dgc.validation.entity.ValidationInquiry;
 import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.jfr.ValidationEvent;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
@@ -47,6 +48,8 @@ public class ValidationService {
     private final TokenBlackListService tokenBlackListService;
     private final ResultCallbackService resultCallbackService;
     private final IdentityService identityService;
+    private final ValidationMetrics validationMetrics;
+    private final SlowValidationJournal slowValidationJournal;
 
     /**
      * validate Access Token.
@@ -227,6 +230,26 @@ public class ValidationService {
         return true;
     }
 
+    /**
+     * Checks and parses the conditions, so malformed conditions are rejected before the token identifier is used
+     * up and before the dcc is decrypted.
+     *
+     * @return parsed conditions
+     * @throws DccException with status 400 and the reason if the conditions are missing or malformed
+     */
+    private ValidationConditions parseConditions(AccessTokenPayload accessToken) {
+        if (!checkMandatoryFields(accessToken)) {
+            throw new DccException("Validation Conditions missing or not properly set",
+                HttpStatus.BAD_REQUEST.value());
+        }
+        try {
+            return ValidationConditions.of(accessToken.getConditions());
+        } catch (DccException e) {
+            log.debug("Rejected access token {}: {}", accessToken.getJti(), e.getMessage());
+            throw e;
+        }
+    }
+
     /**
      * validate.
      * @param dccValidationRequest dccValidationRequest
@@ -234,32 +257,82 @@ public class ValidationService {
      * @return token
      */
     public String validate(DccValidationRequest dccValidationRequest, AccessTokenPayload accessToken) {
+        long start = System.nanoTime();
+        ValidationEvent validationEvent = new ValidationEvent();
+        validationEvent.begin();
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        try {
+            return validateInquiry(dccValidationRequest, accessToken, stageRecorder, validationEvent);
+        } finally {
+            String tokenType = String.valueOf(AccessTokenType.getTokenForInt(accessToken.getType()));
+            validationMetrics.recordStages(stageRecorder);
+            slowValidationJournal.record(stageRecorder, tokenType, System.nanoTime() - start);
+            validationEvent.end();
+            if (validationEvent.shouldCommit()) {
+                validationEvent.tokenType = tokenType;
+                validationEvent.ruleCount = stageRecorder.getRuleCount();
+                validationEvent.shortCircuitStage = stageRecorder.getShortCircuitStage() != null
+                    ? stageRecorder.getShortCircuitStage().tag() : null;
+                validationEvent.commit();
+            }
+        }
+    }
+
+    private String validateInquiry(DccValidationRequest dccValidationRequest, AccessTokenPayload accessToken,
+                                   ValidationStageRecorder stageRecorder, ValidationEvent validationEvent) {
+        ValidationConditions conditions;
+        try {
+            conditions = parseConditions(accessToken);
+        } catch (DccException e) {
+            stageRecorder.stop(ValidationStage.INQUIRY);
+            stageRecorder.shortCircuit();
+            throw e;
+        }
         String subject = accessToken.getSub();
+        long storeStart = System.nanoTime();
         ValidationInquiry validationInquiry = validationStoreService.receiveValidation(subject);
+        stageRecorder.recordStoreOperation(ValidationMetrics.StoreOperation.RECEIVE, System.nanoTime() - storeStart);
         String resultToken = null;
         String privacyResultToken = null;
         ResultTokenBuilder resultTokenBuilder = new ResultTokenBuilder();
         if (validationInquiry != null) {
-            if (!tokenBlackListService.checkPutBlacklist(accessToken.getJti(), accessToken.getExp())) {
+            storeStart = System.nanoTime();
+            boolean unusedTokenIdentifier =
+                tokenBlackListService.checkPutBlacklist(accessToken.getJti(), accessToken.getExp());
+            stageRecorder.recordStoreOperation(ValidationMetrics.StoreOperation.CHECK_PUT_BLACKLIST,
+                System.nanoTime() - storeStart);
+            if (!unusedTokenIdentifier) {
+                stageRecorder.stop(ValidationStage.INQUIRY);
+                stageRecorder.shortCircuit();
                 throw new DccException("token identifier jti already used", HttpStatus.GONE.value());
             }
+            stageRecorder.stop(ValidationStage.INQUIRY);
 
-            if (!checkMandatoryFields(accessToken)) {
-                throw new DccException("Validation Conditions missing or not properly set",
-                    HttpStatus.BAD_REQUEST.value());
+            DecodedValidationRequest decodedRequest;
+            try {
+                decodedRequest = DecodedValidationRequest.of(dccValidationRequest,
+                    dgcConfigProperties.getRequestLimits());
+            } catch (DccException e) {
+                stageRecorder.stop(ValidationStage.SIGNATURE);
+                stageRecorder.shortCircuit();
+                throw e;
             }
-
-            if (!checkSignature(dccValidationRequest.getSigAlg(),
-                org.bouncycastle.util.encoders.Base64.decode(dccValidationRequest.getDcc()),
-                org.bouncycastle.util.encoders.Base64.decode(dccValidationRequest.getSig()),
+            if (!checkSignature(dccValidationRequest.getSigAlg(), decodedRequest.getDcc(), decodedRequest.getSig(),
                 validationInquiry.getPublicKey())) {
+                stageRecorder.stop(ValidationStage.SIGNATURE);
+                stageRecorder.shortCircuit();
                 throw new DccException("invalid signature", HttpStatus.UNPROCESSABLE_ENTITY.value());
             }
-            String dcc = decodeDcc(dccValidationRequest, validationInquiry);
-
+            stageRecorder.stop(ValidationStage.SIGNATURE);
+            String dcc = decodeDcc(dccValidationRequest, decodedRequest, validationInquiry);
+            stageRecorder.stop(ValidationStage.DECRYPTION);
 
             List<ValidationStatusResponse.Result> results = dccValidator.validate(
-                dcc, accessToken.getConditions(), AccessTokenType.getTokenForInt(accessToken.getType()), false);
+                dcc, conditions, AccessTokenType.getTokenForInt(accessToken.getType()), false, stageRecorder);
+            if (validationEvent.isEnabled()) {
+                validationEvent.result = ResultTokenBuilder.evaluateResult(results);
+                validationEvent.resultCount = results.size();
+            }
            
             resultToken = resultTokenBuilder.build(results, accessToken.getSub(),
                 dgcConfigProperties.getServiceUrl(),
@@ -274,11 +347,15 @@ public class ValidationService {
                 Date.from(Instant.now().plusSeconds(dgcConfigProperties.getConfirmationExpire())),
                 keyProvider.receivePrivateKey(keyProvider.getActiveSignKey()),
                 keyProvider.getKid(keyProvider.getActiveSignKey()),true);
+            stageRecorder.stop(ValidationStage.RESULT_TOKEN);
 
             validationInquiry.setValidationResult(dgcConfigProperties.isDisableStatusResult() ? privacyResultToken 
                                                                                               : resultToken);
             validationInquiry.setValidationStatus(ValidationInquiry.ValidationStatus.READY);
+            storeStart = System.nanoTime();
             validationStoreService.updateValidation(validationInquiry);
+            stageRecorder.recordStoreOperation(ValidationMetrics.StoreOperation.UPDATE, System.nanoTime() - storeStart);
+            stageRecorder.stop(ValidationStage.RESULT_STORE);
         } 
 
         if (validationInquiry.getCallbackUrl() != null && validationInquiry.getCallbackUrl().length() > 0
@@ -308,10 +385,11 @@ public class ValidationService {
         }
     }
 
-    private String decodeDcc(DccValidationRequest dccValidationRequest, ValidationInquiry validationInquiry) {
+    private String decodeDcc(DccValidationRequest dccValidationRequest, DecodedValidationRequest decodedRequest,
+                             ValidationInquiry validationInquiry) {
         EncryptedData encryptedData = new EncryptedData();
-        encryptedData.setDataEncrypted(Base64.getDecoder().decode(dccValidationRequest.getDcc()));
-        encryptedData.setEncKey(Base64.getDecoder().decode(dccValidationRequest.getEncKey()));
+        encryptedData.setDataEncrypted(decodedRequest.getDcc());
+        encryptedData.setEncKey(decodedRequest.getEncKey());
         String dcc = new String(dccCryptService.decryptData(encryptedData,
             keyProvider.receivePrivateKey(keyProvider.getKeyName(dccValidationRequest.getKid())),
             dccValidationRequest.getEncScheme(), validationInquiry.getNonce()), StandardCharsets.UTF_8);
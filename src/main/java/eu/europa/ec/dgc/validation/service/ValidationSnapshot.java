@@ -0,0 +1,113 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.engine.data.Rule;
+import java.security.cert.Certificate;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Rules, value sets and trust list as seen by one batch validation. The trust list is captured with one query when
+ * the snapshot is created, the value sets and the rules of a country are loaded on first use. Each of them is then
+ * shared by all items of the batch, so a download which replaces them while the batch is running does not change
+ * the data later items are validated against, and the caches and the database are queried once per batch instead
+ * of once per item.
+ */
+class ValidationSnapshot implements RulesCache, ValueSetCache {
+
+    private final RulesCache rulesCache;
+
+    private final ValueSetCache valueSetCache;
+
+    private final SignerInformationService signerInformationService;
+
+    private final long trustListVersion;
+
+    private final Map<String, List<String>> rawCertificates;
+
+    private final Map<String, List<Rule>> rules = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Certificate>> certificates = new ConcurrentHashMap<>();
+
+    private volatile VersionedValueSets valueSets;
+
+    /**
+     * Creates a snapshot of the given sources.
+     *
+     * @param rulesCache               source of the rules
+     * @param valueSetCache            source of the value sets
+     * @param signerInformationService parser of the certificates
+     * @param trustListVersion         version of the trust list
+     * @param rawCertificates          raw certificate data of the trust list by kid
+     */
+    ValidationSnapshot(RulesCache rulesCache, ValueSetCache valueSetCache,
+                       SignerInformationService signerInformationService, long trustListVersion,
+                       Map<String, List<String>> rawCertificates) {
+        this.rulesCache = rulesCache;
+        this.valueSetCache = valueSetCache;
+        this.signerInformationService = signerInformationService;
+        this.trustListVersion = trustListVersion;
+        this.rawCertificates = rawCertificates;
+    }
+
+    /**
+     * Creates a snapshot of the rules, value sets and trust list of this instance.
+     *
+     * @param rulesCache               rules cache
+     * @param valueSetCache            value set cache
+     * @param signerInformationService trust list
+     * @return snapshot
+     */
+    static ValidationSnapshot capture(RulesCache rulesCache, ValueSetCache valueSetCache,
+                                      SignerInformationService signerInformationService) {
+        long version;
+        Map<String, List<String>> rawCertificates;
+        do {
+            // reload if this instance updated the trust list meanwhile, so the version matches the certificates
+            version = signerInformationService.getTrustListVersion();
+            rawCertificates = signerInformationService.getRawCertificatesByKid();
+        } while (version != signerInformationService.getTrustListVersion());
+        return new ValidationSnapshot(rulesCache, valueSetCache, signerInformationService, version, rawCertificates);
+    }
+
+    @Override
+    public List<Rule> provideRules(String countryOfArrival, String issuerCountry) {
+        return rules.computeIfAbsent(countryOfArrival + ':' + issuerCountry,
+            key -> rulesCache.provideRules(countryOfArrival, issuerCountry));
+    }
+
+    @Override
+    public Map<String, List<String>> provideValueSets() {
+        return provideVersionedValueSets().getValueSets();
+    }
+
+    @Override
+    public Map<String, List<String>> getValueSets() {
+        return provideValueSets();
+    }
+
+    @Override
+    public VersionedValueSets provideVersionedValueSets() {
+        VersionedValueSets snapshot = valueSets;
+        if (snapshot == null) {
+            synchronized (this) {
+                snapshot = valueSets;
+                if (snapshot == null) {
+                    snapshot = valueSetCache.provideVersionedValueSets();
+                    valueSets = snapshot;
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    List<Certificate> getCertificates(String kid) {
+        return certificates.computeIfAbsent(kid, key -> signerInformationService.parseCertificates(
+            rawCertificates.getOrDefault(key, Collections.emptyList())));
+    }
+
+    long getTrustListVersion() {
+        return trustListVersion;
+    }
+}
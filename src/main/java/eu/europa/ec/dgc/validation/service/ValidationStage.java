@@ -0,0 +1,18 @@
+package eu.europa.ec.dgc.validation.service;
+
+import java.util.Locale;
+
+/**
+ * Stages of a dcc validation in the order they are run by {@link ValidationService} and {@link DccValidator}.
+ */
+public enum ValidationStage {
+    INQUIRY, SIGNATURE, DECRYPTION,
+    DECODE_CACHE, PREFIX, BASE45, DECOMPRESSION, COSE, SCHEMA, CBOR, EXPIRY, CONDITIONS, NAME_DOB, CRYPTOGRAPHIC, RULES,
+    RESULT_TOKEN, RESULT_STORE;
+
+    private final String tag = name().toLowerCase(Locale.ROOT);
+
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,103 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded executor to run independent stages of a Full validation concurrently to the request thread. If all
+ * threads are busy and the queue is full, the stage runs on the request thread, so under high load validations
+ * fall back to sequential execution instead of waiting for the executor.
+ */
+@Slf4j
+@Component
+public class ValidationStageExecutor {
+
+    private final ValidationMetrics validationMetrics;
+
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * Creates the executor if parallel validation is enabled.
+     *
+     * @param dgcConfigProperties configuration
+     * @param validationMetrics   metrics
+     */
+    public ValidationStageExecutor(DgcConfigProperties dgcConfigProperties, ValidationMetrics validationMetrics) {
+        this.validationMetrics = validationMetrics;
+        DgcConfigProperties.ParallelValidation config = dgcConfigProperties.getParallelValidation();
+        if (config.isEnabled()) {
+            int threads = config.getThreads() > 0 ? config.getThreads() : Runtime.getRuntime().availableProcessors();
+            executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(config.getQueueSize()), new CustomizableThreadFactory("validation-stage-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        } else {
+            executor = null;
+        }
+    }
+
+    /**
+     * Registers the executor metrics if parallel validation is enabled.
+     */
+    @PostConstruct
+    public void initMetrics() {
+        if (executor != null) {
+            validationMetrics.registerExecutor("validation-stage", executor);
+        }
+    }
+
+    public boolean isEnabled() {
+        return executor != null;
+    }
+
+    /**
+     * Starts a validation stage.
+     *
+     * @param stage stage
+     * @return future of the stage result
+     */
+    public <T> Future<T> submit(Callable<T> stage) {
+        return executor.submit(stage);
+    }
+
+    /**
+     * Waits for a validation stage started with {@link #submit(Callable)}.
+     *
+     * @param future future of the stage
+     * @return result of the stage
+     * @throws DccException if the stage failed, runtime exceptions of the stage are rethrown as they are
+     */
+    public <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DccException("validation interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new DccException("validation stage failed", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the executor.
+     */
+    @PreDestroy
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.jfr.ValidationStageEvent;
+import java.util.Locale;
+import jdk.jfr.EventType;
+
+/**
+ * Records the duration of the stages of one dcc validation. Every call of {@link #stop(ValidationStage)} assigns
+ * the time since the previous call to the given stage, so only one nanoTime call is needed per stage.
+ * Each stage is also emitted as {@link ValidationStageEvent} if the event is enabled in the flight recorder, the
+ * event is only created while it is enabled, so no event is allocated per stage without a recording.
+ * An instance belongs to a single validation and is not thread safe.
+ */
+public class ValidationStageRecorder {
+
+    private static final ValidationStage[] STAGES = ValidationStage.values();
+
+    private static final EventType STAGE_EVENT_TYPE = EventType.getEventType(ValidationStageEvent.class);
+
+    private static final ValidationMetrics.StoreOperation[] STORE_OPERATIONS =
+        ValidationMetrics.StoreOperation.values();
+
+    private final long[] durations = new long[STAGES.length];
+
+    private final boolean[] recorded = new boolean[STAGES.length];
+
+    private long mark = System.nanoTime();
+
+    private ValidationStage lastStage;
+
+    private ValidationStage shortCircuitStage;
+
+    private int ruleCount;
+
+    private int certificatesTried;
+
+    private final long[] storeDurations = new long[STORE_OPERATIONS.length];
+
+    private final RuleTimings ruleTimings = new RuleTimings();
+
+    private ValidationStageEvent stageEvent = beginStageEvent();
+
+    /**
+     * Ends the given stage.
+     *
+     * @param stage stage which ended now
+     */
+    public void stop(ValidationStage stage) {
+        long now = System.nanoTime();
+        durations[stage.ordinal()] += now - mark;
+        recorded[stage.ordinal()] = true;
+        mark = now;
+        lastStage = stage;
+
+        if (stageEvent != null) {
+            stageEvent.end();
+            if (stageEvent.shouldCommit()) {
+                stageEvent.stage = stage.tag();
+                stageEvent.ruleCount = stage == ValidationStage.RULES ? ruleCount : 0;
+                stageEvent.commit();
+            }
+        }
+        stageEvent = beginStageEvent();
+    }
+
+    /**
+     * Records a stage which ran concurrently to the previous stages and was measured by the caller. The time
+     * waited for it since the previous stage is not counted, the next stage starts now.
+     *
+     * @param stage stage which ended
+     * @param nanos duration of the stage in nanoseconds
+     */
+    public void record(ValidationStage stage, long nanos) {
+        durations[stage.ordinal()] += nanos;
+        recorded[stage.ordinal()] = true;
+        mark = System.nanoTime();
+        lastStage = stage;
+        stageEvent = beginStageEvent();
+    }
+
+    /**
+     * Marks the last stopped stage as the one that finished the validation early.
+     */
+    public void shortCircuit() {
+        shortCircuitStage = lastStage;
+    }
+
+    public boolean isRecorded(ValidationStage stage) {
+        return recorded[stage.ordinal()];
+    }
+
+    public long getDurationNanos(ValidationStage stage) {
+        return durations[stage.ordinal()];
+    }
+
+    /**
+     * Sum of all recorded stages.
+     *
+     * @return total duration in nanoseconds
+     */
+    public long getTotalNanos() {
+        long total = 0;
+        for (long duration : durations) {
+            total += duration;
+        }
+        return total;
+    }
+
+    public ValidationStage getShortCircuitStage() {
+        return shortCircuitStage;
+    }
+
+    public int getRuleCount() {
+        return ruleCount;
+    }
+
+    public void setRuleCount(int ruleCount) {
+        this.ruleCount = ruleCount;
+    }
+
+    RuleTimings getRuleTimings() {
+        return ruleTimings;
+    }
+
+    public void incrementCertificatesTried() {
+        certificatesTried++;
+    }
+
+    public int getCertificatesTried() {
+        return certificatesTried;
+    }
+
+    public void recordStoreOperation(ValidationMetrics.StoreOperation operation, long nanos) {
+        storeDurations[operation.ordinal()] += nanos;
+    }
+
+    public long getStoreNanos(ValidationMetrics.StoreOperation operation) {
+        return storeDurations[operation.ordinal()];
+    }
+
+    /**
+     * Formats the recorded stages as value of a Server-Timing http header.
+     *
+     * @return header value, e.g. prefix;dur=0.012, base45;dur=0.104
+     */
+    public String toServerTiming() {
+        StringBuilder serverTiming = new StringBuilder();
+        for (ValidationStage stage : STAGES) {
+            if (recorded[stage.ordinal()]) {
+                if (serverTiming.length() > 0) {
+                    serverTiming.append(", ");
+                }
+                serverTiming.append(stage.tag()).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", durations[stage.ordinal()] / 1_000_000.0));
+            }
+        }
+        return serverTiming.toString();
+    }
+
+    private static ValidationStageEvent beginStageEvent() {
+        if (!STAGE_EVENT_TYPE.isEnabled()) {
+            return null;
+        }
+        ValidationStageEvent event = new ValidationStageEvent();
+        event.begin();
+        return event;
+    }
+}
@@ -2,9 +2,26 @@ package eu.europa.ec.dgc.validation.service;
 
 import java.util.List;
 import java.util.Map;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
 
 public interface ValueSetCache {
     public Map<String, List<String>> provideValueSets();
 
     public Map<String, List<String>> getValueSets();
+
+    /**
+     * Provides the value sets together with their version, both taken from the same state of the cache.
+     */
+    public VersionedValueSets provideVersionedValueSets();
+
+    /**
+     * Value sets and their version, which changes whenever the content of the value sets changes.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    final class VersionedValueSets {
+        private final Map<String, List<String>> valueSets;
+        private final long version;
+    }
 }
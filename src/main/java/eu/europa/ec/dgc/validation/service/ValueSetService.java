@@ -141,7 +141,7 @@ public class ValueSetService {
      *
      * @return List of hash values
      */
-    private List<String> getValueSetsHashList() {
+    public List<String> getValueSetsHashList() {
         return getValueSetsList().stream().map(ValueSetListItemDto::getHash).collect(Collectors.toList());
     }
 
@@ -1,31 +1,28 @@
 package eu.europa.ec.dgc.validation.service;
 
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.TypeAdapter;
-import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
-import com.google.gson.stream.JsonWriter;
 import com.sap.cloud.sdk.cloudplatform.connectivity.DestinationAccessor;
 import com.sap.cloud.sdk.cloudplatform.connectivity.HttpClientAccessor;
 import com.sap.cloud.sdk.cloudplatform.connectivity.HttpDestination;
 import eu.europa.ec.dgc.validation.model.ValueSetItem;
+import io.micrometer.core.annotation.Timed;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
-import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.javacrumbs.shedlock.spring.annotation.SchedulerLock;
 import org.apache.http.HttpEntity;
 import org.apache.http.HttpResponse;
 import org.apache.http.client.HttpClient;
-import org.apache.http.client.methods.RequestBuilder;
 import org.apache.http.util.EntityUtils;
 import org.slf4j.MDC;
 import org.springframework.context.annotation.Profile;
@@ -40,11 +37,21 @@ public class ValueSetsDownloadServiceBtpImpl implements ValueSetsDownloadService
 
     private static final String DGCG_DESTINATION = "dgcg-destination";
     private static final String DCCG_VALUE_SETS_ENDPOINT = "/valuesets";
+    private static final String CONTENT_KEY = "btp:valuesets";
 
     private final ValueSetService valueSetService;
 
+    private final DownloadStateService downloadStateService;
+
+    private final ValidationMetrics validationMetrics;
+
+    private final Map<String, String> downloadedValueSets = new ConcurrentHashMap<>();
+
+    private List<String> downloadedValueSetIds = new ArrayList<>();
+
 
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_VALUE_SETS})
     @Scheduled(fixedDelayString = "${dgc.valueSetsDownload.timeInterval}")
     @SchedulerLock(name = "GatewayDataDownloadService_downloadValueSets", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.valueSetsDownload.lockLimit}")
@@ -63,13 +70,23 @@ public class ValueSetsDownloadServiceBtpImpl implements ValueSetsDownloadService
                 return;
             }
 
-            if (!valueSetItems.isEmpty()) {
-                valueSetService.updateValueSets(valueSetItems);
-            } else {
+            if (valueSetItems.isEmpty()) {
                 log.warn("The download of the value sets seems to fail, as the download connector "
                     + "returns an empty list. No data will be changed.");
+                return;
             }
 
+            validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_VALUE_SETS, valueSetItems.size());
+            String contentHash = downloadStateService.calculateContentHash(
+                valueSetItems.stream().map(ValueSetItem::getHash));
+            if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash())) {
+                log.info("Value sets are unchanged since last download. No data will be changed.");
+                return;
+            }
+
+            valueSetService.updateValueSets(valueSetItems);
+            downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+
             log.debug("Value sets download finished.");
         } finally {
             cleanLogging();
@@ -82,35 +99,45 @@ public class ValueSetsDownloadServiceBtpImpl implements ValueSetsDownloadService
         List<String> valueSetIds = new ArrayList<>();
 
         try {
-            HttpResponse response = httpClient.execute(RequestBuilder.get(DCCG_VALUE_SETS_ENDPOINT).build());
-            valueSetIds = new ArrayList<>(gson().fromJson(toJsonString(response.getEntity()),
-                new TypeToken<List<String>>() {
-                }.getType()));
-        } catch (IOException e) {
+            HttpResponse response = httpClient.execute(downloadStateService.conditionalGet(DCCG_VALUE_SETS_ENDPOINT));
+            if (downloadStateService.isNotModified(response)) {
+                log.debug("Value set IDs not modified since last download.");
+                return downloadedValueSetIds;
+            }
+
+            readValueSetIds(response.getEntity(), valueSetIds);
+            downloadStateService.rememberValidators(DCCG_VALUE_SETS_ENDPOINT, response);
+        } catch (IOException | RuntimeException e) {
             log.error("Could not fetch value set IDs from gateway: {}", e.getMessage());
+            valueSetIds.clear();
+            downloadStateService.resetValidators(DCCG_VALUE_SETS_ENDPOINT);
         }
 
+        downloadedValueSetIds = valueSetIds;
         return valueSetIds;
     }
 
-    private Gson gson() {
-        return new GsonBuilder().registerTypeAdapter(ZonedDateTime.class, new TypeAdapter<ZonedDateTime>() {
-            @Override
-            public void write(JsonWriter out, ZonedDateTime value) throws IOException {
-                out.value(value.toString());
-            }
+    /**
+     * Reads the json array of value set ids directly from the response stream.
+     */
+    private void readValueSetIds(HttpEntity entity, List<String> valueSetIds) throws IOException {
+        if (entity == null) {
+            throw new IOException("Value set id response has no content");
+        }
 
-            @Override
-            public ZonedDateTime read(JsonReader in) throws IOException {
-                return ZonedDateTime.parse(in.nextString());
+        try (JsonReader reader = new JsonReader(new InputStreamReader(entity.getContent(), StandardCharsets.UTF_8))) {
+            reader.beginArray();
+            while (reader.hasNext()) {
+                valueSetIds.add(reader.nextString());
             }
-        })
-            .enableComplexMapKeySerialization()
-            .create();
+            reader.endArray();
+        } finally {
+            EntityUtils.consumeQuietly(entity);
+        }
     }
 
     private String toJsonString(HttpEntity entity) throws IOException {
-        return EntityUtils.toString(entity);
+        return EntityUtils.toString(entity, StandardCharsets.UTF_8);
     }
 
     private Map<String, String> fetchValueSets(List<String> valueSetIds) {
@@ -119,15 +146,25 @@ public class ValueSetsDownloadServiceBtpImpl implements ValueSetsDownloadService
         Map<String, String> valueSets = new HashMap<>();
 
         for (String valueSetId : valueSetIds) {
+            String endpoint = DCCG_VALUE_SETS_ENDPOINT + "/" + valueSetId;
             try {
-                HttpResponse response = httpClient
-                    .execute(RequestBuilder.get(DCCG_VALUE_SETS_ENDPOINT + "/" + valueSetId).build());
-                valueSets.put(valueSetId, toJsonString(response.getEntity()));
+                if (!downloadedValueSets.containsKey(valueSetId)) {
+                    downloadStateService.resetValidators(endpoint);
+                }
+                HttpResponse response = httpClient.execute(downloadStateService.conditionalGet(endpoint));
+                if (!downloadStateService.isNotModified(response)) {
+                    downloadedValueSets.put(valueSetId, toJsonString(response.getEntity()));
+                    downloadStateService.rememberValidators(endpoint, response);
+                }
+                valueSets.put(valueSetId, downloadedValueSets.get(valueSetId));
             } catch (IOException e) {
                 log.warn("Could not fetch value set with ID '{}': {}", valueSetId, e.getMessage(), e);
+                downloadedValueSets.remove(valueSetId);
+                downloadStateService.resetValidators(endpoint);
             }
         }
 
+        downloadedValueSets.keySet().retainAll(valueSetIds);
         return valueSets;
     }
 
@@ -141,4 +178,8 @@ public class ValueSetsDownloadServiceBtpImpl implements ValueSetsDownloadService
         MDC.remove(CORRELATION_ID_LOG_VAR_NAME);
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(valueSetService.getValueSetsHashList().stream());
+    }
+
 }
@@ -22,6 +22,7 @@ package eu.europa.ec.dgc.validation.service;
 
 import eu.europa.ec.dgc.gateway.connector.DgcGatewayValueSetDownloadConnector;
 import eu.europa.ec.dgc.validation.model.ValueSetItem;
+import io.micrometer.core.annotation.Timed;
 import java.security.NoSuchAlgorithmException;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -43,11 +44,18 @@ import org.springframework.stereotype.Component;
 @Profile("!btp")
 public class ValueSetsDownloadServiceGatwayImpl implements ValueSetsDownloadService {
 
+    private static final String CONTENT_KEY = "gateway:valuesets";
+
     private final DgcGatewayValueSetDownloadConnector dgcValueSetConnector;
 
     private final ValueSetService valueSetService;
 
+    private final DownloadStateService downloadStateService;
+
+    private final ValidationMetrics validationMetrics;
+
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_VALUE_SETS})
     @Scheduled(fixedDelayString = "${dgc.valueSetsDownload.timeInterval}")
     @SchedulerLock(name = "GatewayDataDownloadService_downloadValueSets", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.valueSetsDownload.lockLimit}")
@@ -62,14 +70,28 @@ public class ValueSetsDownloadServiceGatwayImpl implements ValueSetsDownloadServ
             return;
         }
 
-        if (!valueSetItems.isEmpty()) {
-            valueSetService.updateValueSets(valueSetItems);
-        } else {
+        if (valueSetItems.isEmpty()) {
             log.warn("The download of the value sets seems to fail, as the download connector "
                 + "returns an empty value sets list.-> No data was changed.");
+            return;
+        }
+
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_VALUE_SETS, valueSetItems.size());
+        String contentHash = downloadStateService.calculateContentHash(
+            valueSetItems.stream().map(ValueSetItem::getHash));
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash())) {
+            log.info("Valuesets are unchanged since last download.-> No data was changed.");
+            return;
         }
 
+        valueSetService.updateValueSets(valueSetItems);
+        downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+
         log.info("Valuesets download finished");
     }
 
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(valueSetService.getValueSetsHashList().stream());
+    }
+
 }
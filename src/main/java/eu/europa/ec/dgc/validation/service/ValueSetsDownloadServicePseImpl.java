@@ -24,6 +24,7 @@ import eu.europa.ec.dgc.validation.client.ValueSetsRestClient;
 import eu.europa.ec.dgc.validation.client.dto.ValueSetResponseDto;
 import eu.europa.ec.dgc.validation.model.ValueSetItem;
 import feign.FeignException;
+import io.micrometer.core.annotation.Timed;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
@@ -41,10 +42,16 @@ import org.springframework.stereotype.Component;
 @Profile("pse")
 public class ValueSetsDownloadServicePseImpl implements ValueSetsDownloadService {
 
+    private static final String INDEX_ENDPOINT = "pse:/valuesets";
+    private static final String CONTENT_KEY = "pse:valuesets";
+
     private final ValueSetsRestClient valueSetsRestClient;
     private final ValueSetService valueSetService;
+    private final DownloadStateService downloadStateService;
+    private final ValidationMetrics validationMetrics;
 
     @Override
+    @Timed(value = ValidationMetrics.DOWNLOAD_TIMER, extraTags = {"type", ValidationMetrics.DOWNLOAD_VALUE_SETS})
     @Scheduled(fixedDelayString = "${dgc.valueSetsDownload.timeInterval}")
     @SchedulerLock(name = "GatewayDataDownloadService_downloadValueSets", lockAtLeastFor = "PT0S",
         lockAtMostFor = "${dgc.valueSetsDownload.lockLimit}")
@@ -52,9 +59,16 @@ public class ValueSetsDownloadServicePseImpl implements ValueSetsDownloadService
 
         ResponseEntity<List<ValueSetResponseDto>> responseEntity;
 
+        String storedContentHash = storedContentHash();
+        downloadStateService.resetValidatorsIfStoredContentChanged(CONTENT_KEY, storedContentHash, INDEX_ENDPOINT);
         try {
-            responseEntity = valueSetsRestClient.getValueSetsList();
+            responseEntity = valueSetsRestClient.getValueSetsList(
+                downloadStateService.getState(INDEX_ENDPOINT).getEtag());
         } catch (FeignException e) {
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                log.info("Value sets index not modified since last download. No data will be changed.");
+                return;
+            }
             log.error("Download of value sets failed with exception. Service responded with status code: {}",
                 e.status());
             return;
@@ -69,10 +83,23 @@ public class ValueSetsDownloadServicePseImpl implements ValueSetsDownloadService
 
         log.info("Got Response from Service, Value sets index contains sets: {}", valueSetsList.size());
 
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_VALUE_SETS, valueSetsList.size());
+        String contentHash = downloadStateService.calculateContentHash(
+            valueSetsList.stream().map(ValueSetResponseDto::getHash));
+        if (downloadStateService.isContentUnchanged(CONTENT_KEY, contentHash, storedContentHash)) {
+            log.info("Value sets index is unchanged since last download. No data will be changed.");
+            downloadStateService.rememberValidators(INDEX_ENDPOINT, responseEntity.getHeaders().getETag(), null);
+            return;
+        }
+
         List<ValueSetItem> items = getValueSetItem(valueSetsList);
 
         if (!items.isEmpty()) {
             valueSetService.updateValueSets(items);
+            if (items.size() == valueSetsList.size()) {
+                downloadStateService.rememberContentHash(CONTENT_KEY, contentHash, storedContentHash());
+                downloadStateService.rememberValidators(INDEX_ENDPOINT, responseEntity.getHeaders().getETag(), null);
+            }
         } else {
             log.warn("The download of the bvalue sets seems to fail, as the download connector "
                 + "returns an empty list. No data will be changed.");
@@ -120,4 +147,8 @@ public class ValueSetsDownloadServicePseImpl implements ValueSetsDownloadService
 
         return item;
     }
+
+    private String storedContentHash() {
+        return downloadStateService.calculateContentHash(valueSetService.getValueSetsHashList().stream());
+    }
 }
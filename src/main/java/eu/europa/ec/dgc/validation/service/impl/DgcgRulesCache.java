@@ -1,69 +1,121 @@
 package eu.europa.ec.dgc.validation.service.impl;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import dgca.verifier.app.engine.data.Rule;
-import dgca.verifier.app.engine.data.source.remote.rules.RuleRemote;
-import dgca.verifier.app.engine.data.source.remote.rules.RuleRemoteMapperKt;
 import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
-import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
 import eu.europa.ec.dgc.validation.service.BusinessRuleService;
+import eu.europa.ec.dgc.validation.service.ParsedRuleRegistry;
 import eu.europa.ec.dgc.validation.service.RulesCache;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
 import java.time.Duration;
-import java.time.LocalTime;
+import java.time.Instant;
 import java.time.temporal.TemporalAmount;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.jetbrains.annotations.NotNull;
 import org.springframework.stereotype.Service;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class DgcgRulesCache implements RulesCache {
     private final BusinessRuleService businessRuleService;
-    private final ObjectMapper objectMapper;
-    private Map<String, List<Rule>> rulesMap = new HashMap<>();
-    private LocalTime expireTime;
+    private final ParsedRuleRegistry parsedRuleRegistry;
+    private final ValidationMetrics validationMetrics;
+    private final Map<String, CachedRules> rulesMap = new ConcurrentHashMap<>();
+    private volatile Instant nextRegistryPrune = Instant.MIN;
 
     private static final TemporalAmount expireSpan = Duration.ofMinutes(15);
 
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerCacheSize(ValidationMetrics.Cache.RULES, this, cache -> cache.rulesMap.size());
+    }
+
     /**
-     * provide rules.
+     * provide rules. The rules of a country of arrival and issuer country are reloaded from the database after
+     * expireSpan.
      * @param countryOfArrival countryOfArrival
      * @param issuerCountry issuerCountry
      * @return list of rules
      */
     public List<Rule> provideRules(String countryOfArrival, String issuerCountry) {
-        List<Rule> rules = rulesMap.get(countryOfArrival);
-        if (rules == null || expireTime == null || expireTime.isAfter(LocalTime.now())) {
-            rules = getRules(countryOfArrival, issuerCountry);
-            rulesMap.put(countryOfArrival, rules);
-            expireTime = LocalTime.now().plus(expireSpan);
+        // the rules of both countries are loaded, so both are part of the key
+        String key = countryOfArrival + '|' + issuerCountry;
+        Instant now = Instant.now();
+        CachedRules cached = rulesMap.get(key);
+        if (cached == null || !now.isBefore(cached.expireTime)) {
+            validationMetrics.cacheMiss(ValidationMetrics.Cache.RULES);
+            pruneRegistry();
+            List<Rule> rules = getRules(countryOfArrival, issuerCountry);
+            rulesMap.put(key, new CachedRules(rules, now.plus(expireSpan)));
+            return rules;
         }
-        return rules;
+        validationMetrics.cacheHit(ValidationMetrics.Cache.RULES);
+        return cached.rules;
+    }
+
+    /**
+     * Removes rules which are no longer stored from the registry, so instances which do not synchronize the rules
+     * do not keep replaced rules forever. Runs at most once per expire span.
+     */
+    private void pruneRegistry() {
+        Instant now = Instant.now();
+        if (now.isBefore(nextRegistryPrune)) {
+            return;
+        }
+        nextRegistryPrune = now.plus(expireSpan);
+        parsedRuleRegistry.retain(businessRuleService.getBusinessRulesHashList());
     }
 
     @NotNull
     private List<Rule> getRules(String countryOfArrival, String issuerCountry) {
         List<BusinessRuleListItemDto> rulesDto = businessRuleService.getBusinessRulesListForCountry(
             countryOfArrival, issuerCountry);
-        List<Rule> rules = new ArrayList<>();
+        Map<String, Rule> rulesByHash = new HashMap<>();
+        List<String> missingHashes = new ArrayList<>();
         for (BusinessRuleListItemDto ruleDto : rulesDto) {
-            BusinessRuleEntity ruleData = businessRuleService.getBusinessRuleByCountryAndHash(
-                ruleDto.getCountry(), ruleDto.getHash());
-            if (ruleData != null) {
-                try {
-                    RuleRemote ruleRemote = objectMapper.readValue(ruleData.getRawData(), RuleRemote.class);
-                    rules.add(RuleRemoteMapperKt.toRule(ruleRemote));
-                } catch (JsonProcessingException e) {
-                    throw new DccException("can not parse rule", e);
+            Rule rule = parsedRuleRegistry.get(ruleDto.getHash());
+            if (rule != null) {
+                rulesByHash.put(ruleDto.getHash(), rule);
+            } else if (!parsedRuleRegistry.isRejected(ruleDto.getHash())) {
+                missingHashes.add(ruleDto.getHash());
+            }
+        }
+        if (!missingHashes.isEmpty()) {
+            // rules synchronized by another instance are loaded in bulk and registered on first use
+            Map<String, String> rawDataByHash = new HashMap<>();
+            for (BusinessRuleEntity ruleData : businessRuleService.getBusinessRulesByHashes(missingHashes)) {
+                rawDataByHash.put(ruleData.getHash(), ruleData.getRawData());
+            }
+            Map<String, Rule> parsedRules = parsedRuleRegistry.getOrParseAll(rawDataByHash);
+            for (String hash : rawDataByHash.keySet()) {
+                if (!parsedRules.containsKey(hash)) {
+                    log.warn("Skipped invalid business rule {}", hash);
                 }
             }
+            rulesByHash.putAll(parsedRules);
+        }
+
+        List<Rule> rules = new ArrayList<>(rulesDto.size());
+        for (BusinessRuleListItemDto ruleDto : rulesDto) {
+            Rule rule = rulesByHash.get(ruleDto.getHash());
+            if (rule != null) {
+                rules.add(rule);
+            }
         }
         return rules;
     }
+
+    @RequiredArgsConstructor
+    private static final class CachedRules {
+        private final List<Rule> rules;
+        private final Instant expireTime;
+    }
 }
@@ -6,16 +6,18 @@ import dgca.verifier.app.engine.data.source.remote.valuesets.ValueSetRemote;
 import eu.europa.ec.dgc.validation.entity.ValueSetEntity;
 import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.restapi.dto.ValueSetListItemDto;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
 import eu.europa.ec.dgc.validation.service.ValueSetCache;
 import eu.europa.ec.dgc.validation.service.ValueSetService;
 import java.time.Duration;
-import java.time.LocalTime;
+import java.time.Instant;
 import java.time.temporal.TemporalAmount;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -24,21 +26,56 @@ import org.springframework.stereotype.Service;
 public class DgcgValueSetCache implements ValueSetCache {
     private final ObjectMapper objectMapper;
     private final ValueSetService valueSetService;
-    private Map<String, List<String>> valueSets;
-    private LocalTime expireTime;
+    private final ValidationMetrics validationMetrics;
+    private volatile VersionedValueSets current;
+    private volatile Instant expireTime;
 
     private static final TemporalAmount expireSpan = Duration.ofMinutes(15);
 
+    @PostConstruct
+    public void initMetrics() {
+        validationMetrics.registerCacheSize(ValidationMetrics.Cache.VALUE_SETS, this,
+            cache -> cache.current == null ? 0 : cache.current.getValueSets().size());
+    }
+
     /**
      * provide Value Sets.
      * @return value sets
      */
     public Map<String, List<String>> provideValueSets() {
-        if (valueSets == null || expireTime == null || expireTime.isAfter(LocalTime.now())) {
-            valueSets = getValueSets();
-            expireTime = LocalTime.now().plus(expireSpan);
+        return provideVersionedValueSets().getValueSets();
+    }
+
+    /**
+     * provide Value Sets with their version. They are reloaded from the database after expireSpan, the version is
+     * incremented if the reloaded value sets differ.
+     * @return value sets and version
+     */
+    @Override
+    public VersionedValueSets provideVersionedValueSets() {
+        if (isExpired()) {
+            synchronized (this) {
+                if (isExpired()) {
+                    validationMetrics.cacheMiss(ValidationMetrics.Cache.VALUE_SETS);
+                    Map<String, List<String>> loaded = getValueSets();
+                    VersionedValueSets previous = current;
+                    if (previous == null) {
+                        current = new VersionedValueSets(loaded, 1);
+                    } else if (!loaded.equals(previous.getValueSets())) {
+                        current = new VersionedValueSets(loaded, previous.getVersion() + 1);
+                    }
+                    expireTime = Instant.now().plus(expireSpan);
+                    return current;
+                }
+            }
         }
-        return valueSets;
+        validationMetrics.cacheHit(ValidationMetrics.Cache.VALUE_SETS);
+        return current;
+    }
+
+    private boolean isExpired() {
+        Instant expires = expireTime;
+        return current == null || expires == null || !Instant.now().isBefore(expires);
     }
 
     /**
@@ -1,9 +1,11 @@
 package eu.europa.ec.dgc.validation.service.impl;
 
 import eu.europa.ec.dgc.validation.service.TokenBlackListService;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
@@ -12,7 +14,9 @@ import org.springframework.stereotype.Service;
  */
 @Service
 @Profile("!redis")
+@RequiredArgsConstructor
 public class MemoryTokenBlackListService implements TokenBlackListService {
+    private final ValidationMetrics validationMetrics;
     private Set<String> blacklist = Collections.synchronizedSet(new HashSet<>());
 
     /**
@@ -23,6 +27,10 @@ public class MemoryTokenBlackListService implements TokenBlackListService {
      */
     @Override
     public boolean checkPutBlacklist(String jti, long expire) {
-        return blacklist.add(jti);
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.CHECK_PUT_BLACKLIST);
+        boolean added = blacklist.add(jti);
+        sample.stop();
+        return added;
     }
 }
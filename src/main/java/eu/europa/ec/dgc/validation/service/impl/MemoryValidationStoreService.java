@@ -1,6 +1,7 @@
 package eu.europa.ec.dgc.validation.service.impl;
 
 import eu.europa.ec.dgc.validation.entity.ValidationInquiry;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
 import eu.europa.ec.dgc.validation.service.ValidationStoreService;
 import java.util.HashMap;
 import lombok.RequiredArgsConstructor;
@@ -13,20 +14,31 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 @Profile("!redis")
 public class MemoryValidationStoreService implements ValidationStoreService {
+    private final ValidationMetrics validationMetrics;
     private HashMap<String, ValidationInquiry> validationStore = new HashMap<>();
 
     @Override
     public void storeValidation(ValidationInquiry validationInquiry) {
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.STORE);
         validationStore.put(validationInquiry.getSubject(), validationInquiry);
+        sample.stop();
     }
 
     @Override
     public ValidationInquiry receiveValidation(String subject) {
-        return validationStore.get(subject);
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.RECEIVE);
+        ValidationInquiry validationInquiry = validationStore.get(subject);
+        sample.stop();
+        return validationInquiry;
     }
 
     @Override
     public void updateValidation(ValidationInquiry validationInquiry) {
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.UPDATE);
         validationStore.put(validationInquiry.getSubject(), validationInquiry);
+        sample.stop();
     }
 }
@@ -1,6 +1,7 @@
 package eu.europa.ec.dgc.validation.service.impl;
 
 import eu.europa.ec.dgc.validation.service.TokenBlackListService;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
 import java.time.Duration;
 import java.time.Instant;
 import lombok.RequiredArgsConstructor;
@@ -13,20 +14,27 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class RedisTokenBackListService implements TokenBlackListService {
     private final StringRedisTemplate stringRedisTemplate;
+    private final ValidationMetrics validationMetrics;
     private static final String KEY_PREFIX = "jti:";
 
     @Override
     public boolean checkPutBlacklist(String jti, long expire) {
-        boolean success;
-        String key = KEY_PREFIX + jti;
-        String value = stringRedisTemplate.opsForValue().get(key);
-        if (value == null) {
-            long timeNow = Instant.now().getEpochSecond();
-            stringRedisTemplate.opsForValue().set(key, "jti", Duration.ofSeconds(expire - timeNow));
-            success = true;
-        } else {
-            success = false;
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.CHECK_PUT_BLACKLIST);
+        try {
+            boolean success;
+            String key = KEY_PREFIX + jti;
+            String value = stringRedisTemplate.opsForValue().get(key);
+            if (value == null) {
+                long timeNow = Instant.now().getEpochSecond();
+                stringRedisTemplate.opsForValue().set(key, "jti", Duration.ofSeconds(expire - timeNow));
+                success = true;
+            } else {
+                success = false;
+            }
+            return success;
+        } finally {
+            sample.stop();
         }
-        return success;
     }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.europa.ec.dgc.validation.entity.ValidationInquiry;
 import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.service.KeyProvider;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
 import eu.europa.ec.dgc.validation.service.ValidationStoreService;
 import java.nio.charset.StandardCharsets;
 import java.security.InvalidAlgorithmParameterException;
@@ -36,6 +37,7 @@ public class RedisValidationStoreService implements ValidationStoreService {
     private final StringRedisTemplate stringRedisTemplate;
     private final ObjectMapper objectMapper;
     private final KeyProvider keyProvider;
+    private final ValidationMetrics validationMetrics;
     private static final String KEY_PREFIX = "sub:";
 
     public static final int AES_KEY_SIZE = 128;
@@ -45,6 +47,8 @@ public class RedisValidationStoreService implements ValidationStoreService {
 
     @Override
     public void storeValidation(ValidationInquiry validationInquiry) {
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.STORE);
         try {
             long timeNow = Instant.now().getEpochSecond();
             stringRedisTemplate.opsForValue().set(KEY_PREFIX + validationInquiry.getSubject(),
@@ -54,6 +58,8 @@ public class RedisValidationStoreService implements ValidationStoreService {
             | NoSuchAlgorithmException | InvalidAlgorithmParameterException
             | InvalidKeyException | BadPaddingException | IllegalBlockSizeException e) {
             throw new DccException("can not serialize or encrypt ValidationInquiry", e);
+        } finally {
+            sample.stop();
         }
     }
 
@@ -97,24 +103,32 @@ public class RedisValidationStoreService implements ValidationStoreService {
 
     @Override
     public ValidationInquiry receiveValidation(String subject) {
-        String inquiry = stringRedisTemplate.opsForValue().get(KEY_PREFIX + subject);
-        ValidationInquiry validationInquiry;
-        if (inquiry != null) {
-            try {
-                validationInquiry = decryptPayload(subject, inquiry);
-            } catch (JsonProcessingException | NoSuchPaddingException | NoSuchAlgorithmException
-                | InvalidAlgorithmParameterException | InvalidKeyException
-                | BadPaddingException | IllegalBlockSizeException e) {
-                throw new DccException("can not deserialize ValidationInquiry", e);
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.RECEIVE);
+        try {
+            String inquiry = stringRedisTemplate.opsForValue().get(KEY_PREFIX + subject);
+            ValidationInquiry validationInquiry;
+            if (inquiry != null) {
+                try {
+                    validationInquiry = decryptPayload(subject, inquiry);
+                } catch (JsonProcessingException | NoSuchPaddingException | NoSuchAlgorithmException
+                    | InvalidAlgorithmParameterException | InvalidKeyException
+                    | BadPaddingException | IllegalBlockSizeException e) {
+                    throw new DccException("can not deserialize ValidationInquiry", e);
+                }
+            } else {
+                validationInquiry = null;
             }
-        } else {
-            validationInquiry = null;
+            return validationInquiry;
+        } finally {
+            sample.stop();
         }
-        return validationInquiry;
     }
 
     @Override
     public void updateValidation(ValidationInquiry validationInquiry) {
+        ValidationMetrics.StoreOperationSample sample =
+            validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.UPDATE);
         try {
             long timeNow = Instant.now().getEpochSecond();
             stringRedisTemplate.opsForValue().setIfAbsent(KEY_PREFIX + validationInquiry.getSubject(),
@@ -122,6 +136,8 @@ public class RedisValidationStoreService implements ValidationStoreService {
                 Duration.ofSeconds(validationInquiry.getExp() - timeNow));
         } catch (JsonProcessingException e) {
             throw new DccException("can not serialize ValidationInquiry", e);
+        } finally {
+            sample.stop();
         }
     }
 
@@ -1,5 +1,6 @@
 package eu.europa.ec.dgc.validation.token;
 
+import eu.europa.ec.dgc.validation.jfr.ResultTokenEvent;
 import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse.Result.ResultType;
@@ -62,6 +63,8 @@ public class ResultTokenBuilder {
                         PrivateKey privateKey,
                         String kid,
                         boolean privacy) {
+        ResultTokenEvent event = new ResultTokenEvent();
+        event.begin();
 
         String result = evaluateResult(results);
 
@@ -83,7 +86,7 @@ public class ResultTokenBuilder {
             .claim("category",category)
             .compact();
 
-        return builder.setHeaderParam("kid", kid)
+        String resultToken = builder.setHeaderParam("kid", kid)
             .setHeaderParam("alg", "ES256")
             .setSubject(subject)
             .setIssuer(issuer)
@@ -95,5 +98,14 @@ public class ResultTokenBuilder {
             .claim("results", privacy ? new ArrayList<ValidationStatusResponse.Result>() : badResults)
             .claim("result", result)
             .compact();
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.result = result;
+            event.resultCount = results.size();
+            event.privacy = privacy;
+            event.commit();
+        }
+        return resultToken;
     }
 }
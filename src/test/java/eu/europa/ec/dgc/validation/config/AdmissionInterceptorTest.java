@@ -0,0 +1,50 @@
+package eu.europa.ec.dgc.validation.config;
+
+import eu.europa.ec.dgc.validation.service.AdmissionLimiter;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import javax.servlet.DispatcherType;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionInterceptorTest {
+
+    @Test
+    void rejectedRequestGetsRetryAfter() {
+        AdmissionLimiter limiter = limiter(1);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(limiter, AdmissionLimiter.Endpoint.VALIDATE, 2);
+        assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(), null));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(new MockHttpServletRequest(), response, null));
+        assertEquals(503, response.getStatus());
+        assertEquals("2", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void asyncRequestIsReleasedOnceAfterAsyncDispatch() {
+        AdmissionLimiter limiter = limiter(10);
+        AdmissionInterceptor interceptor = new AdmissionInterceptor(limiter, AdmissionLimiter.Endpoint.VALIDATE, 1);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        request.setDispatcherType(DispatcherType.ASYNC);
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(1, limiter.getInFlight());
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static AdmissionLimiter limiter(int limit) {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getAdmission().setInitialLimit(limit);
+        dgcConfigProperties.getAdmission().setMinLimit(1);
+        return new AdmissionLimiter(dgcConfigProperties, new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+}
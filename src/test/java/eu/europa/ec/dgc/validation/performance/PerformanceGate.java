@@ -0,0 +1,141 @@
+package eu.europa.ec.dgc.validation.performance;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Assumptions;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Short single threaded measurement of throughput and allocated bytes per operation, compared against
+ * performance-baseline.json. A measurement fails if the throughput drops or the allocation grows by more than
+ * the tolerance (system property performance.tolerance, default 0.25).
+ *
+ * <p>With -Dperformance.recordBaseline=true nothing is compared, the measurements are written to
+ * target/performance-baseline.json instead, to be copied to src/test/resources on the reference machine.
+ * Operations without baseline are only recorded and skipped, so the gate stays in record-only mode until a
+ * measured baseline is committed.</p>
+ */
+@Slf4j
+class PerformanceGate {
+
+    static final String OPS_PER_SECOND = "opsPerSecond";
+
+    static final String BYTES_PER_OP = "bytesPerOp";
+
+    private static final String BASELINE = "performance-baseline.json";
+
+    private static final TypeReference<Map<String, Map<String, Double>>> BASELINE_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Allocation differences below this are noise, e.g. of lazily grown buffers.
+     */
+    private static final double ALLOCATION_SLACK_BYTES = 512;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final double tolerance = Double.parseDouble(System.getProperty("performance.tolerance", "0.25"));
+
+    private final boolean recordBaseline = Boolean.getBoolean("performance.recordBaseline");
+
+    private final long warmupNanos = TimeUnit.MILLISECONDS.toNanos(Long.getLong("performance.warmupMs", 2000));
+
+    private final long measurementNanos =
+        TimeUnit.MILLISECONDS.toNanos(Long.getLong("performance.measurementMs", 3000));
+
+    private final com.sun.management.ThreadMXBean threadMxBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, Map<String, Double>> baseline;
+
+    private final Map<String, Map<String, Double>> recorded = new TreeMap<>();
+
+    private int sink;
+
+    PerformanceGate() throws IOException {
+        try (InputStream is = PerformanceGate.class.getClassLoader().getResourceAsStream(BASELINE)) {
+            baseline = is == null ? Map.of() : objectMapper.readValue(is, BASELINE_TYPE);
+        }
+    }
+
+    /**
+     * Measures an operation and compares it with its baseline.
+     *
+     * @param name      operation name in the baseline
+     * @param operation operation, its result is consumed so it can not be optimized away
+     */
+    void check(String name, Callable<?> operation) throws Exception {
+        run(operation, warmupNanos);
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threadMxBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long operations = run(operation, measurementNanos);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double bytesPerOp = (double) (threadMxBean.getThreadAllocatedBytes(threadId) - allocatedBefore) / operations;
+        double opsPerSecond = operations / seconds;
+        log.info("{}: {} ops/s, {} bytes/op", name, String.format("%.1f", opsPerSecond),
+            String.format("%.0f", bytesPerOp));
+
+        Map<String, Double> expected = baseline.get(name);
+        if (recordBaseline || expected == null) {
+            recorded.put(name, Map.of(OPS_PER_SECOND, opsPerSecond, BYTES_PER_OP, bytesPerOp));
+        }
+        if (recordBaseline) {
+            return;
+        }
+        Assumptions.assumeTrue(expected != null, "no baseline for " + name + ", measurement recorded only");
+
+        double maxBytesPerOp = expected.get(BYTES_PER_OP) * (1 + tolerance) + ALLOCATION_SLACK_BYTES;
+        assertTrue(bytesPerOp <= maxBytesPerOp, String.format(
+            "%s allocates %.0f bytes/op, more than %.0f bytes/op (baseline %.0f)", name, bytesPerOp,
+            maxBytesPerOp, expected.get(BYTES_PER_OP)));
+        double minOpsPerSecond = expected.get(OPS_PER_SECOND) * (1 - tolerance);
+        assertTrue(opsPerSecond >= minOpsPerSecond, String.format(
+            "%s throughput %.1f ops/s is below %.1f ops/s (baseline %.1f)", name, opsPerSecond,
+            minOpsPerSecond, expected.get(OPS_PER_SECOND)));
+    }
+
+    /**
+     * Writes the recorded measurements, merged into the current baseline, to target/performance-baseline.json.
+     * Measurements of operations without baseline are written as well.
+     */
+    void writeRecordedBaseline() throws IOException {
+        if (recorded.isEmpty()) {
+            return;
+        }
+        Path target = Path.of("target", BASELINE);
+        Map<String, Map<String, Double>> merged = new TreeMap<>(baseline);
+        if (Files.exists(target)) {
+            merged.putAll(objectMapper.readValue(target.toFile(), BASELINE_TYPE));
+        }
+        merged.putAll(recorded);
+        Files.createDirectories(target.getParent());
+        objectMapper.writeValue(target.toFile(), merged);
+        log.info("Recorded baseline written to {}", target.toAbsolutePath());
+    }
+
+    private long run(Callable<?> operation, long durationNanos) throws Exception {
+        long operations = 0;
+        long end = System.nanoTime() + durationNanos;
+        do {
+            for (int i = 0; i < 10; i++) {
+                Object result = operation.call();
+                sink += result == null ? 0 : System.identityHashCode(result);
+            }
+            operations += 10;
+        } while (System.nanoTime() < end);
+        return operations;
+    }
+}
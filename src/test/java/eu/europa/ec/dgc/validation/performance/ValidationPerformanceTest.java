@@ -0,0 +1,201 @@
+package eu.europa.ec.dgc.validation.performance;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.decoder.base45.DefaultBase45Service;
+import dgca.verifier.app.decoder.compression.DefaultCompressorService;
+import dgca.verifier.app.decoder.cose.DefaultCoseService;
+import dgca.verifier.app.decoder.model.VerificationResult;
+import dgca.verifier.app.decoder.prefixvalidation.DefaultPrefixValidationService;
+import dgca.verifier.app.engine.CertLogicEngine;
+import dgca.verifier.app.engine.data.CertificateType;
+import dgca.verifier.app.engine.data.ExternalParameter;
+import dgca.verifier.app.engine.data.Rule;
+import eu.europa.ec.dgc.gateway.connector.model.TrustListItem;
+import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.entity.ValidationInquiry;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import eu.europa.ec.dgc.validation.service.DccValidator;
+import eu.europa.ec.dgc.validation.service.KeyProvider;
+import eu.europa.ec.dgc.validation.service.Mocks.RedisTemplateMock;
+import eu.europa.ec.dgc.validation.service.ParsedRuleRegistry;
+import eu.europa.ec.dgc.validation.service.SignerInformationService;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
+import eu.europa.ec.dgc.validation.service.ValidationServiceTest;
+import eu.europa.ec.dgc.validation.service.impl.RedisValidationStoreService;
+import eu.europa.ec.dgc.validation.token.AccessTokenBuilder;
+import eu.europa.ec.dgc.validation.token.AccessTokenParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Performance regression gate of the validation hot paths, see {@link PerformanceGate}. Excluded from the default
+ * build, run with mvn -Pperformance test.
+ */
+@SpringBootTest(properties = {"dgc.decodedDccCache.enabled=false", "dgc.signatureCache.enabled=false",
+    "dgc.ruleResultCache.enabled=false"})
+@Tag("performance")
+class ValidationPerformanceTest {
+
+    private static final String DCC = "HC1:NCF970%90T9WTWGVLK879%EHLE7A1KW8HX*4.AB3XK3F3D86*743F3ZU5.FK1JC X8Y50.FK6ZK7"
+        + ":EDOLFVC*70B$D% D3IA4W5646646/96OA76KCN9E%961A69L6QW6B46XJCCWENF6OF63W5NW6-96WJCT3E6N8WJC0FD4:473DSDDF+AKG7"
+        + "RCBA69C6A41AZM8JNA5N8LN9VY91OASTA.H9MB8I6A946.JCP9EJY8L/5M/5546.96D46%JCKQE:+9 8D3KC.SC4KCD3DX47B46IL6646"
+        + "I*6..DX%DLPCG/D$2DMIALY8/B9ZJC3/DIUADLFE4F-PDI3D7WERB8YTAUIAI3D1 C5LE6%E$PC5$CUZCY$5Y$5JPCT3E5JDOA7"
+        + "3467463W5WA6:68 GTFHDZUTOZLO2FL7OU9AQUOAR0NXHY78%$8L65Q93Z81AA60$DUF6XF4EJVUXG4UTN*2YG51UM/.2PGO8P"
+        + "I*GS8%LXKBJW8:G6O5";
+
+    private static final Path TEST_RESOURCES = Path.of("src/test/resources");
+
+    private static PerformanceGate performanceGate;
+
+    @Autowired
+    DccValidator dccValidator;
+
+    @Autowired
+    SignerInformationService signerInformationService;
+
+    @Autowired
+    CertLogicEngine certLogicEngine;
+
+    @Autowired
+    ParsedRuleRegistry parsedRuleRegistry;
+
+    @Autowired
+    KeyProvider keyProvider;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @BeforeAll
+    static void createGate() throws Exception {
+        performanceGate = new PerformanceGate();
+    }
+
+    @AfterAll
+    static void writeRecordedBaseline() throws Exception {
+        performanceGate.writeRecordedBaseline();
+    }
+
+    @Test
+    void decodeAndVerify() throws Exception {
+        KeyStore keyStore = KeyStore.getInstance("JKS");
+        try (InputStream is = Files.newInputStream(TEST_RESOURCES.resolve("dcc-sign-test.jks"))) {
+            keyStore.load(is, "dgca".toCharArray());
+        }
+        TrustListItem trustListItem = new TrustListItem();
+        trustListItem.setKid(Base64.getEncoder().encodeToString(kid(DCC)));
+        trustListItem.setRawData(
+            Base64.getEncoder().encodeToString(keyStore.getCertificate("edgc_dev_ec").getEncoded()));
+        trustListItem.setTimestamp(ZonedDateTime.now());
+        signerInformationService.updateTrustedCertsList(Collections.singletonList(trustListItem));
+        AccessTokenConditions conditions = conditions();
+
+        List<ValidationStatusResponse.Result> results =
+            dccValidator.validate(DCC, conditions, AccessTokenType.Cryptographic, true);
+        assertTrue(results.stream().noneMatch(result -> result.getDetails().contains("signature invalid")
+            || result.getDetails().contains("unknown dcc signing kid")), "fixture signature must verify: " + results);
+
+        performanceGate.check("decodeAndVerify",
+            () -> dccValidator.validate(DCC, conditions, AccessTokenType.Cryptographic, true));
+    }
+
+    @Test
+    void ruleEvaluation() throws Exception {
+        List<Rule> rules = Collections.singletonList(
+            parsedRuleRegistry.parse(Files.readString(TEST_RESOURCES.resolve("rule.json"))));
+        String payload = Files.readString(TEST_RESOURCES.resolve("hcert.json"));
+        ZonedDateTime validationClock = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+        Map<String, List<String>> valueSets = new HashMap<>();
+        ExternalParameter externalParameter = new ExternalParameter(validationClock, valueSets, "DE",
+            validationClock.plusYears(1), validationClock.minusDays(30), "DE", "kid", "");
+
+        performanceGate.check("ruleEvaluation", () -> certLogicEngine.validate(CertificateType.VACCINATION, "1.0.0",
+            rules, externalParameter, payload));
+    }
+
+    @Test
+    void tokenSignAndVerify() throws Exception {
+        PrivateKey privateKey = ValidationServiceTest.parsePrivateKey(ValidationServiceTest.EC_PRIVATE_KEY);
+        PublicKey publicKey = ValidationServiceTest.parsePublicKey(ValidationServiceTest.EC_PUBLIC_KEY);
+        AccessTokenParser accessTokenParser = new AccessTokenParser();
+        AccessTokenPayload accessTokenPayload = new AccessTokenPayload();
+        accessTokenPayload.setSub("sub");
+        accessTokenPayload.setIss("iss");
+        accessTokenPayload.setType(AccessTokenType.Cryptographic.intValue());
+        accessTokenPayload.setVersion("1.0");
+        accessTokenPayload.setJti("jti");
+        accessTokenPayload.setIat(Instant.now().getEpochSecond());
+        accessTokenPayload.setExp(Instant.now().getEpochSecond() + 60 * 60);
+        accessTokenPayload.setConditions(conditions());
+
+        performanceGate.check("tokenSignAndVerify", () -> accessTokenParser.parseToken(
+            new AccessTokenBuilder().payload(accessTokenPayload).build(privateKey, "kid"), publicKey));
+    }
+
+    @Test
+    void storeRoundTrip() throws Exception {
+        RedisValidationStoreService validationStoreService = new RedisValidationStoreService(
+            new RedisTemplateMock(), objectMapper, keyProvider, new ValidationMetrics(new SimpleMeterRegistry()));
+        ValidationInquiry validationInquiry = new ValidationInquiry();
+        validationInquiry.setSubject("0d3bd79f-5cb6-4ab6-a1e4-6e0fbb0b5a27");
+        validationInquiry.setValidationStatus(ValidationInquiry.ValidationStatus.READY);
+        validationInquiry.setPublicKey(ValidationServiceTest.EC_PUBLIC_KEY);
+        validationInquiry.setKeyType("EC");
+        validationInquiry.setNonce(new byte[16]);
+        validationInquiry.setExp(Instant.now().plusSeconds(3600).getEpochSecond());
+
+        performanceGate.check("storeRoundTrip", () -> {
+            validationStoreService.storeValidation(validationInquiry);
+            return validationStoreService.receiveValidation(validationInquiry.getSubject());
+        });
+    }
+
+    private static byte[] kid(String dcc) {
+        VerificationResult verificationResult = new VerificationResult();
+        byte[] cose = new DefaultCompressorService().decode(new DefaultBase45Service().decode(
+            new DefaultPrefixValidationService().decode(dcc, verificationResult), verificationResult),
+            verificationResult);
+        return new DefaultCoseService().decode(cose, verificationResult).getKid();
+    }
+
+    private static AccessTokenConditions conditions() throws Exception {
+        AccessTokenConditions accessTokenConditions = new AccessTokenConditions();
+        accessTokenConditions.setHash(new CertificateUtils().calculateHash(DCC.getBytes(StandardCharsets.UTF_8)));
+        accessTokenConditions.setLang("en-en");
+        accessTokenConditions.setFnt("TRZEWIK");
+        accessTokenConditions.setGnt("ARTUR");
+        accessTokenConditions.setDob("1990-01-01");
+        accessTokenConditions.setCoa("NL");
+        accessTokenConditions.setCod("DE");
+        accessTokenConditions.setRoa("AW");
+        accessTokenConditions.setRod("BW");
+        accessTokenConditions.setType(new String[]{"v", "t"});
+        accessTokenConditions.setValidationClock("2021-08-29T12:00:00+01:00");
+        accessTokenConditions.setValidFrom("2021-01-29T12:00:00+01:00");
+        accessTokenConditions.setValidTo("2021-01-30T12:00:00+01:00");
+        return accessTokenConditions;
+    }
+}
@@ -0,0 +1,49 @@
+package eu.europa.ec.dgc.validation.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that the lookup queries of the repositories are served by the indexes from the liquibase changelog
+ * (H2 runs in PostgreSQL mode, see test application.yml).
+ */
+@SpringBootTest
+class LookupIndexTest {
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void signerLookupByKidUsesIndex() {
+        String plan = explain("SELECT id, kid, created_at, raw_data FROM signer_information_vs WHERE kid = 'kid'");
+        assertTrue(plan.contains("idx_signer_information_kid"), plan);
+    }
+
+    @Test
+    void businessRuleListByCountryUsesCoveringIndex() {
+        String plan = explain("SELECT identifier_name, version, country_code, hash FROM business_rules_vs"
+            + " WHERE country_code IN ('DE', 'NL') ORDER BY identifier_name");
+        assertTrue(plan.contains("idx_business_rules_country_list"), plan);
+    }
+
+    @Test
+    void businessRuleLookupByCountryAndHashUsesPrimaryKey() {
+        String plan = explain("SELECT hash, raw_data FROM business_rules_vs WHERE country_code = 'DE'"
+            + " AND hash = 'b7a5e5ef1d3f1dfd1c2a4a1e8b47e71a7b7e5a8b3b5d6c3f2e1d0c9b8a7f6e5d'");
+        assertTrue(plan.contains("primary_key"), plan);
+    }
+
+    @Test
+    void valueSetLookupByHashUsesPrimaryKey() {
+        String plan = explain("SELECT hash, raw_data FROM valuesets_vs WHERE hash = 'hash'");
+        assertTrue(plan.contains("primary_key"), plan);
+    }
+
+    private String explain(String query) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + query, String.class).toLowerCase();
+    }
+}
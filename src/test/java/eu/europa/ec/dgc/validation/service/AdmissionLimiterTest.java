@@ -0,0 +1,97 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long SLOW = TimeUnit.SECONDS.toNanos(5);
+
+    @Test
+    void requestsAboveLimitAreRejected() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdmissionLimiter limiter = limiter(config(4), meterRegistry);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(AdmissionLimiter.Endpoint.VALIDATE));
+        }
+        assertFalse(limiter.tryAcquire(AdmissionLimiter.Endpoint.STATUS));
+        assertEquals(4, limiter.getInFlight());
+        assertEquals(1.0, meterRegistry.get("dgc.admission.rejected").tag("endpoint", "status")
+            .functionCounter().count());
+
+        limiter.release(FAST, false);
+        assertTrue(limiter.tryAcquire(AdmissionLimiter.Endpoint.STATUS));
+    }
+
+    @Test
+    void initializeOnlyUsesShareOfLimit() {
+        AdmissionLimiter limiter = limiter(config(4), new SimpleMeterRegistry());
+
+        assertTrue(limiter.tryAcquire(AdmissionLimiter.Endpoint.INITIALIZE));
+        assertTrue(limiter.tryAcquire(AdmissionLimiter.Endpoint.INITIALIZE));
+        assertFalse(limiter.tryAcquire(AdmissionLimiter.Endpoint.INITIALIZE));
+        assertTrue(limiter.tryAcquire(AdmissionLimiter.Endpoint.VALIDATE));
+        assertTrue(limiter.tryAcquire(AdmissionLimiter.Endpoint.STATUS));
+    }
+
+    @Test
+    void limitFollowsLatency() {
+        AdmissionLimiter limiter = limiter(config(20), new SimpleMeterRegistry());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire(AdmissionLimiter.Endpoint.VALIDATE);
+        }
+        limiter.release(FAST, false);
+        assertEquals(21, limiter.getLimit());
+
+        limiter.release(SLOW, false);
+        assertEquals(18, limiter.getLimit());
+        limiter.release(FAST, true);
+        assertEquals(18, limiter.getLimit());
+        for (int i = 0; i < 7; i++) {
+            limiter.release(SLOW, false);
+        }
+        assertEquals(18, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+
+        limiter.tryAcquire(AdmissionLimiter.Endpoint.VALIDATE);
+        limiter.release(FAST, true);
+        assertEquals(17, limiter.getLimit());
+
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire(AdmissionLimiter.Endpoint.VALIDATE);
+            limiter.release(SLOW, false);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void limitIsNotIncreasedWhenMostlyIdle() {
+        AdmissionLimiter limiter = limiter(config(20), new SimpleMeterRegistry());
+
+        limiter.tryAcquire(AdmissionLimiter.Endpoint.VALIDATE);
+        limiter.release(FAST, false);
+
+        assertEquals(20, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    private static DgcConfigProperties config(int initialLimit) {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getAdmission().setInitialLimit(initialLimit);
+        dgcConfigProperties.getAdmission().setMinLimit(initialLimit / 2);
+        return dgcConfigProperties;
+    }
+
+    private static AdmissionLimiter limiter(DgcConfigProperties dgcConfigProperties,
+                                            SimpleMeterRegistry meterRegistry) {
+        return new AdmissionLimiter(dgcConfigProperties, new ValidationMetrics(meterRegistry));
+    }
+}
@@ -0,0 +1,96 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchItem;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchResult;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class BulkValidationRunnerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void resultsReferToInputLines() throws Exception {
+        DccValidator dccValidator = mock(DccValidator.class);
+        List<Integer> chunkSizes = new ArrayList<>();
+        doAnswer(invocation -> {
+            List<ValidationBatchItem> items = invocation.getArgument(0);
+            Consumer<ValidationBatchResult> consumer = invocation.getArgument(2);
+            chunkSizes.add(items.size());
+            for (int i = items.size() - 1; i >= 0; i--) {
+                ValidationBatchResult result = new ValidationBatchResult();
+                result.setIndex(i);
+                result.setId(items.get(i).getId());
+                result.setResults(Collections.singletonList(new ValidationStatusResponse.Result()));
+                consumer.accept(result);
+            }
+            return null;
+        }).when(dccValidator).validateBatch(any(), any(), any());
+        BulkValidationRunner runner = new BulkValidationRunner(new DgcConfigProperties(), dccValidator,
+            objectMapper, null, null, null, null, null);
+
+        String input = "{\"id\":\"a\",\"dcc\":\"HC1:a\"}\n"
+            + "\n"
+            + "{\"id\":\"b\",\"dcc\":\"HC1:b\"}\n"
+            + "not json\n"
+            + "{\"id\":\"c\",\"dcc\":\"HC1:c\"}\n";
+        StringWriter output = new StringWriter();
+        int records = runner.validate(new BufferedReader(new StringReader(input)), output, 2, null);
+
+        assertEquals(4, records);
+        assertEquals(List.of(2, 1), chunkSizes);
+        Map<Integer, ValidationBatchResult> byLine = new HashMap<>();
+        for (String line : output.toString().split("\n")) {
+            ValidationBatchResult result = objectMapper.readValue(line, ValidationBatchResult.class);
+            byLine.put(result.getIndex(), result);
+        }
+        assertEquals(4, byLine.size());
+        assertEquals("a", byLine.get(0).getId());
+        assertEquals("b", byLine.get(2).getId());
+        assertNotNull(byLine.get(3).getError());
+        assertNull(byLine.get(3).getResults());
+        assertEquals("c", byLine.get(4).getId());
+    }
+
+    @Test
+    void snapshotFilesAreOnlyHeldInMemory(@TempDir Path snapshotDir) throws Exception {
+        Files.writeString(snapshotDir.resolve("valuesets.json"),
+            "{\"disease-agent-targeted\":{\"valueSetValues\":{\"840539006\":{}}}}");
+        Files.writeString(snapshotDir.resolve("dsc.json"), "[{\"kid\":\"kid\",\"rawData\":\"raw\"}]");
+        SignerInformationService signerInformationService = mock(SignerInformationService.class);
+        ValueSetCache valueSetCache = mock(ValueSetCache.class);
+        BulkValidationRunner runner = new BulkValidationRunner(new DgcConfigProperties(), mock(DccValidator.class),
+            objectMapper, null, null, valueSetCache, signerInformationService, null);
+
+        ValidationSnapshot snapshot = runner.loadSnapshot(snapshotDir);
+
+        assertEquals(List.of("840539006"), snapshot.provideValueSets().get("disease-agent-targeted"));
+        snapshot.getCertificates("kid");
+        verify(signerInformationService).parseCertificates(List.of("raw"));
+        verify(signerInformationService, never()).updateTrustedCertsList(any());
+        verify(signerInformationService, never()).getRawCertificatesByKid();
+        verifyNoInteractions(valueSetCache);
+    }
+}
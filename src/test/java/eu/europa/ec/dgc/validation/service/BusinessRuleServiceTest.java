@@ -0,0 +1,97 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dgca.verifier.app.engine.DefaultJsonLogicValidator;
+import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
+import eu.europa.ec.dgc.validation.model.BusinessRuleItem;
+import eu.europa.ec.dgc.validation.repository.BusinessRuleRepository;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class BusinessRuleServiceTest {
+
+    private BusinessRuleRepository businessRuleRepository;
+    private ParsedRuleRegistry parsedRuleRegistry;
+    private BusinessRuleService businessRuleService;
+
+    @BeforeEach
+    void setup() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        businessRuleRepository = mock(BusinessRuleRepository.class);
+        doReturn(new ArrayList<>()).when(businessRuleRepository).findAllByOrderByIdentifierAsc();
+        parsedRuleRegistry = new ParsedRuleRegistry(objectMapper,
+            new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(), true));
+        businessRuleService = new BusinessRuleService(businessRuleRepository, new CertificateUtils(),
+            parsedRuleRegistry);
+    }
+
+    @Test
+    void invalidRulesAreRejectedOnUpdate() throws Exception {
+        BusinessRuleItem validRule = ruleItem("valid", Files.readString(Path.of("src/test/resources/testrule.json")));
+        BusinessRuleItem invalidRule = ruleItem("invalid", "{\"Identifier\":\"VR-DE-2\",\"Logic\":");
+
+        businessRuleService.updateBusinessRules(Arrays.asList(validRule, invalidRule));
+
+        ArgumentCaptor<BusinessRuleEntity> saved = ArgumentCaptor.forClass(BusinessRuleEntity.class);
+        verify(businessRuleRepository, times(1)).save(saved.capture());
+        assertEquals("valid", saved.getValue().getHash());
+        verify(businessRuleRepository).deleteByHashNotIn(Collections.singletonList("valid"));
+
+        assertNotNull(parsedRuleRegistry.get("valid"));
+        assertEquals("VR-DE-1", parsedRuleRegistry.get("valid").getIdentifier());
+        assertNull(parsedRuleRegistry.get("invalid"));
+    }
+
+    @Test
+    void removedRulesAreDroppedFromRegistry() throws Exception {
+        String rawData = Files.readString(Path.of("src/test/resources/testrule.json"));
+        businessRuleService.updateBusinessRules(Collections.singletonList(ruleItem("first", rawData)));
+        assertNotNull(parsedRuleRegistry.get("first"));
+
+        businessRuleService.updateBusinessRules(Collections.singletonList(ruleItem("second", rawData)));
+        assertNull(parsedRuleRegistry.get("first"));
+        assertNotNull(parsedRuleRegistry.get("second"));
+    }
+
+    @Test
+    void storedRulesAreKeptIfNoDownloadedRuleIsValid() throws Exception {
+        String rawData = Files.readString(Path.of("src/test/resources/testrule.json"));
+        businessRuleService.updateBusinessRules(Collections.singletonList(ruleItem("stored", rawData)));
+
+        businessRuleService.updateBusinessRules(Collections.singletonList(ruleItem("invalid", "{")));
+
+        verify(businessRuleRepository, never()).deleteAll();
+        verify(businessRuleRepository, times(1)).deleteByHashNotIn(anyList());
+        verify(businessRuleRepository, times(1)).save(any());
+        assertNotNull(parsedRuleRegistry.get("stored"));
+        assertTrue(parsedRuleRegistry.isRejected("invalid"));
+    }
+
+    private BusinessRuleItem ruleItem(String hash, String rawData) {
+        BusinessRuleItem item = new BusinessRuleItem();
+        item.setHash(hash);
+        item.setIdentifier("VR-DE-1");
+        item.setVersion("1.0.0");
+        item.setCountry("DE");
+        item.setRawData(rawData);
+        return item;
+    }
+}
@@ -0,0 +1,133 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import dgca.verifier.app.engine.DefaultJsonLogicValidator;
+import dgca.verifier.app.engine.JsonLogicValidator;
+import dgca.verifier.app.engine.data.Rule;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+class CompiledJsonLogicValidatorTest {
+
+    private static final String DATA = "{\"payload\":{\"v\":[{\"dn\":2,\"sd\":2,\"mp\":\"EU/1/20/1528\"}],"
+        + "\"nam\":{\"fnt\":\"TRZEWIK\"}},\"external\":{\"valueSets\":{\"vaccines\":[\"EU/1/20/1528\"]},"
+        + "\"countryCode\":\"DE\"}}";
+
+    private static final List<String> LOGICS = List.of(
+        "{\">=\":[{\"var\":\"payload.v.0.dn\"},1]}",
+        "{\"<\":[{\"var\":\"payload.v.0.dn\"},{\"var\":\"payload.v.0.sd\"}]}",
+        "{\"<=\":[1,{\"var\":\"payload.v.0.dn\"},{\"var\":\"payload.v.0.sd\"}]}",
+        "{\"and\":[{\"var\":\"payload.v.0\"},{\"===\":[{\"var\":\"payload.v.0.dn\"},{\"var\":\"payload.v.0.sd\"}]}]}",
+        "{\"in\":[{\"var\":\"payload.v.0.mp\"},{\"var\":\"external.valueSets.vaccines\"}]}",
+        "{\"in\":[{\"var\":\"external.countryCode\"},[\"NL\",\"AT\"]]}",
+        "{\"if\":[{\"var\":\"payload.r.0\"},false,{\"!\":[{\"var\":\"payload.t\"}]}]}",
+        "{\"===\":[{\"+\":[{\"var\":\"payload.v.0.dn\"},1]},3]}",
+        "{\"===\":[{\"var\":\"payload.nam.fnt\"},\"TRZEWIK\"]}",
+        "{\"!\":[{\"var\":\"payload.v.1.dn\"}]}");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compiledRulesMatchRuleEngine() throws Exception {
+        JsonLogicValidator delegate = spy(new DefaultJsonLogicValidator());
+        CompiledJsonLogicValidator validator = new CompiledJsonLogicValidator(delegate, true);
+        JsonNode data = objectMapper.readTree(DATA);
+
+        for (String logic : LOGICS) {
+            JsonNode logicNode = objectMapper.readTree(logic);
+            validator.compile(logicNode);
+            assertEquals(new DefaultJsonLogicValidator().isDataValid(logicNode, data),
+                validator.isDataValid(logicNode, data), logic);
+        }
+        assertEquals(LOGICS.size(), validator.size());
+        verify(delegate, never()).isDataValid(any(), any());
+    }
+
+    @Test
+    void unsupportedLogicIsEvaluatedByRuleEngine() throws Exception {
+        JsonLogicValidator delegate = mock(JsonLogicValidator.class);
+        CompiledJsonLogicValidator validator = new CompiledJsonLogicValidator(delegate, true);
+        JsonNode data = objectMapper.readTree(DATA);
+        JsonNode dateLogic = objectMapper.readTree(
+            "{\"not-after\":[{\"plusTime\":[{\"var\":\"payload.v.0.dt\"},0,\"day\"]},"
+                + "{\"plusTime\":[{\"var\":\"external.validationClock\"},0,\"day\"]}]}");
+        JsonNode textComparison = objectMapper.readTree("{\">=\":[{\"var\":\"payload.nam.fnt\"},1]}");
+
+        validator.compile(dateLogic);
+        validator.compile(textComparison);
+        validator.isDataValid(dateLogic, data);
+        validator.isDataValid(textComparison, data);
+
+        assertEquals(1, validator.size());
+        verify(delegate).isDataValid(dateLogic, data);
+        verify(delegate).isDataValid(textComparison, data);
+    }
+
+    @Test
+    void comparisonChecksEveryOperand() throws Exception {
+        JsonLogicValidator delegate = mock(JsonLogicValidator.class);
+        CompiledJsonLogicValidator validator = new CompiledJsonLogicValidator(delegate, true);
+        JsonNode data = objectMapper.readTree(DATA);
+        JsonNode missingOperand = objectMapper.readTree("{\"<\":[5,3,{\"var\":\"payload.missing\"}]}");
+        JsonNode textOperand = objectMapper.readTree("{\">\":[3,5,{\"var\":\"payload.nam.fnt\"}]}");
+
+        validator.compileAll(List.of(missingOperand, textOperand));
+        validator.isDataValid(missingOperand, data);
+        validator.isDataValid(textOperand, data);
+
+        assertEquals(2, validator.size());
+        verify(delegate).isDataValid(missingOperand, data);
+        verify(delegate).isDataValid(textOperand, data);
+    }
+
+    @Test
+    void evaluationTimeIsRecordedWhileTimingsAreBound() throws Exception {
+        CompiledJsonLogicValidator validator = new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(), true);
+        Rule rule = new ParsedRuleRegistry(objectMapper.copy().registerModule(new JavaTimeModule()), validator)
+            .parse(Files.readString(Path.of("src/test/resources/rule.json")));
+        JsonNode data = objectMapper.readTree(DATA);
+
+        validator.isDataValid(rule.getLogic(), data);
+        RuleTimings ruleTimings = new RuleTimings();
+        assertTrue(ruleTimings.getNanosByIdentifier().isEmpty());
+        ruleTimings.begin(List.of(rule));
+        try {
+            validator.isDataValid(rule.getLogic(), data);
+        } finally {
+            ruleTimings.end();
+        }
+
+        assertEquals(Set.of("VR-DE-1"), ruleTimings.getNanosByIdentifier().keySet());
+    }
+
+    @Test
+    void programsFollowRegisteredRules() throws Exception {
+        JsonLogicValidator delegate = mock(JsonLogicValidator.class);
+        CompiledJsonLogicValidator disabled = new CompiledJsonLogicValidator(delegate, false);
+        JsonNode logic = objectMapper.readTree(LOGICS.get(0));
+        disabled.compile(logic);
+        assertEquals(0, disabled.size());
+
+        CompiledJsonLogicValidator validator = new CompiledJsonLogicValidator(delegate, true);
+        validator.compile(logic);
+        validator.compileAll(List.of(logic, objectMapper.readTree(LOGICS.get(0))));
+        assertEquals(2, validator.size());
+        validator.retain(Collections.singletonList(logic));
+        assertEquals(1, validator.size());
+        assertEquals(true, validator.isDataValid(logic, objectMapper.readTree(DATA)));
+        verify(delegate, never()).isDataValid(any(), any());
+    }
+}
@@ -26,7 +26,6 @@ import dgca.verifier.app.engine.AffectedFieldsDataRetriever;
 import dgca.verifier.app.engine.CertLogicEngine;
 import dgca.verifier.app.engine.DefaultCertLogicEngine;
 import dgca.verifier.app.engine.DefaultJsonLogicValidator;
-import dgca.verifier.app.engine.JsonLogicValidator;
 import dgca.verifier.app.engine.Result;
 import dgca.verifier.app.engine.data.CertificateType;
 import dgca.verifier.app.engine.data.Rule;
@@ -34,12 +33,17 @@ import dgca.verifier.app.engine.data.RuleCertificateType;
 import dgca.verifier.app.engine.data.Type;
 import dgca.verifier.app.engine.data.ValueSet;
 import eu.europa.ec.dgc.utils.CertificateUtils;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.entity.BusinessRuleEntity;
 import eu.europa.ec.dgc.validation.entity.ValueSetEntity;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
 import eu.europa.ec.dgc.validation.restapi.dto.BusinessRuleListItemDto;
 import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchItem;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationBatchResult;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse;
 import eu.europa.ec.dgc.validation.restapi.dto.ValueSetListItemDto;
 import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse.Result.ResultType;
@@ -48,11 +52,13 @@ import eu.europa.ec.dgc.validation.service.Mocks.ValueSetCacheMock;
 import eu.europa.ec.dgc.validation.service.impl.DgcgRulesCache;
 import eu.europa.ec.dgc.validation.service.impl.DgcgValueSetCache;
 import io.jsonwebtoken.lang.Assert;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -61,6 +67,8 @@ import java.security.cert.Certificate;
 import java.security.cert.X509Certificate;
 import java.time.ZonedDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import liquibase.pro.packaged.C;
 import org.aspectj.lang.annotation.Before;
@@ -99,17 +107,32 @@ class DccValidatorTest {
         valueSetService = mock(ValueSetService.class);
         AffectedFieldsDataRetriever affectedFieldsDataRetriever = mock(AffectedFieldsDataRetriever.class);
         doReturn("").when(affectedFieldsDataRetriever).getAffectedFieldsData(any(), any(), any());
-        JsonLogicValidator jsonLogicValidator = new DefaultJsonLogicValidator();
+        CompiledJsonLogicValidator jsonLogicValidator =
+            new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(), true);
         certLogicEngine = new DefaultCertLogicEngine(affectedFieldsDataRetriever, jsonLogicValidator);
-        ValueSetCache valueSetCache = new DgcgValueSetCache(objectMapper, valueSetService);
-        RulesCache rulesCache = new DgcgRulesCache(businessRuleService, objectMapper);
+        ValidationMetrics validationMetrics = new ValidationMetrics(new SimpleMeterRegistry());
+        ValueSetCache valueSetCache = new DgcgValueSetCache(objectMapper, valueSetService, validationMetrics);
+        RulesCache rulesCache = new DgcgRulesCache(businessRuleService, new ParsedRuleRegistry(objectMapper,
+            jsonLogicValidator), validationMetrics);
         ResourceBundleMessageSource source = new ResourceBundleMessageSource();
         source.setBasenames("messages/dcc");
         source.setUseCodeAsDefaultMessage(true);
-        dccValidator = new DccValidator(signerInformationService, certLogicEngine, certificateUtils, valueSetCache, rulesCache, source);
+        dccValidator = new DccValidator(signerInformationService, certLogicEngine, certificateUtils, valueSetCache, rulesCache,
+            new ValidationMessageTable(source, new DgcConfigProperties()), validationMetrics, new DecodedDccCache(new DgcConfigProperties(), validationMetrics),
+            new SignatureVerificationCache(new DgcConfigProperties(), validationMetrics),
+            new ValidationStageExecutor(new DgcConfigProperties(), validationMetrics),
+            new BatchValidationExecutor(batchConfig(), validationMetrics),
+            new RuleResultCache(new DgcConfigProperties(), validationMetrics));
         dccValidator.initMapper();
     }
 
+    private DgcConfigProperties batchConfig() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getBatchValidation().setParallelism(2);
+        dgcConfigProperties.getBatchValidation().setMaxItems(3);
+        return dgcConfigProperties;
+    }
+
     @Test
     void testDecodeDccWrongPrefix() throws Exception {
         String dcc = "dccwrongprefix";
@@ -118,6 +141,79 @@ class DccValidatorTest {
         assertEquals(ValidationStatusResponse.Result.ResultType.NOK, results.get(0).getResult());
     }
 
+    @Test
+    void testStagesAreRecordedUntilShortCircuit() throws Exception {
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        dccValidator.validate("HC1:_???", buildConditions(), AccessTokenType.Structure, true, stageRecorder);
+        assertTrue(stageRecorder.isRecorded(ValidationStage.PREFIX));
+        assertTrue(stageRecorder.isRecorded(ValidationStage.BASE45));
+        assertFalse(stageRecorder.isRecorded(ValidationStage.DECOMPRESSION));
+        assertEquals(ValidationStage.BASE45, stageRecorder.getShortCircuitStage());
+        assertTrue(stageRecorder.toServerTiming().startsWith("prefix;dur="));
+    }
+
+    @Test
+    void testValidateBatchReportsEveryItem() {
+        List<ValidationBatchItem> items = new ArrayList<>();
+        items.add(batchItem("wrong-prefix", "dccwrongprefix"));
+        items.add(batchItem("wrong-base45", "HC1:_???"));
+        ValidationBatchItem missingPayload = new ValidationBatchItem();
+        missingPayload.setId("missing-payload");
+        missingPayload.setDcc("HC1:_???");
+        items.add(missingPayload);
+
+        Queue<ValidationBatchResult> batchResults = new ConcurrentLinkedQueue<>();
+        dccValidator.validateBatch(items, batchResults::add);
+
+        assertEquals(3, batchResults.size());
+        Map<Integer, ValidationBatchResult> byIndex = new HashMap<>();
+        batchResults.forEach(batchResult -> byIndex.put(batchResult.getIndex(), batchResult));
+        assertEquals("wrong-prefix", byIndex.get(0).getId());
+        assertEquals(ResultType.NOK, byIndex.get(0).getResults().get(0).getResult());
+        assertEquals("wrong-base45", byIndex.get(1).getId());
+        assertEquals(ResultType.NOK, byIndex.get(1).getResults().get(0).getResult());
+        assertNull(byIndex.get(2).getResults());
+        assertNotNull(byIndex.get(2).getError());
+    }
+
+    @Test
+    void testValidateBatchRejectsTooManyItems() {
+        List<ValidationBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            items.add(batchItem(String.valueOf(i), "dccwrongprefix"));
+        }
+        DccException exception = assertThrows(DccException.class,
+            () -> dccValidator.validateBatch(items, batchResult -> fail("no item must be validated")));
+        assertEquals(400, exception.getStatus());
+    }
+
+    @Test
+    void testValidateBatchStopsWhenConsumerFails() {
+        List<ValidationBatchItem> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(batchItem(String.valueOf(i), "dccwrongprefix"));
+        }
+        AtomicInteger consumed = new AtomicInteger();
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class,
+            () -> dccValidator.validateBatch(items, batchResult -> {
+                consumed.incrementAndGet();
+                throw new UncheckedIOException(new IOException("client disconnected"));
+            }));
+        assertEquals("client disconnected", exception.getCause().getMessage());
+        assertTrue(consumed.get() >= 1);
+    }
+
+    private ValidationBatchItem batchItem(String id, String dcc) {
+        AccessTokenPayload accessTokenPayload = new AccessTokenPayload();
+        accessTokenPayload.setType(AccessTokenType.Structure.intValue());
+        accessTokenPayload.setConditions(buildConditions());
+        ValidationBatchItem item = new ValidationBatchItem();
+        item.setId(id);
+        item.setDcc(dcc);
+        item.setAccessTokenPayload(accessTokenPayload);
+        return item;
+    }
+
     @Test
     void testDecodeDccWrongBase45() throws Exception {
         String dcc = "HC1:_???";
@@ -438,6 +534,7 @@ class DccValidatorTest {
         businessRuleEntity.setRawData(Files.readString(Path.of("src/test/resources/testrule.json")));
         doReturn(ruleListItemDtos).when(businessRuleService).getBusinessRulesListForCountry(anyString(), anyString());
         doReturn(businessRuleEntity).when(businessRuleService).getBusinessRuleByCountryAndHash(anyString(), anyString());
+        doReturn(Collections.singletonList(businessRuleEntity)).when(businessRuleService).getBusinessRulesByHashes(any());
     }
 
     private void mockValueSets() throws IOException {
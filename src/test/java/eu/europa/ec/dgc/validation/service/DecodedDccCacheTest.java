@@ -0,0 +1,96 @@
+package eu.europa.ec.dgc.validation.service;
+
+import dgca.verifier.app.decoder.cbor.GreenCertificateData;
+import dgca.verifier.app.decoder.model.GreenCertificate;
+import dgca.verifier.app.decoder.model.Person;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodedDccCacheTest {
+
+    private final GreenCertificateData greenCertificateData = new GreenCertificateData("DE", "{}",
+        new GreenCertificate("1.0.0", new Person("WURST", "Wurst", "HANS", "Hans"), "1990-01-01",
+            new ArrayList<>(), null, null),
+        ZonedDateTime.now().minusDays(1), ZonedDateTime.now().plusDays(100));
+
+    @Test
+    void decodedDccIsCachedByDigest() {
+        DecodedDccCache cache = cache(new DgcConfigProperties());
+        String key = cache.key("HC1:abc");
+
+        assertEquals(key, cache.key("HC1:abc"));
+        assertNotEquals(key, cache.key("HC1:abd"));
+        assertNull(cache.get(key));
+
+        byte[] cose = new byte[] {1, 2, 3};
+        cache.put(key, cose, null, greenCertificateData);
+        assertSame(cose, cache.get(key).getCose());
+        assertSame(greenCertificateData, cache.get(key).getGreenCertificateData());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getDecodedDccCache().setEnabled(false);
+        DecodedDccCache cache = cache(dgcConfigProperties);
+
+        String key = cache.key("HC1:abc");
+        cache.put(key, new byte[1], null, greenCertificateData);
+
+        assertNull(key);
+        assertNull(cache.get(key));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void oldestEntriesAreEvicted() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getDecodedDccCache().setMaxEntries(2);
+        DecodedDccCache cache = cache(dgcConfigProperties);
+
+        cache.put("a", new byte[1], null, greenCertificateData);
+        cache.put("b", new byte[1], null, greenCertificateData);
+        cache.put("c", new byte[1], null, greenCertificateData);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("c"));
+    }
+
+    @Test
+    void sizeLimitEvictsEntries() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getDecodedDccCache().setMaxBytes(8 * 1024);
+        DecodedDccCache cache = cache(dgcConfigProperties);
+
+        cache.put("a", new byte[1024], null, greenCertificateData);
+        cache.put("b", new byte[1024], null, greenCertificateData);
+        cache.put("big", new byte[8 * 1024], null, greenCertificateData);
+
+        assertNull(cache.get("a"));
+        assertNotNull(cache.get("b"));
+        assertNull(cache.get("big"));
+    }
+
+    @Test
+    void expiredEntriesAreRemoved() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getDecodedDccCache().setTtlSeconds(0);
+        DecodedDccCache cache = cache(dgcConfigProperties);
+
+        cache.put("a", new byte[1], null, greenCertificateData);
+        cache.evictExpired();
+
+        assertEquals(0, cache.size());
+        assertNull(cache.get("a"));
+    }
+
+    private static DecodedDccCache cache(DgcConfigProperties dgcConfigProperties) {
+        return new DecodedDccCache(dgcConfigProperties, new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+}
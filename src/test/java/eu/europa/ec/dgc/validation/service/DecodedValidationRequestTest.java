@@ -0,0 +1,61 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.restapi.dto.DccValidationRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DecodedValidationRequestTest {
+
+    @Test
+    void fieldsAreDecoded() {
+        DccValidationRequest request = request("dcc", "sig", "key");
+        request.setSig(request.getSig() + "\r\n");
+
+        DecodedValidationRequest decoded =
+            DecodedValidationRequest.of(request, new DgcConfigProperties.RequestLimits());
+
+        assertArrayEquals(bytes("dcc"), decoded.getDcc());
+        assertArrayEquals(bytes("sig"), decoded.getSig());
+        assertArrayEquals(bytes("key"), decoded.getEncKey());
+    }
+
+    @Test
+    void oversizedFieldIsRejected() {
+        DgcConfigProperties.RequestLimits limits = new DgcConfigProperties.RequestLimits();
+        limits.setMaxDccLength(8);
+
+        DccException e = assertThrows(DccException.class,
+            () -> DecodedValidationRequest.of(request("too large dcc", "sig", "key"), limits));
+        assertEquals(400, e.getStatus());
+    }
+
+    @Test
+    void malformedOrMissingFieldIsRejected() {
+        DccValidationRequest malformed = request("dcc", "sig", "key");
+        malformed.setDcc("not base64!");
+        DccValidationRequest missing = request("dcc", "sig", "key");
+        missing.setEncKey(null);
+
+        assertEquals(400, assertThrows(DccException.class,
+            () -> DecodedValidationRequest.of(malformed, new DgcConfigProperties.RequestLimits())).getStatus());
+        assertEquals(400, assertThrows(DccException.class,
+            () -> DecodedValidationRequest.of(missing, new DgcConfigProperties.RequestLimits())).getStatus());
+    }
+
+    private static DccValidationRequest request(String dcc, String sig, String encKey) {
+        DccValidationRequest request = new DccValidationRequest();
+        request.setDcc(Base64.getEncoder().encodeToString(bytes(dcc)));
+        request.setSig(Base64.getEncoder().encodeToString(bytes(sig)));
+        request.setEncKey(Base64.getEncoder().encodeToString(bytes(encKey)));
+        return request;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package eu.europa.ec.dgc.validation.service;
+
+import java.util.stream.Stream;
+import org.apache.http.HttpHeaders;
+import org.apache.http.client.methods.HttpUriRequest;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownloadStateServiceTest {
+
+    @Test
+    void contentHashIsOrderIndependent() {
+        DownloadStateService downloadStateService = new DownloadStateService();
+
+        String hash = downloadStateService.calculateContentHash(Stream.of("a", "b", "c"));
+        assertEquals(hash, downloadStateService.calculateContentHash(Stream.of("c", "a", "b")));
+        assertNotEquals(hash, downloadStateService.calculateContentHash(Stream.of("a", "b")));
+        assertNotEquals(hash, downloadStateService.calculateContentHash(Stream.of("ab", "c")));
+    }
+
+    @Test
+    void unchangedContentIsDetected() {
+        DownloadStateService downloadStateService = new DownloadStateService();
+        String hash = downloadStateService.calculateContentHash(Stream.of("a"));
+
+        assertFalse(downloadStateService.isContentUnchanged("rules", hash, "stored"));
+        downloadStateService.rememberContentHash("rules", hash, "stored");
+        assertTrue(downloadStateService.isContentUnchanged("rules", hash, "stored"));
+        assertFalse(downloadStateService.isContentUnchanged("valuesets", hash, "stored"));
+        assertFalse(downloadStateService.isContentUnchanged("rules", null, "stored"));
+    }
+
+    @Test
+    void contentStoredByAnotherInstanceIsPersistedAgain() {
+        DownloadStateService instanceA = new DownloadStateService();
+        String h1 = instanceA.calculateContentHash(Stream.of("a"));
+        instanceA.rememberContentHash("rules", h1, "stored-h1");
+        instanceA.rememberValidators("/rules", "\"h1\"", null);
+
+        // another instance persisted other content in the meantime, upstream is back at h1
+        assertFalse(instanceA.isContentUnchanged("rules", h1, "stored-h2"));
+        instanceA.resetValidatorsIfStoredContentChanged("rules", "stored-h2", "/rules");
+        assertNull(instanceA.conditionalGet("/rules").getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+    }
+
+    @Test
+    void validatorsAreKeptWhileStoredContentIsUnchanged() {
+        DownloadStateService downloadStateService = new DownloadStateService();
+        downloadStateService.rememberContentHash("rules", "h1", "stored-h1");
+        downloadStateService.rememberValidators("/rules", "\"h1\"", null);
+
+        downloadStateService.resetValidatorsIfStoredContentChanged("rules", "stored-h1", "/rules");
+        assertEquals("\"h1\"",
+            downloadStateService.conditionalGet("/rules").getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+    }
+
+    @Test
+    void conditionalRequestCarriesValidators() {
+        DownloadStateService downloadStateService = new DownloadStateService();
+
+        HttpUriRequest request = downloadStateService.conditionalGet("/trustList/DSC");
+        assertNull(request.getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+        assertNull(request.getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE));
+
+        downloadStateService.rememberValidators("/trustList/DSC", "\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT");
+        request = downloadStateService.conditionalGet("/trustList/DSC");
+        assertEquals("\"v1\"", request.getFirstHeader(HttpHeaders.IF_NONE_MATCH).getValue());
+        assertEquals("Wed, 21 Oct 2015 07:28:00 GMT", request.getFirstHeader(HttpHeaders.IF_MODIFIED_SINCE).getValue());
+
+        downloadStateService.resetValidators("/trustList/DSC");
+        assertNull(downloadStateService.conditionalGet("/trustList/DSC").getFirstHeader(HttpHeaders.IF_NONE_MATCH));
+    }
+}
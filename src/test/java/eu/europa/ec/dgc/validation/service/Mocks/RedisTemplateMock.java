@@ -0,0 +1,44 @@
+package eu.europa.ec.dgc.validation.service.Mocks;
+
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+/**
+ * String template without redis server. The value operations only support get, set and setIfAbsent,
+ * which is all the redis store and blacklist use. Expiry is ignored.
+ */
+public class RedisTemplateMock extends StringRedisTemplate {
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = (ValueOperations<String, String>)
+        Proxy.newProxyInstance(ValueOperations.class.getClassLoader(), new Class<?>[] {ValueOperations.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "get":
+                        return values.get((String) args[0]);
+                    case "set":
+                        values.put((String) args[0], (String) args[1]);
+                        return null;
+                    case "setIfAbsent":
+                        return values.putIfAbsent((String) args[0], (String) args[1]) == null;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+    @Override
+    public ValueOperations<String, String> opsForValue() {
+        return valueOperations;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // no connection factory
+    }
+}
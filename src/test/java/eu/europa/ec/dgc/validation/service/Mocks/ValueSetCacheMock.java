@@ -22,4 +22,9 @@ public class ValueSetCacheMock implements ValueSetCache {
     public Map<String, List<String>> getValueSets() {
         return valueSets;
     }
+
+    @Override
+    public VersionedValueSets provideVersionedValueSets() {
+        return new VersionedValueSets(valueSets, 0);
+    }
 }
@@ -0,0 +1,125 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.engine.data.CertificateType;
+import dgca.verifier.app.engine.data.ExternalParameter;
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import dgca.verifier.app.engine.data.Type;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleResultCacheTest {
+
+    private static final String HCERT = "{\"ver\":\"1.0.0\"}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ZonedDateTime clock = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+
+    @Test
+    void resultsAreCachedPerRulesHcertAndParameters() throws Exception {
+        RuleResultCache cache = cache(new DgcConfigProperties());
+        List<Rule> rules = List.of(rule("1.0.0", "{\"var\":\"payload.ver\"}"));
+        String key = cache.key(rules, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT);
+
+        assertNotEquals(key, cache.key(List.of(rule("1.0.1", "{\"var\":\"payload.ver\"}")),
+            CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT));
+        assertNotEquals(key, cache.key(rules, CertificateType.VACCINATION, "1.0.0", parameter(clock, "NL"), HCERT));
+        assertNotEquals(key, cache.key(rules, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"),
+            "{\"ver\":\"1.3.0\"}"));
+        assertNull(cache.get(key, 0));
+
+        cache.put(key, 0, Collections.emptyList());
+        assertEquals(Collections.emptyList(), cache.get(key, 0));
+    }
+
+    @Test
+    void changedLogicWithUnchangedVersionGetsAnotherKey() throws Exception {
+        RuleResultCache cache = cache(new DgcConfigProperties());
+        List<Rule> rules = List.of(rule("1.0.0", "{\"var\":\"payload.ver\"}"));
+        List<Rule> changedRules = List.of(rule("1.0.0", "{\"var\":\"payload.nam\"}"));
+        String key = cache.key(rules, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT);
+        cache.put(key, 0, Collections.emptyList());
+
+        String changedKey = cache.key(changedRules, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"),
+            HCERT);
+
+        assertEquals(key, cache.key(rules, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT));
+        assertNotEquals(key, changedKey);
+        assertNull(cache.get(changedKey, 0));
+    }
+
+    @Test
+    void clockIsOnlyPartOfKeyIfRulesReadIt() throws Exception {
+        RuleResultCache cache = cache(new DgcConfigProperties());
+        List<Rule> withoutClock = List.of(rule("1.0.0", "{\"var\":\"payload.ver\"}"));
+        List<Rule> withClock = List.of(rule("1.0.1",
+            "{\"not-after\":[{\"var\":\"payload.v.0.dt\"},{\"var\":\"external.validationClock\"}]}"));
+        List<Rule> computedVar = List.of(rule("1.0.2", "{\"var\":{\"if\":[true,\"external\",\"payload\"]}}"));
+
+        assertEquals(cache.key(withoutClock, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT),
+            cache.key(withoutClock, CertificateType.VACCINATION, "1.0.0", parameter(clock.plusHours(1), "DE"),
+                HCERT));
+        assertNotEquals(cache.key(withClock, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT),
+            cache.key(withClock, CertificateType.VACCINATION, "1.0.0", parameter(clock.plusSeconds(1), "DE"),
+                HCERT));
+        assertNotEquals(cache.key(computedVar, CertificateType.VACCINATION, "1.0.0", parameter(clock, "DE"), HCERT),
+            cache.key(computedVar, CertificateType.VACCINATION, "1.0.0", parameter(clock.plusSeconds(1), "DE"),
+                HCERT));
+    }
+
+    @Test
+    void resultsAreDroppedWhenValueSetsChange() throws Exception {
+        RuleResultCache cache = cache(new DgcConfigProperties());
+        String key = cache.key(List.of(rule("1.0.0", "true")), CertificateType.VACCINATION, "1.0.0",
+            parameter(clock, "DE"), HCERT);
+        cache.put(key, 1, Collections.emptyList());
+
+        assertNull(cache.get(key, 2));
+        assertEquals(0, cache.size());
+
+        cache.put(key, 1, Collections.emptyList());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() throws Exception {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getRuleResultCache().setEnabled(false);
+        RuleResultCache cache = cache(dgcConfigProperties);
+
+        String key = cache.key(List.of(rule("1.0.0", "true")), CertificateType.VACCINATION, "1.0.0",
+            parameter(clock, "DE"), HCERT);
+        cache.put(key, 0, Collections.emptyList());
+
+        assertNull(key);
+        assertNull(cache.get(key, 0));
+        assertEquals(0, cache.size());
+    }
+
+    private RuleResultCache cache(DgcConfigProperties dgcConfigProperties) {
+        return new RuleResultCache(dgcConfigProperties, new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+
+    private Rule rule(String version, String logic) throws Exception {
+        JsonNode logicNode = objectMapper.readTree(logic);
+        return new Rule("VR-DE-0001", Type.ACCEPTANCE, version, "1.0.0", "CERTLOGIC", "0.7.5",
+            RuleCertificateType.VACCINATION, new HashMap<>(), clock.minusDays(1), clock.plusDays(1),
+            new ArrayList<>(), logicNode, "DE", null);
+    }
+
+    private ExternalParameter parameter(ZonedDateTime validationClock, String countryOfArrival) {
+        return new ExternalParameter(validationClock, new HashMap<>(), countryOfArrival, clock.plusYears(1),
+            clock.minusDays(30), "DE", "kid", "");
+    }
+}
@@ -0,0 +1,62 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.node.TextNode;
+import dgca.verifier.app.engine.data.Rule;
+import dgca.verifier.app.engine.data.RuleCertificateType;
+import dgca.verifier.app.engine.data.Type;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleSelectorTest {
+
+    private static final ZonedDateTime VALIDATION_CLOCK = ZonedDateTime.parse("2021-08-29T12:00:00+01:00");
+
+    @Test
+    void onlyLatestVersionIsSelected() {
+        Rule v100 = rule("VR-DE-1", Type.ACCEPTANCE, "1.0.0", "DE", RuleCertificateType.VACCINATION);
+        Rule v110 = rule("VR-DE-1", Type.ACCEPTANCE, "1.1.0", "DE", RuleCertificateType.VACCINATION);
+        Rule v101 = rule("VR-DE-1", Type.ACCEPTANCE, "1.0.1", "DE", RuleCertificateType.VACCINATION);
+        Rule other = rule("VR-DE-2", Type.ACCEPTANCE, "1.0.0", "DE", RuleCertificateType.GENERAL);
+
+        List<Rule> selected = RuleSelector.select(List.of(v100, v110, v101, other), "VACCINATION", VALIDATION_CLOCK,
+            "DE", null, "AT");
+
+        assertEquals(List.of(v110, other), selected);
+    }
+
+    @Test
+    void acceptanceOfArrivalAndInvalidationOfIssuerAreSelected() {
+        Rule acceptance = rule("VR-DE-1", Type.ACCEPTANCE, "1.0.0", "DE", RuleCertificateType.VACCINATION);
+        Rule foreignAcceptance = rule("VR-AT-1", Type.ACCEPTANCE, "1.0.0", "AT", RuleCertificateType.VACCINATION);
+        Rule invalidation = rule("IR-AT-1", Type.INVALIDATION, "1.0.0", "AT", RuleCertificateType.GENERAL);
+        Rule foreignInvalidation = rule("IR-DE-1", Type.INVALIDATION, "1.0.0", "DE", RuleCertificateType.GENERAL);
+        Rule otherType = rule("TR-DE-1", Type.ACCEPTANCE, "1.0.0", "DE", RuleCertificateType.TEST);
+
+        List<Rule> selected = RuleSelector.select(
+            List.of(acceptance, foreignAcceptance, invalidation, foreignInvalidation, otherType),
+            "VACCINATION", VALIDATION_CLOCK, "de", null, "AT");
+
+        assertEquals(List.of(acceptance, invalidation), selected);
+    }
+
+    @Test
+    void futureRulesAreNotSelected() {
+        Rule future = new Rule("VR-DE-1", Type.ACCEPTANCE, "1.0.0", "1.0.0", "CERTLOGIC", "0.7.5",
+            RuleCertificateType.VACCINATION, new HashMap<>(), VALIDATION_CLOCK.plusSeconds(1),
+            VALIDATION_CLOCK.plusDays(500), new ArrayList<>(), new TextNode("{}"), "DE", null);
+
+        assertTrue(RuleSelector.select(List.of(future), "VACCINATION", VALIDATION_CLOCK, "DE", null, "DE").isEmpty());
+    }
+
+    private static Rule rule(String identifier, Type type, String version, String country,
+                             RuleCertificateType certificateType) {
+        return new Rule(identifier, type, version, "1.0.0", "CERTLOGIC", "0.7.5", certificateType, new HashMap<>(),
+            VALIDATION_CLOCK.minusDays(400), VALIDATION_CLOCK.plusDays(500), new ArrayList<>(),
+            new TextNode("{}"), country, null);
+    }
+}
@@ -0,0 +1,74 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.security.cert.Certificate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class SignatureVerificationCacheTest {
+
+    private final Certificate certificate = mock(Certificate.class);
+
+    private final Certificate otherCertificate = mock(Certificate.class);
+
+    @Test
+    void outcomeIsCachedPerKidAndCose() {
+        SignatureVerificationCache cache = cache(new DgcConfigProperties());
+        String key = cache.key("kid", new byte[] {1, 2, 3});
+        List<Certificate> certificates = List.of(otherCertificate, certificate);
+
+        assertNotEquals(key, cache.key("kid", new byte[] {1, 2, 4}));
+        assertNotEquals(key, cache.key("kid2", new byte[] {1, 2, 3}));
+        assertNull(cache.get(key, 0, certificates));
+
+        cache.put(key, 0, certificates, certificate);
+        SignatureVerificationCache.Outcome outcome = cache.get(key, 0, certificates);
+        assertTrue(outcome.isVerified());
+        assertSame(certificate, outcome.getVerifiedCertificate());
+    }
+
+    @Test
+    void failedVerificationIsCached() {
+        SignatureVerificationCache cache = cache(new DgcConfigProperties());
+        String key = cache.key("kid", new byte[] {1, 2, 3});
+
+        cache.put(key, 0, List.of(certificate), null);
+
+        assertFalse(cache.get(key, 0, List.of(certificate)).isVerified());
+    }
+
+    @Test
+    void outcomeIsDroppedWhenTrustListChanges() {
+        SignatureVerificationCache cache = cache(new DgcConfigProperties());
+        String key = cache.key("kid", new byte[] {1, 2, 3});
+        cache.put(key, 0, List.of(certificate), certificate);
+
+        assertNull(cache.get(key, 0, List.of(certificate, otherCertificate)));
+        assertNull(cache.get(key, 1, List.of(certificate)));
+        assertEquals(0, cache.size());
+
+        cache.put(key, 0, List.of(certificate), certificate);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void disabledCacheStoresNothing() {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getSignatureCache().setEnabled(false);
+        SignatureVerificationCache cache = cache(dgcConfigProperties);
+
+        String key = cache.key("kid", new byte[] {1, 2, 3});
+        cache.put(key, 0, List.of(certificate), certificate);
+
+        assertNull(key);
+        assertEquals(0, cache.size());
+    }
+
+    private static SignatureVerificationCache cache(DgcConfigProperties dgcConfigProperties) {
+        return new SignatureVerificationCache(dgcConfigProperties, new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,86 @@
+package eu.europa.ec.dgc.validation.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import dgca.verifier.app.engine.DefaultJsonLogicValidator;
+import dgca.verifier.app.engine.data.Rule;
+import eu.europa.ec.dgc.validation.model.SlowValidationEntry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlowValidationJournalTest {
+
+    private SlowValidationJournal createJournal(long thresholdMs, int journalSize) {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getSlowValidation().setThresholdMs(thresholdMs);
+        dgcConfigProperties.getSlowValidation().setJournalSize(journalSize);
+        return new SlowValidationJournal(dgcConfigProperties, new ObjectMapper().registerModule(new JavaTimeModule()));
+    }
+
+    @Test
+    void fastValidationsAreNotRecorded() {
+        SlowValidationJournal journal = createJournal(100, 10);
+
+        journal.record(new ValidationStageRecorder(), "Full", TimeUnit.MILLISECONDS.toNanos(99));
+
+        assertTrue(journal.getEntries().isEmpty());
+    }
+
+    @Test
+    void journalKeepsNewestEntries() {
+        SlowValidationJournal journal = createJournal(0, 2);
+
+        journal.record(new ValidationStageRecorder(), "Structure", 1_000_000);
+        journal.record(new ValidationStageRecorder(), "Cryptographic", 2_000_000);
+        journal.record(new ValidationStageRecorder(), "Full", 3_000_000);
+
+        List<SlowValidationEntry> entries = journal.getEntries();
+        assertEquals(2, entries.size());
+        assertEquals("Full", entries.get(0).getTokenType());
+        assertEquals(3.0, entries.get(0).getTotalMs());
+        assertEquals("Cryptographic", entries.get(1).getTokenType());
+    }
+
+    @Test
+    void entryContainsStagesStoreOperationsAndSlowestRules() throws Exception {
+        SlowValidationJournal journal = createJournal(0, 10);
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        stageRecorder.stop(ValidationStage.PREFIX);
+        stageRecorder.shortCircuit();
+        stageRecorder.incrementCertificatesTried();
+        stageRecorder.recordStoreOperation(ValidationMetrics.StoreOperation.RECEIVE, 2_000_000);
+        ParsedRuleRegistry parsedRuleRegistry = new ParsedRuleRegistry(
+            new ObjectMapper().registerModule(new JavaTimeModule()),
+            new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(), false));
+        String rawRule = Files.readString(Path.of("src/test/resources/rule.json"));
+        List<Rule> rules = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            rules.add(parsedRuleRegistry.parse(rawRule.replace("VR-DE-1", "GR-EU-000" + i)));
+        }
+        RuleTimings ruleTimings = stageRecorder.getRuleTimings();
+        ruleTimings.begin(rules);
+        for (int i = 1; i <= 7; i++) {
+            RuleTimings.current().record(rules.get(i - 1).getLogic(), i * 1_000_000L);
+        }
+        ruleTimings.end();
+        assertNull(RuleTimings.current());
+
+        journal.record(stageRecorder, "Full", 50_000_000);
+
+        SlowValidationEntry entry = journal.getEntries().get(0);
+        assertEquals("prefix", entry.getShortCircuitStage());
+        assertTrue(entry.getStagesMs().containsKey("prefix"));
+        assertEquals(1, entry.getCertificatesTried());
+        assertEquals(2.0, entry.getStoreMs().get("receive"));
+        assertEquals(5, entry.getSlowestRulesMs().size());
+        assertEquals("GR-EU-0007", entry.getSlowestRulesMs().keySet().iterator().next());
+        assertFalse(entry.getSlowestRulesMs().containsKey("GR-EU-0001"));
+    }
+}
@@ -0,0 +1,73 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.exception.DccException;
+import eu.europa.ec.dgc.validation.restapi.dto.AcceptableType;
+import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.EnumSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationConditionsTest {
+
+    @Test
+    void conditionsAreParsedAndNormalized() {
+        ValidationConditions conditions = ValidationConditions.of(buildConditions());
+
+        assertEquals("NL", conditions.getCoa());
+        assertEquals("AW", conditions.getRoa());
+        assertEquals(EnumSet.of(AcceptableType.Vaccination, AcceptableType.PCRTest), conditions.getAcceptableTypes());
+        assertEquals(ZoneOffset.ofHours(1), conditions.getValidationClock().getOffset());
+        assertEquals(Instant.parse("2021-01-29T11:00:00Z"), conditions.getValidFrom());
+        assertEquals(Instant.parse("2021-01-30T11:00:00Z"), conditions.getValidTo());
+        assertEquals("TRZEWIK", conditions.getFnt());
+    }
+
+    @Test
+    void optionalConditionsStayNull() {
+        AccessTokenConditions accessTokenConditions = buildConditions();
+        accessTokenConditions.setRoa("");
+        accessTokenConditions.setType(null);
+        accessTokenConditions.setValidationClock(null);
+        ValidationConditions conditions = ValidationConditions.of(accessTokenConditions);
+
+        assertNull(conditions.getRoa());
+        assertNull(conditions.getAcceptableTypes());
+        assertNull(conditions.getValidationClock());
+    }
+
+    @Test
+    void malformedConditionsAreRejected() {
+        AccessTokenConditions malformedDate = buildConditions();
+        malformedDate.setValidFrom("2021-01-29");
+        assertEquals(400, assertThrows(DccException.class, () -> ValidationConditions.of(malformedDate)).getStatus());
+
+        AccessTokenConditions unknownType = buildConditions();
+        unknownType.setType(new String[]{"x"});
+        assertEquals(400, assertThrows(DccException.class, () -> ValidationConditions.of(unknownType)).getStatus());
+
+        AccessTokenConditions missingValidTo = buildConditions();
+        missingValidTo.setValidTo(null);
+        assertEquals(400,
+            assertThrows(DccException.class, () -> ValidationConditions.of(missingValidTo)).getStatus());
+
+        assertEquals(400, assertThrows(DccException.class, () -> ValidationConditions.of(null)).getStatus());
+    }
+
+    private AccessTokenConditions buildConditions() {
+        AccessTokenConditions accessTokenConditions = new AccessTokenConditions();
+        accessTokenConditions.setLang("en-en");
+        accessTokenConditions.setFnt("TRZEWIK");
+        accessTokenConditions.setGnt("ARTUR");
+        accessTokenConditions.setDob("1990-01-01");
+        accessTokenConditions.setCoa("nl");
+        accessTokenConditions.setRoa("aw");
+        accessTokenConditions.setType(new String[]{"v", "tp"});
+        accessTokenConditions.setValidationClock("2021-08-29T12:00:00+01:00");
+        accessTokenConditions.setValidFrom("2021-01-29T12:00:00+01:00");
+        accessTokenConditions.setValidTo("2021-01-30T12:00:00+01:00");
+        return accessTokenConditions;
+    }
+}
@@ -0,0 +1,53 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import java.util.List;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+import org.springframework.context.support.StaticMessageSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMessageTableTest {
+
+    @Test
+    void messagesMatchBundle() {
+        ResourceBundleMessageSource source = new ResourceBundleMessageSource();
+        source.setBasenames("messages/dcc");
+        source.setUseCodeAsDefaultMessage(true);
+        ValidationMessageTable table = new ValidationMessageTable(source, new DgcConfigProperties());
+
+        for (DccValidationMessage message : DccValidationMessage.values()) {
+            assertEquals(source.getMessage(message.name(), null, Locale.ENGLISH),
+                table.getMessage(message, Locale.ENGLISH));
+        }
+    }
+
+    @Test
+    void configuredLanguageIsUsedAndOthersFallBackToEnglish() {
+        StaticMessageSource source = new StaticMessageSource();
+        source.setUseCodeAsDefaultMessage(true);
+        source.addMessage(DccValidationMessage.EXPIRED.name(), Locale.ENGLISH, "expired");
+        source.addMessage(DccValidationMessage.EXPIRED.name(), Locale.GERMAN, "abgelaufen");
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getValidationMessages().setLanguages(List.of("en", "de"));
+        ValidationMessageTable table = new ValidationMessageTable(source, dgcConfigProperties);
+
+        assertEquals("abgelaufen", table.getMessage(DccValidationMessage.EXPIRED, table.getLocale("de-DE")));
+        assertEquals("expired", table.getMessage(DccValidationMessage.EXPIRED, table.getLocale("fr")));
+        assertEquals("WRONGCERT", table.getMessage(DccValidationMessage.WRONGCERT, Locale.GERMAN));
+    }
+
+    @Test
+    void localesAreReused() {
+        StaticMessageSource source = new StaticMessageSource();
+        source.setUseCodeAsDefaultMessage(true);
+        ValidationMessageTable table = new ValidationMessageTable(source, new DgcConfigProperties());
+
+        assertSame(Locale.ENGLISH, table.getLocale(null));
+        assertSame(Locale.ENGLISH, table.getLocale(""));
+        assertEquals(Locale.forLanguageTag("de-DE"), table.getLocale("de-DE"));
+        assertSame(table.getLocale("de-DE"), table.getLocale("de-DE"));
+    }
+}
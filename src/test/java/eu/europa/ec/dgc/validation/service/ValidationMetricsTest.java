@@ -0,0 +1,66 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.restapi.dto.ResultTypeIdentifier;
+import eu.europa.ec.dgc.validation.restapi.dto.ValidationStatusResponse.Result.ResultType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationMetricsTest {
+
+    @Test
+    void resultsAreCountedPerTypeAndOutcome() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+
+        validationMetrics.countResult(ResultTypeIdentifier.TechnicalVerification, ResultType.NOK);
+        validationMetrics.countResult(ResultTypeIdentifier.TechnicalVerification, ResultType.NOK);
+        validationMetrics.countResult(ResultTypeIdentifier.IssuerInvalidation, ResultType.OK);
+
+        assertEquals(2, registry.get("dgc.validation.results")
+            .tags("type", "TechnicalVerification", "result", "NOK").functionCounter().count());
+        assertEquals(1, registry.get("dgc.validation.results")
+            .tags("type", "IssuerInvalidation", "result", "OK").functionCounter().count());
+        assertEquals(0, registry.get("dgc.validation.results")
+            .tags("type", "TechnicalVerification", "result", "OK").functionCounter().count());
+    }
+
+    @Test
+    void cacheAndStoreMetersAreRegistered() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+
+        validationMetrics.cacheHit(ValidationMetrics.Cache.RULES);
+        validationMetrics.cacheMiss(ValidationMetrics.Cache.RULES);
+        validationMetrics.cacheHit(ValidationMetrics.Cache.RULES);
+        validationMetrics.registerCacheSize(ValidationMetrics.Cache.RULES, "abc", String::length);
+        validationMetrics.startStoreOperation(ValidationMetrics.StoreOperation.RECEIVE).stop();
+        validationMetrics.recordDownloadedItems(ValidationMetrics.DOWNLOAD_RULES, 42);
+
+        assertEquals(2, registry.get("dgc.cache.requests")
+            .tags("cache", "rules", "result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("dgc.cache.requests")
+            .tags("cache", "rules", "result", "miss").functionCounter().count());
+        assertEquals(3, registry.get("dgc.cache.size").tags("cache", "rules").gauge().value());
+        assertEquals(1, registry.get("dgc.store.operation")
+            .tags("store", "validation", "operation", "receive").timer().count());
+        assertEquals(42, registry.get("dgc.download.items").tags("type", "rules").summary().totalAmount());
+    }
+
+    @Test
+    void executorQueueIsExposed() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) Executors.newFixedThreadPool(1);
+
+        validationMetrics.registerExecutor("callback", executor);
+        validationMetrics.recordQueueWait("callback", 1_000_000);
+
+        assertEquals(0, registry.get("executor.queued").tags("name", "callback").gauge().value());
+        assertEquals(1, registry.get("dgc.executor.queue.wait").tags("name", "callback").timer().count());
+        executor.shutdown();
+    }
+}
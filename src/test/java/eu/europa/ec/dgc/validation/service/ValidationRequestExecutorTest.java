@@ -0,0 +1,90 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationRequestExecutorTest {
+
+    @Test
+    void requestRunsOnCallerWhenDisabled() throws Exception {
+        DgcConfigProperties dgcConfigProperties = enabled(1, 1);
+        dgcConfigProperties.getAsyncValidation().setEnabled(false);
+        ValidationRequestExecutor executor = executor(dgcConfigProperties);
+
+        assertFalse(executor.isEnabled());
+        assertEquals(Thread.currentThread().getName(),
+            executor.submit(() -> Thread.currentThread().getName()).get());
+    }
+
+    @Test
+    void requestRunsOnExecutorThread() throws Exception {
+        ValidationRequestExecutor executor = executor(enabled(1, 1));
+        try {
+            assertTrue(executor.isEnabled());
+            assertTrue(executor.submit(() -> Thread.currentThread().getName()).get()
+                .startsWith("validation-request-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void requestIsRejectedWhenSaturated() throws Exception {
+        ValidationRequestExecutor executor = executor(enabled(1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            CompletableFuture<Boolean> blocking = executor.submit(() -> await(release));
+            CompletableFuture<Boolean> queued = executor.submit(() -> true);
+
+            assertEquals(503, assertThrows(DccException.class, () -> executor.submit(() -> true)).getStatus());
+            release.countDown();
+            assertTrue(blocking.get());
+            assertTrue(queued.get());
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void requestExceptionCompletesFuture() {
+        ValidationRequestExecutor executor = executor(enabled(1, 1));
+        try {
+            CompletableFuture<Object> future = executor.submit(() -> {
+                throw new DccException("validation failed", 422);
+            });
+            ExecutionException e = assertThrows(ExecutionException.class, future::get);
+            assertEquals(422, ((DccException) e.getCause()).getStatus());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static DgcConfigProperties enabled(int threads, int queueSize) {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getAsyncValidation().setThreads(threads);
+        dgcConfigProperties.getAsyncValidation().setQueueSize(queueSize);
+        return dgcConfigProperties;
+    }
+
+    private static ValidationRequestExecutor executor(DgcConfigProperties dgcConfigProperties) {
+        return new ValidationRequestExecutor(dgcConfigProperties, new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.europa.ec.dgc.validation.cryptschemas.EncryptedData;
 import eu.europa.ec.dgc.validation.cryptschemas.RsaOaepWithSha256AesCbc;
 import eu.europa.ec.dgc.validation.entity.KeyType;
+import eu.europa.ec.dgc.validation.exception.DccException;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenConditions;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenPayload;
 import eu.europa.ec.dgc.validation.restapi.dto.AccessTokenType;
@@ -61,6 +62,21 @@ public class ValidationServiceTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    TokenBlackListService tokenBlackListService;
+
+    @Test
+    void malformedConditionsAreRejectedBeforeJtiIsUsed() throws Exception {
+        AccessTokenPayload accessToken = createAccessTocken("http://localhost:8080/validate/" + subject);
+        accessToken.getConditions().setValidTo("tomorrow");
+
+        DccException exception = assertThrows(DccException.class,
+            () -> validationService.validate(new DccValidationRequest(), accessToken));
+        assertEquals(400, exception.getStatus());
+        assertEquals("Validation Condition validTo malformed", exception.getMessage());
+        assertTrue(tokenBlackListService.checkPutBlacklist(accessToken.getJti(), accessToken.getExp()));
+    }
+
 
     @Test
     void validateDcc() throws Exception {
@@ -0,0 +1,73 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.config.DgcConfigProperties;
+import eu.europa.ec.dgc.validation.exception.DccException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationStageExecutorTest {
+
+    @Test
+    void disabledByDefault() {
+        assertFalse(executor(new DgcConfigProperties()).isEnabled());
+    }
+
+    @Test
+    void stageRunsOnExecutorThread() {
+        ValidationStageExecutor executor = executor(enabled(1, 1));
+        try {
+            Future<String> future = executor.submit(() -> Thread.currentThread().getName());
+            assertTrue(executor.await(future).startsWith("validation-stage-"));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void stageRunsOnCallerWhenSaturated() throws Exception {
+        ValidationStageExecutor executor = executor(enabled(1, 1));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            Future<Boolean> blocking = executor.submit(() -> release.await());
+            Future<Boolean> queued = executor.submit(() -> true);
+            Future<String> callerRuns = executor.submit(() -> Thread.currentThread().getName());
+
+            assertEquals(Thread.currentThread().getName(), executor.await(callerRuns));
+            release.countDown();
+            assertTrue(executor.await(blocking));
+            assertTrue(executor.await(queued));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void stageExceptionIsRethrown() {
+        ValidationStageExecutor executor = executor(enabled(1, 1));
+        try {
+            Future<Object> future = executor.submit(() -> {
+                throw new DccException("rules failed");
+            });
+            assertEquals("rules failed", assertThrows(DccException.class, () -> executor.await(future)).getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static DgcConfigProperties enabled(int threads, int queueSize) {
+        DgcConfigProperties dgcConfigProperties = new DgcConfigProperties();
+        dgcConfigProperties.getParallelValidation().setEnabled(true);
+        dgcConfigProperties.getParallelValidation().setThreads(threads);
+        dgcConfigProperties.getParallelValidation().setQueueSize(queueSize);
+        return dgcConfigProperties;
+    }
+
+    private static ValidationStageExecutor executor(DgcConfigProperties dgcConfigProperties) {
+        return new ValidationStageExecutor(dgcConfigProperties, new ValidationMetrics(new SimpleMeterRegistry()));
+    }
+}
@@ -0,0 +1,120 @@
+package eu.europa.ec.dgc.validation.service;
+
+import eu.europa.ec.dgc.validation.jfr.ValidationStageEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ValidationStageRecorderTest {
+
+    @Test
+    void stagesAreRecordedInOrder() {
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        stageRecorder.stop(ValidationStage.PREFIX);
+        stageRecorder.stop(ValidationStage.BASE45);
+        stageRecorder.stop(ValidationStage.DECOMPRESSION);
+
+        assertTrue(stageRecorder.isRecorded(ValidationStage.BASE45));
+        assertFalse(stageRecorder.isRecorded(ValidationStage.RULES));
+        assertNull(stageRecorder.getShortCircuitStage());
+        assertEquals(stageRecorder.getDurationNanos(ValidationStage.PREFIX)
+                + stageRecorder.getDurationNanos(ValidationStage.BASE45)
+                + stageRecorder.getDurationNanos(ValidationStage.DECOMPRESSION),
+            stageRecorder.getTotalNanos());
+        assertTrue(stageRecorder.toServerTiming().matches(
+            "prefix;dur=\\d+\\.\\d{3}, base45;dur=\\d+\\.\\d{3}, decompression;dur=\\d+\\.\\d{3}"));
+    }
+
+    @Test
+    void concurrentStageIsRecordedWithMeasuredDuration() throws Exception {
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        stageRecorder.stop(ValidationStage.CRYPTOGRAPHIC);
+        Thread.sleep(5);
+        stageRecorder.record(ValidationStage.RULES, 1000);
+
+        assertTrue(stageRecorder.isRecorded(ValidationStage.RULES));
+        assertEquals(1000, stageRecorder.getDurationNanos(ValidationStage.RULES));
+        stageRecorder.stop(ValidationStage.CONDITIONS);
+        assertTrue(stageRecorder.getDurationNanos(ValidationStage.CONDITIONS) < 5_000_000);
+    }
+
+    @Test
+    void stagesAreEmittedAsFlightRecorderEvents() throws Exception {
+        Path dump = Files.createTempFile("stages", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(ValidationStageEvent.class);
+            recording.start();
+            ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+            stageRecorder.stop(ValidationStage.CRYPTOGRAPHIC);
+            stageRecorder.setRuleCount(3);
+            stageRecorder.stop(ValidationStage.RULES);
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().equals("eu.europa.ec.dgc.validation.ValidationStage"))
+                .collect(Collectors.toList());
+            assertEquals(2, events.size());
+            assertEquals("cryptographic", events.get(0).getString("stage"));
+            assertEquals(0, events.get(0).getInt("ruleCount"));
+            assertEquals("rules", events.get(1).getString("stage"));
+            assertEquals(3, events.get(1).getInt("ruleCount"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    void eventsAreOnlyCreatedWhileEnabled() throws Exception {
+        Path dump = Files.createTempFile("stages", ".jfr");
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        stageRecorder.stop(ValidationStage.PREFIX);
+        try (Recording recording = new Recording()) {
+            recording.enable(ValidationStageEvent.class);
+            recording.start();
+            // the event of this stage was not created, because no recording was running when it started
+            stageRecorder.stop(ValidationStage.CONDITIONS);
+            stageRecorder.stop(ValidationStage.CRYPTOGRAPHIC);
+            recording.stop();
+            recording.dump(dump);
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(e -> e.getEventType().getName().equals("eu.europa.ec.dgc.validation.ValidationStage"))
+                .collect(Collectors.toList());
+            assertEquals(1, events.size());
+            assertEquals("cryptographic", events.get(0).getString("stage"));
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    @Test
+    void shortCircuitStageIsRecordedSeparately() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ValidationMetrics validationMetrics = new ValidationMetrics(registry);
+        ValidationStageRecorder stageRecorder = new ValidationStageRecorder();
+        stageRecorder.stop(ValidationStage.PREFIX);
+        stageRecorder.stop(ValidationStage.BASE45);
+        stageRecorder.shortCircuit();
+
+        validationMetrics.recordStages(stageRecorder);
+
+        assertEquals(ValidationStage.BASE45, stageRecorder.getShortCircuitStage());
+        assertEquals(1, registry.get("dgc.validation.stage")
+            .tags("stage", "prefix", "outcome", "passed").timer().count());
+        assertEquals(1, registry.get("dgc.validation.stage")
+            .tags("stage", "base45", "outcome", "short_circuit").timer().count());
+        assertEquals(0, registry.get("dgc.validation.stage")
+            .tags("stage", "base45", "outcome", "passed").timer().count());
+        assertEquals(0, registry.get("dgc.validation.stage")
+            .tags("stage", "rules", "outcome", "passed").timer().count());
+    }
+}
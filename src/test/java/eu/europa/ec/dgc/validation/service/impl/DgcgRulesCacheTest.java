@@ -0,0 +1,41 @@
+package eu.europa.ec.dgc.validation.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import dgca.verifier.app.engine.DefaultJsonLogicValidator;
+import eu.europa.ec.dgc.validation.service.BusinessRuleService;
+import eu.europa.ec.dgc.validation.service.CompiledJsonLogicValidator;
+import eu.europa.ec.dgc.validation.service.ParsedRuleRegistry;
+import eu.europa.ec.dgc.validation.service.ValidationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class DgcgRulesCacheTest {
+
+    @Test
+    void rulesAreCachedPerCountryOfArrivalAndIssuerCountry() {
+        BusinessRuleService businessRuleService = mock(BusinessRuleService.class);
+        doReturn(Collections.emptyList()).when(businessRuleService).getBusinessRulesListForCountry("DE", "AT");
+        doReturn(Collections.emptyList()).when(businessRuleService).getBusinessRulesListForCountry("DE", "NL");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DgcgRulesCache rulesCache = new DgcgRulesCache(businessRuleService, new ParsedRuleRegistry(new ObjectMapper(),
+            new CompiledJsonLogicValidator(new DefaultJsonLogicValidator(), true)), new ValidationMetrics(registry));
+
+        rulesCache.provideRules("DE", "AT");
+        rulesCache.provideRules("DE", "AT");
+        rulesCache.provideRules("DE", "NL");
+
+        verify(businessRuleService, times(1)).getBusinessRulesListForCountry("DE", "AT");
+        verify(businessRuleService, times(1)).getBusinessRulesListForCountry("DE", "NL");
+        assertEquals(1, registry.get("dgc.cache.requests")
+            .tags("cache", "rules", "result", "hit").functionCounter().count());
+        assertEquals(2, registry.get("dgc.cache.requests")
+            .tags("cache", "rules", "result", "miss").functionCounter().count());
+    }
+}